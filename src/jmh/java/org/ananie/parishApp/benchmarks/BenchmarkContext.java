@@ -0,0 +1,28 @@
+package org.ananie.parishApp.benchmarks;
+
+import org.ananie.parishApp.configurations.AppConfig;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Starts the application context for a benchmark fork. Always on the in-memory test profile, so a benchmark
+ * never writes its rows into a real database, and signed in as a manager on every JMH thread.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static AnnotationConfigApplicationContext start() {
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("spring.profiles.active", "test");
+        AnnotationConfigApplicationContext springContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        // After the start, which sets a thread-bound strategy; JMH runs setup and benchmark methods on its own threads
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "benchmark", null, AuthorityUtils.createAuthorityList("ROLE_MANAGER")));
+        return springContext;
+    }
+}
@@ -0,0 +1,167 @@
+package org.ananie.parishApp.benchmarks;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.ananie.parishApp.dao.BECRepository;
+import org.ananie.parishApp.dao.ContributionRepository;
+import org.ananie.parishApp.dao.FaithfulRepository;
+import org.ananie.parishApp.dao.FaithfulYearlyAmountProjection;
+import org.ananie.parishApp.dao.FaithfulYearlyContributionProjection;
+import org.ananie.parishApp.dao.SubParishRepository;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Contribution;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.FaithfulContributionRow;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.services.ContributionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Whole-parish contribution matrix built the old way (totals grouped by name, pivoted into a padded map of
+ * BigDecimal per row) against {@link ContributionService#getFilteredContributionMatrix}, which groups by
+ * faithful id and fills dense minor-unit rows. The query alone and query plus pivot are measured for both;
+ * run with {@code -prof gc} for the bytes allocated per build (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ContributionMatrixBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int BECS = 100;
+
+    @Param("50000")
+    private int faithfuls;
+
+    @Param("15")
+    private int years;
+
+    private AnnotationConfigApplicationContext springContext;
+    private TransactionTemplate transactionTemplate;
+    private ContributionRepository contributionRepository;
+    private ContributionService contributionService;
+
+    @Setup
+    public void seed() {
+        springContext = BenchmarkContext.start();
+        transactionTemplate = new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
+        contributionRepository = springContext.getBean(ContributionRepository.class);
+        contributionService = springContext.getBean(ContributionService.class);
+        FaithfulRepository faithfulRepository = springContext.getBean(FaithfulRepository.class);
+
+        SubParish subParish = springContext.getBean(SubParishRepository.class).save(new SubParish("Benchmark"));
+        List<BEC> becs = new ArrayList<>(BECS);
+        for (int i = 0; i < BECS; i++) {
+            becs.add(springContext.getBean(BECRepository.class).save(new BEC("Benchmark " + i, subParish)));
+        }
+        int firstYear = LocalDate.now().getYear() - years;
+        for (int start = 0; start < faithfuls; start += CHUNK_SIZE) {
+            int first = start;
+            int end = Math.min(faithfuls, start + CHUNK_SIZE);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Faithful> chunk = new ArrayList<>(end - first);
+                for (int i = first; i < end; i++) {
+                    chunk.add(new Faithful("Benchmark " + i, null, null, null, null, becs.get(i % BECS)));
+                }
+                List<Contribution> contributions = new ArrayList<>((end - first) * years);
+                for (Faithful saved : faithfulRepository.saveAll(chunk)) {
+                    for (int y = 0; y < years; y++) {
+                        // Leave some years empty, so rows need padding
+                        if ((saved.getId() + y) % 7 != 0) {
+                            contributions.add(new Contribution(saved, firstYear + y,
+                                    BigDecimal.valueOf(500L * (y + 1)), LocalDate.of(firstYear + y, 6, 1), null));
+                        }
+                    }
+                }
+                contributionRepository.saveAll(contributions);
+            });
+        }
+    }
+
+    @TearDown
+    public void close() {
+        springContext.close();
+    }
+
+    @Benchmark
+    public List<FaithfulYearlyContributionProjection> nameMapQuery() {
+        return transactionTemplate.execute(status -> contributionRepository.getYearlyContributionSummary());
+    }
+
+    @Benchmark
+    public List<LegacyRow> nameMapMatrix() {
+        return transactionTemplate.execute(status -> legacyPivot(contributionRepository.getYearlyContributionSummary()));
+    }
+
+    @Benchmark
+    public List<FaithfulYearlyAmountProjection> denseRowsQuery() {
+        return transactionTemplate.execute(status -> contributionRepository.getYearlyAmountsPerFaithful());
+    }
+
+    @Benchmark
+    public List<FaithfulContributionRow> denseRowsMatrix() {
+        return contributionService.getFilteredContributionMatrix(null, null);
+    }
+
+    /** A matrix row as the map-based pivot built it. */
+    public static final class LegacyRow {
+        private final String name;
+        private final Map<Integer, BigDecimal> yearlyContributions = new HashMap<>();
+        private BigDecimal totalContribution;
+
+        LegacyRow(String name) {
+            this.name = name;
+        }
+    }
+
+    /** The pivot ContributionService used before rows were keyed by faithful id. */
+    private static List<LegacyRow> legacyPivot(List<FaithfulYearlyContributionProjection> data) {
+        Set<Integer> allYears = data.stream()
+                .map(FaithfulYearlyContributionProjection::getYear)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Map<String, LegacyRow> rowMap = new LinkedHashMap<>();
+        for (FaithfulYearlyContributionProjection record : data) {
+            rowMap.computeIfAbsent(record.getName(), LegacyRow::new)
+                    .yearlyContributions.put(record.getYear(), record.getTotalAmount());
+        }
+        for (LegacyRow row : rowMap.values()) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (Integer year : allYears) {
+                BigDecimal amount = row.yearlyContributions.getOrDefault(year, new BigDecimal("0000.00"));
+                row.yearlyContributions.putIfAbsent(year, amount);
+                total = total.add(amount);
+            }
+            row.totalContribution = total.setScale(FaithfulContributionRow.AMOUNT_SCALE, RoundingMode.HALF_UP);
+        }
+        return new ArrayList<>(rowMap.values());
+    }
+}
@@ -0,0 +1,146 @@
+package org.ananie.parishApp.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.ananie.parishApp.dao.BECRepository;
+import org.ananie.parishApp.dao.FaithfulRepository;
+import org.ananie.parishApp.dao.SubParishRepository;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Contribution;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.services.ContributionService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Inserts a batch of faithfuls, or of contributions through {@link ContributionService#saveAll}, per
+ * invocation, to compare id generation strategies. Reports the JDBC statements prepared per row next to the
+ * time of the whole batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InsertBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param("20000")
+    private int rows;
+
+    private AnnotationConfigApplicationContext springContext;
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+    private FaithfulRepository faithfulRepository;
+    private ContributionService contributionService;
+    private BEC bec;
+    private int batch;
+
+    /** Statements prepared per inserted row, over the latest invocation. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public double statementsPerRow;
+    }
+
+    /** Faithfuls for the contributions of the next invocation to belong to. */
+    @State(Scope.Benchmark)
+    public static class Owners {
+        private List<Long> ids;
+
+        @Setup(Level.Iteration)
+        public void insert(InsertBenchmark benchmark) {
+            ids = benchmark.insertFaithfuls();
+        }
+    }
+
+    @Setup
+    public void start() {
+        System.setProperty("hibernate.generate_statistics", "true");
+        springContext = BenchmarkContext.start();
+        statistics = springContext.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
+        faithfulRepository = springContext.getBean(FaithfulRepository.class);
+        contributionService = springContext.getBean(ContributionService.class);
+        SubParish subParish = springContext.getBean(SubParishRepository.class).save(new SubParish("Benchmark"));
+        bec = springContext.getBean(BECRepository.class).save(new BEC("Benchmark", subParish));
+    }
+
+    @TearDown
+    public void close() {
+        springContext.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void clearStatistics() {
+        statistics.clear();
+    }
+
+    @Benchmark
+    public List<Long> faithfuls(Statements statements) {
+        List<Long> ids = insertFaithfuls();
+        statements.statementsPerRow = (double) statistics.getPrepareStatementCount() / rows;
+        return ids;
+    }
+
+    @Benchmark
+    public int contributions(Owners owners, Statements statements) {
+        for (int start = 0; start < rows; start += CHUNK_SIZE) {
+            List<Contribution> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = start; i < Math.min(rows, start + CHUNK_SIZE); i++) {
+                Faithful owner = new Faithful();
+                owner.setId(owners.ids.get(i));
+                chunk.add(new Contribution(owner, 2024, BigDecimal.TEN, LocalDate.now(), null));
+            }
+            contributionService.saveAll(chunk);
+        }
+        statements.statementsPerRow = (double) statistics.getPrepareStatementCount() / rows;
+        return rows;
+    }
+
+    private List<Long> insertFaithfuls() {
+        // Names stay unique within the BEC across invocations
+        String prefix = "Benchmark " + (batch++) + " ";
+        List<Long> ids = new ArrayList<>(rows);
+        for (int start = 0; start < rows; start += CHUNK_SIZE) {
+            int first = start;
+            int end = Math.min(rows, start + CHUNK_SIZE);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Faithful> chunk = new ArrayList<>(end - first);
+                for (int i = first; i < end; i++) {
+                    chunk.add(new Faithful(prefix + i, null, null, null, null, bec));
+                }
+                for (Faithful saved : faithfulRepository.saveAll(chunk)) {
+                    ids.add(saved.getId());
+                }
+            });
+        }
+        return ids;
+    }
+}
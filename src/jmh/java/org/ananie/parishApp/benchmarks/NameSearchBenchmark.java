@@ -0,0 +1,118 @@
+package org.ananie.parishApp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.ananie.parishApp.dao.BECRepository;
+import org.ananie.parishApp.dao.FaithfulListProjection;
+import org.ananie.parishApp.dao.FaithfulRepository;
+import org.ananie.parishApp.dao.SubParishRepository;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.services.FaithfulNameIndex;
+import org.ananie.parishApp.services.FaithfulService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * First page of a faithful name search: answered by the name index against the LIKE '%x%' query, over the
+ * whole parish. A BEC-scoped search always takes the LIKE query and is measured as such. LIKE does not fold
+ * accents, so 'beatrice' finds nothing there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameSearchBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int BECS = 50;
+    private static final int PAGE_SIZE = 200;
+    private static final String[] SURNAMES = {"Uwase", "Mukamana", "Niyonzima", "Habimana", "Uwimana", "Ndayisaba",
+            "Mugisha", "Nshimiyimana", "Ingabire", "Hakizimana", "Mukeshimana", "Bizimana", "Nyirahabimana", "Tuyisenge"};
+    private static final String[] GIVEN_NAMES = {"Jean", "Marie", "Claudine", "Emmanuel", "Aline", "Béatrice",
+            "Josiane", "Patrick", "Divine", "Olivier", "Anastasie", "Théogène", "Séraphine"};
+
+    @Param("100000")
+    private int faithfuls;
+
+    @Param({"uwase", "beatrice", "nyirahab", "gisha jean", "zzz"})
+    private String query;
+
+    private AnnotationConfigApplicationContext springContext;
+    private FaithfulService faithfulService;
+    private FaithfulRepository faithfulRepository;
+    private SubParish subParish;
+    private BEC bec;
+    private String pattern;
+    private final PageRequest page = PageRequest.of(0, PAGE_SIZE);
+
+    @Setup
+    public void seed() {
+        springContext = BenchmarkContext.start();
+        TransactionTemplate transactionTemplate =
+                new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
+        faithfulService = springContext.getBean(FaithfulService.class);
+        faithfulRepository = springContext.getBean(FaithfulRepository.class);
+
+        subParish = springContext.getBean(SubParishRepository.class).save(new SubParish("Benchmark"));
+        List<BEC> becs = new ArrayList<>(BECS);
+        for (int i = 0; i < BECS; i++) {
+            becs.add(springContext.getBean(BECRepository.class).save(new BEC("Benchmark " + i, subParish)));
+        }
+        for (int start = 0; start < faithfuls; start += CHUNK_SIZE) {
+            int first = start;
+            int end = Math.min(faithfuls, start + CHUNK_SIZE);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Faithful> chunk = new ArrayList<>(end - first);
+                for (int i = first; i < end; i++) {
+                    String name = SURNAMES[i % SURNAMES.length] + " "
+                            + GIVEN_NAMES[(i / SURNAMES.length) % GIVEN_NAMES.length] + " " + i;
+                    chunk.add(new Faithful(name, null, null, null, null, becs.get(i % BECS)));
+                }
+                faithfulRepository.saveAll(chunk);
+            });
+        }
+        springContext.getBean(FaithfulNameIndex.class).rebuild();
+        bec = becs.get(0);
+        pattern = "%" + query + "%";
+    }
+
+    @TearDown
+    public void close() {
+        springContext.close();
+    }
+
+    @Benchmark
+    public List<FaithfulListProjection> indexPage() {
+        return faithfulService.listPage(null, null, query, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<FaithfulListProjection> likePage() {
+        return faithfulRepository.findListRowsAfter(pattern, "", 0L, page);
+    }
+
+    @Benchmark
+    public List<FaithfulListProjection> becPage() {
+        return faithfulService.listPage(subParish, bec, query, null, PAGE_SIZE);
+    }
+}
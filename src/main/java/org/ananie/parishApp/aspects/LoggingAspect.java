@@ -1,25 +1,48 @@
 package org.ananie.parishApp.aspects;
 
-import org.ananie.parishApp.services.LoggingService;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ananie.parishApp.metrics.LatencyHistogram;
+import org.ananie.parishApp.metrics.MetricsRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+/**
+ * Times every repository and service call into the per-method histograms of {@link MetricsRegistry}.
+ * The hot path is a nanoTime pair, two cached map lookups and a few atomic increments;
+ * nothing is logged per call unless the call is slow or per-call logging is switched on.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
     
+    private final MetricsRegistry metricsRegistry;
+
+    // Histograms per proxy class and method; names are built once, on the first call
+    private final ClassValue<ConcurrentHashMap<Method, LatencyHistogram>> histogramsByProxy = new ClassValue<>() {
+        @Override
+        protected ConcurrentHashMap<Method, LatencyHistogram> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     @Autowired
-    private LoggingService loggingService;
+    public LoggingAspect(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
     
     /**
      * Pointcut that matches all public methods in repository classes
-     * within the org.ananie.mushaParish.dao package and its sub-packages
+     * within the org.ananie.parishApp.dao package and its sub-packages
      */
-    @Pointcut("execution(public * org.ananie.mushaParish.dao..*(..))")
+    @Pointcut("execution(public * org.ananie.parishApp.dao..*(..))")
     public void repositoryMethods() {}
     
     /**
@@ -36,202 +59,52 @@ public class LoggingAspect {
     public void allRepositoryOperations() {}
     
     /**
-     * Around advice that logs performance metrics for repository methods
-     * All logging is done through LoggingService to maintain consistency
-     */
-    @Around("allRepositoryOperations()")
-    public Object logRepositoryPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
-        // Extract method information
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        // Create operation description
-        String operation = className + "." + methodName;
-        
-        // Log method entry using LoggingService
-        loggingService.logUserAction("REPOSITORY_ENTRY", operation + " called with " + args.length + " parameters");
-        
-        Object result = null;
-        boolean success = false;
-        String errorMessage = null;
-        
-        try {
-            // Proceed with the actual method execution
-            result = joinPoint.proceed();
-            success = true;
-            
-            // Log success using LoggingService
-            loggingService.logUserAction("REPOSITORY_SUCCESS", operation + " completed successfully");
-            
-            return result;
-            
-        } catch (Exception e) {
-            // Log error using LoggingService
-            errorMessage = e.getClass().getSimpleName() + ": " + e.getMessage();
-            loggingService.logError("Repository Operation: " + operation, e);
-            
-            // Re-throw the exception to maintain normal error handling
-            throw e;
-            
-        } finally {
-            // Calculate execution time
-            long endTime = System.currentTimeMillis();
-            long duration = endTime - startTime;
-            
-            // Log performance metrics using LoggingService
-            loggingService.logPerformance(operation, duration);
-            
-            // Additional detailed logging using LoggingService
-            if (success) {
-                String performanceMessage = operation + " executed in " + duration + "ms [SUCCESS]";
-                loggingService.logUserAction("REPO_PERFORMANCE", performanceMessage);
-                
-                // Log warning for slow operations using LoggingService
-                if (duration > 1000) {
-                    String slowOpMessage = operation + " took " + duration + "ms - Consider optimization";
-                    loggingService.logUserAction("SLOW_REPOSITORY_OPERATION", slowOpMessage);
-                }
-                
-                // Log result information using LoggingService
-                logResultInfoViaService(operation, result, duration);
-                
-            } else {
-                String failureMessage = operation + " executed in " + duration + "ms [FAILED: " + errorMessage + "]";
-                loggingService.logUserAction("REPO_PERFORMANCE_FAILURE", failureMessage);
-            }
-        }
-    }
-    
-    /**
-     * Log information about the result using LoggingService
+     * Public methods of the service layer, except the logging service itself
      */
-    private void logResultInfoViaService(String operation, Object result, long duration) {
-        String resultMessage;
-        
-        if (result == null) {
-            resultMessage = operation + " returned null in " + duration + "ms";
-        } else if (result instanceof java.util.Collection) {
-            int size = ((java.util.Collection<?>) result).size();
-            resultMessage = operation + " returned collection with " + size + " items in " + duration + "ms";
-        } else if (result instanceof java.util.Optional) {
-            boolean present = ((java.util.Optional<?>) result).isPresent();
-            resultMessage = operation + " returned Optional." + (present ? "present" : "empty") + " in " + duration + "ms";
-        } else {
-            resultMessage = operation + " returned " + result.getClass().getSimpleName() + " instance in " + duration + "ms";
-        }
-        
-        loggingService.logUserAction("REPO_RESULT", resultMessage);
-    }
+    @Pointcut("@within(org.springframework.stereotype.Service) && !within(org.ananie.parishApp.services.LoggingService)")
+    public void serviceOperations() {}
     
     /**
-     * Pointcut for specific CRUD operations that we want to track separately
+     * Around advice that records the latency and outcome of repository and service methods
      */
-    @Pointcut("execution(* org.ananie.mushaParish.dao..*.save*(..)) || " +
-              "execution(* org.ananie.mushaParish.dao..*.find*(..)) || " +
-              "execution(* org.ananie.mushaParish.dao..*.delete*(..)) || " +
-              "execution(* org.ananie.mushaParish.dao..*.update*(..))")
-    public void crudOperations() {}
-    
-    /**
-     * Special logging for CRUD operations using LoggingService exclusively
-     */
-    @Around("crudOperations()")
-    public Object logCrudOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        // Determine operation type
-        String operationType = getCrudOperationType(methodName);
-        String operation = className + "." + methodName;
-        
-        // Log database operation using LoggingService
-        if (args.length > 0 && args[0] != null) {
-            loggingService.logDatabaseOperation(operationType, className, args[0]);
-        }
-        
+    @Around("allRepositoryOperations() || serviceOperations()")
+    public Object logRepositoryPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
+        LatencyHistogram histogram = histogramFor(joinPoint);
+        long startTime = System.nanoTime();
+        Throwable failure = null;
         try {
-            Object result = joinPoint.proceed();
-            long duration = System.currentTimeMillis() - startTime;
-            
-            // Enhanced CRUD logging using LoggingService
-            String crudMessage = operation + " [" + operationType + "] completed in " + duration + "ms";
-            loggingService.logUserAction("CRUD_OPERATION", crudMessage);
-            
-            return result;
-            
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            String failureMessage = operation + " [" + operationType + "] failed after " + duration + "ms";
-            loggingService.logUserAction("CRUD_OPERATION_FAILED", failureMessage);
-            loggingService.logError("CRUD Operation: " + operation, e);
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            // Callers log the exception itself; here it only counts as an error
+            failure = e;
             throw e;
+        } finally {
+            metricsRegistry.record(histogram, System.nanoTime() - startTime, failure);
         }
     }
-    
-    /**
-     * Determine CRUD operation type from method name
-     */
-    private String getCrudOperationType(String methodName) {
-        String lowerMethodName = methodName.toLowerCase();
-        
-        if (lowerMethodName.startsWith("save") || lowerMethodName.startsWith("insert") || 
-            lowerMethodName.startsWith("create")) {
-            return "CREATE/UPDATE";
-        } else if (lowerMethodName.startsWith("find") || lowerMethodName.startsWith("get") || 
-                   lowerMethodName.startsWith("select") || lowerMethodName.startsWith("search")) {
-            return "READ";
-        } else if (lowerMethodName.startsWith("update") || lowerMethodName.startsWith("modify")) {
-            return "UPDATE";
-        } else if (lowerMethodName.startsWith("delete") || lowerMethodName.startsWith("remove")) {
-            return "DELETE";
-        } else {
-            return "OTHER";
+
+    private LatencyHistogram histogramFor(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ConcurrentHashMap<Method, LatencyHistogram> histograms = histogramsByProxy.get(proxy.getClass());
+        LatencyHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method,
+                    m -> metricsRegistry.histogram(componentName(proxy) + "." + m.getName()));
         }
+        return histogram;
     }
-    
-    /**
-     * Pointcut for methods that might perform batch operations
-     */
-    @Pointcut("execution(* org.ananie.mushaParish.dao..*.*All(..)) || " +
-              "execution(* org.ananie.mushaParish.dao..*.*Batch(..))")
-    public void batchOperations() {}
-    
+
     /**
-     * Special logging for batch operations using LoggingService exclusively
+     * Name of the repository interface or service class behind a proxy,
+     * e.g. FaithfulRepository rather than SimpleJpaRepository.
      */
-    @Around("batchOperations()")
-    public Object logBatchOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        
-        String operation = joinPoint.getTarget().getClass().getSimpleName() + "." + 
-                          joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        String startMessage = operation + " started with " + args.length + " parameters";
-        loggingService.logUserAction("BATCH_OPERATION_STARTED", startMessage);
-        
-        try {
-            Object result = joinPoint.proceed();
-            long duration = System.currentTimeMillis() - startTime;
-            
-            String completedMessage = operation + " completed in " + duration + "ms";
-            loggingService.logUserAction("BATCH_OPERATION_COMPLETED", completedMessage);
-            loggingService.logPerformance("BATCH-" + operation, duration);
-            
-            return result;
-            
-        } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            String failedMessage = operation + " failed after " + duration + "ms";
-            loggingService.logUserAction("BATCH_OPERATION_FAILED", failedMessage);
-            loggingService.logError("Batch Operation: " + operation, e);
-            throw e;
+    private static String componentName(Object proxy) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if (type.getName().startsWith("org.ananie.")) {
+                return type.getSimpleName();
+            }
         }
+        return AopProxyUtils.ultimateTargetClass(proxy).getSimpleName();
     }
-}
\ No newline at end of file
+}
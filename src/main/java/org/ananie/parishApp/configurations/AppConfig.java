@@ -4,23 +4,29 @@ import com.itextpdf.text.BaseColor;
 import com.zaxxer.hikari.HikariDataSource; 
 import jakarta.validation.Validator;
 
+import org.ananie.parishApp.metrics.SlowQueryLog;
 import org.ananie.parishApp.utilities.ApplicationDirectoryUtil;
 import org.hibernate.cfg.AvailableSettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 
 import javax.sql.DataSource;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @ComponentScan(basePackages = "org.ananie")
@@ -90,7 +96,7 @@ public class AppConfig {
         
         HikariDataSource ds = new HikariDataSource();
         ds.setDriverClassName("com.mysql.cj.jdbc.Driver");
-        ds.setJdbcUrl("jdbc:mysql://localhost:3306/parishAppDB?allowPublicKeyRetrieval=true&useSSL=false&createDatabaseIfNotExist=true&serverTimezone=UTC");
+        ds.setJdbcUrl("jdbc:mysql://localhost:3306/parishAppDB?allowPublicKeyRetrieval=true&useSSL=false&createDatabaseIfNotExist=true&serverTimezone=UTC&useCursorFetch=true");
         ds.setUsername("ananie"); 
         ds.setPassword("ananie@11072"); 
         ds.setMaximumPoolSize(10);
@@ -105,34 +111,48 @@ public class AppConfig {
         return ds;
     }
 
+    /**
+     * Ring buffer of slow SQL, filled by Hibernate's statistics
+     */
+    @Bean
+    public SlowQueryLog slowQueryLog() {
+        return new SlowQueryLog();
+    }
+
     /**
      * H2-specific Entity Manager Factory
      */
     @Bean(name = "entityManagerFactory")
     @Profile("h2")
+    @DependsOn("schemaMigrator")
     public LocalContainerEntityManagerFactoryBean h2EntityManagerFactory() {
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
         emf.setDataSource(h2DataSource());
         emf.setPackagesToScan("org.ananie.parishApp.model");
 
         HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter();
-        adapter.setShowSql(true);
         adapter.setDatabasePlatform("org.hibernate.dialect.H2Dialect");
         emf.setJpaVendorAdapter(adapter);
 
         Properties props = new Properties();
-        props.put("hibernate.hbm2ddl.auto", "update");
+        // The schema is created and changed by SchemaMigrator; -Dparish.schema.validate=true also compares it with the entities
+        props.put("hibernate.hbm2ddl.auto", Boolean.getBoolean("parish.schema.validate") ? "validate" : "none");
         props.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
-        props.put("hibernate.show_sql", "true");
-        props.put("hibernate.format_sql", "true");
-        props.put("hibernate.use_sql_comments", "true");
         props.put("hibernate.id.new_generator_mappings", "true");
-        props.put(AvailableSettings.SHOW_SQL, true);
-        props.put(AvailableSettings.FORMAT_SQL, true);
+        // Statements are no longer printed; slow ones are kept by the SlowQueryLog instead
         props.put(AvailableSettings.GENERATE_STATISTICS, true);
+        props.put(AvailableSettings.STATS_BUILDER, slowQueryLog().statisticsFactory());
+        props.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryLog().getThresholdMillis());
+        // Entity and query cache for the SubParish/BEC hierarchy, regions configured in application.conf
+        props.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        props.put(AvailableSettings.USE_QUERY_CACHE, true);
+        props.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        props.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
         props.put("hibernate.jdbc.batch_size", "20");
         props.put("hibernate.order_inserts", "true");
         props.put("hibernate.order_updates", "true");
+        // Table id generators hand out blocks of ids, so inserts batch
+        props.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
         props.put("hibernate.jdbc.batch_versioned_data", "true");
         
         emf.setJpaProperties(props);
@@ -144,29 +164,35 @@ public class AppConfig {
      */
     @Bean(name = "entityManagerFactory")
     @Profile({"default", "mysql", "production"})
+    @DependsOn("schemaMigrator")
     public LocalContainerEntityManagerFactoryBean mysqlEntityManagerFactory() {
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
         emf.setDataSource(mysqlDataSource());
         emf.setPackagesToScan("org.ananie.parishApp.model");
 
         HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter();
-        adapter.setShowSql(true);
         adapter.setDatabasePlatform("org.hibernate.dialect.MySQL8Dialect");
         emf.setJpaVendorAdapter(adapter);
 
         Properties props = new Properties();
-        props.put("hibernate.hbm2ddl.auto", "update");
+        // The schema is created and changed by SchemaMigrator; -Dparish.schema.validate=true also compares it with the entities
+        props.put("hibernate.hbm2ddl.auto", Boolean.getBoolean("parish.schema.validate") ? "validate" : "none");
         props.put("hibernate.dialect", "org.hibernate.dialect.MySQL8Dialect");
-        props.put("hibernate.show_sql", "true");
-        props.put("hibernate.format_sql", "true");
-        props.put("hibernate.use_sql_comments", "true");
         props.put("hibernate.id.new_generator_mappings", "true");
-        props.put(AvailableSettings.SHOW_SQL, true);
-        props.put(AvailableSettings.FORMAT_SQL, true);
+        // Statements are no longer printed; slow ones are kept by the SlowQueryLog instead
         props.put(AvailableSettings.GENERATE_STATISTICS, true);
+        props.put(AvailableSettings.STATS_BUILDER, slowQueryLog().statisticsFactory());
+        props.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryLog().getThresholdMillis());
+        // Entity and query cache for the SubParish/BEC hierarchy, regions configured in application.conf
+        props.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        props.put(AvailableSettings.USE_QUERY_CACHE, true);
+        props.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+        props.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
         props.put("hibernate.jdbc.batch_size", "20");
         props.put("hibernate.order_inserts", "true");
         props.put("hibernate.order_updates", "true");
+        // Table id generators hand out blocks of ids, so inserts batch
+        props.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
         props.put("hibernate.jdbc.batch_versioned_data", "true");
         
         emf.setJpaProperties(props);
@@ -178,19 +204,24 @@ public class AppConfig {
      */
     @Bean(name = "entityManagerFactory")
     @Profile("test")
+    @DependsOn("schemaMigrator")
     public LocalContainerEntityManagerFactoryBean testEntityManagerFactory() {
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
         emf.setDataSource(h2TestDataSource());
         emf.setPackagesToScan("org.ananie.parishApp.model");
 
         HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter();
-        adapter.setShowSql(true);
         adapter.setDatabasePlatform("org.hibernate.dialect.H2Dialect");
         emf.setJpaVendorAdapter(adapter);
 
         Properties props = new Properties();
-        props.put("hibernate.hbm2ddl.auto", "create-drop");
+        // Built by the same migrations as the real profiles, then checked against the entities
+        props.put("hibernate.hbm2ddl.auto", "validate");
         props.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        props.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        // Same batching as the real profiles, so the insert benchmark measures what production does
+        props.put("hibernate.jdbc.batch_size", "20");
+        props.put("hibernate.order_inserts", "true");
         
         emf.setJpaProperties(props);
         return emf;
@@ -220,6 +251,31 @@ public class AppConfig {
         return tm;
     }
 
+    /**
+     * Shared executor for work taken off the JavaFX thread.
+     * Uses virtual threads when the runtime offers them (JDK 21+), otherwise a small daemon pool.
+     * The caller's security context travels with each task so @PreAuthorize keeps working.
+     */
+    @Bean(name = "backgroundExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService backgroundExecutor() {
+        ExecutorService delegate;
+        try {
+            // Looked up reflectively because the build still targets Java 17
+            delegate = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            int poolSize = Math.max(4, Runtime.getRuntime().availableProcessors());
+            delegate = Executors.newFixedThreadPool(poolSize, runnable -> {
+                Thread thread = new Thread(runnable, "parish-background-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return new DelegatingSecurityContextExecutorService(delegate);
+    }
+
     @Bean
     public Validator validator() {
         return new LocalValidatorFactoryBean();
@@ -0,0 +1,119 @@
+package org.ananie.parishApp.configurations;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import org.ananie.parishApp.metrics.StartupTimeline;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+/**
+ * Builds the Spring context on a background thread, so the login window shows while the connection pool,
+ * the schema check and the entity manager factory start. The instance is registered in the context it
+ * builds; the login screen reopened at logout gets it injected, already complete.
+ */
+public class ContextBootstrap {
+
+    public static final String BEAN_NAME = "contextBootstrap";
+
+    private static final String STARTING = "Porogaramu iratangira...";
+    private static final String FAILED = "Porogaramu ntiyashoboye gutangira";
+    // Beans worth telling the user about, the slow ones of a cold start
+    private static final Map<String, String> STEPS = Map.of(
+            "mysqlDataSource", "Kwihuza n'ububiko bw'amakuru...",
+            "h2DataSource", "Kwihuza n'ububiko bw'amakuru...",
+            "schemaMigrator", "Kugenzura ububiko bw'amakuru...",
+            "entityManagerFactory", "Gutegura amakuru...");
+
+    private final StartupTimeline timeline;
+    private final Consumer<AnnotationConfigApplicationContext> onReady;
+    private final ReadOnlyStringWrapper status = new ReadOnlyStringWrapper(STARTING);
+    private CompletableFuture<AnnotationConfigApplicationContext> context;
+
+    /**
+     * @param onReady called on the boot thread with each context that started
+     */
+    public ContextBootstrap(StartupTimeline timeline, Consumer<AnnotationConfigApplicationContext> onReady) {
+        this.timeline = timeline;
+        this.onReady = onReady;
+        timeline.onBeanCreation(beanName -> {
+            String step = STEPS.get(beanName);
+            if (step != null) {
+                setStatus(step);
+            }
+        });
+    }
+
+    /**
+     * Starts building the context, unless it is built or being built; after a failed start it tries again.
+     */
+    public synchronized CompletableFuture<AnnotationConfigApplicationContext> start() {
+        if (context != null && !context.isCompletedExceptionally()) {
+            return context;
+        }
+        CompletableFuture<AnnotationConfigApplicationContext> booting = new CompletableFuture<>();
+        context = booting;
+        setStatus(STARTING);
+        Thread boot = new Thread(() -> {
+            try {
+                AnnotationConfigApplicationContext applicationContext = build();
+                onReady.accept(applicationContext);
+                booting.complete(applicationContext);
+                setStatus("");
+            } catch (Throwable e) {
+                // the login screen shows the failure and lets the user try again
+                System.err.println("Failed to start the application context:");
+                e.printStackTrace();
+                setStatus(FAILED);
+                booting.completeExceptionally(e);
+            }
+        }, "context-boot");
+        boot.start();
+        return booting;
+    }
+
+    /** The context of the latest start; call {@link #start()} first. */
+    public synchronized CompletableFuture<AnnotationConfigApplicationContext> context() {
+        return context;
+    }
+
+    /** What the start is busy with, for the login screen; empty once the context is ready. */
+    public ReadOnlyStringProperty statusProperty() {
+        return status.getReadOnlyProperty();
+    }
+
+    /**
+     * Closes the context, first waiting for a start in progress so a schema migration is not cut off.
+     */
+    public void close() {
+        CompletableFuture<AnnotationConfigApplicationContext> started = context();
+        if (started == null) {
+            return;
+        }
+        try {
+            started.join().close();
+        } catch (CompletionException | CancellationException e) {
+            // the start failed, there is nothing to close
+        }
+    }
+
+    private AnnotationConfigApplicationContext build() {
+        AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.setApplicationStartup(timeline);
+        applicationContext.getBeanFactory().registerSingleton(BEAN_NAME, this);
+        applicationContext.register(AppConfig.class);
+        applicationContext.refresh();
+        timeline.mark(StartupTimeline.CONTEXT_READY);
+        return applicationContext;
+    }
+
+    private void setStatus(String text) {
+        Platform.runLater(() -> status.set(text));
+    }
+}
@@ -0,0 +1,91 @@
+package org.ananie.parishApp.configurations;
+
+import java.util.List;
+import java.util.Map;
+
+import org.ananie.parishApp.model.IdGenerators;
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Migration path from IDENTITY ids: before anything is inserted, moves each generator row of
+ * {@link IdGenerators#TABLE} up to the highest id already stored in its table, creating the row
+ * when missing. Hibernate keeps the last used id in that row and hands out ids above it.
+ * Safe to run on every start; it never moves a generator backwards.
+ */
+@Component
+public class IdGeneratorSeeder {
+
+    /** Generator name to the table whose ids it hands out. */
+    private static final Map<String, String> GENERATED_TABLES = Map.of(
+            IdGenerators.CONTRIBUTION, "amaturo",
+            IdGenerators.FAITHFUL, "abakristu",
+            IdGenerators.BEC, "impuza",
+            IdGenerators.SUB_PARISH, "santarali",
+            IdGenerators.CONTRIBUTION_TOTAL, "ibiteranyo",
+            IdGenerators.USER, "users");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+    private final LoggingService loggingService;
+
+    @Autowired
+    public IdGeneratorSeeder(PlatformTransactionManager transactionManager, LoggingService loggingService) {
+        this.transactionManager = transactionManager;
+        this.loggingService = loggingService;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void seed() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        GENERATED_TABLES.forEach((generator, table) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> seed(generator, table));
+            } catch (Exception e) {
+                loggingService.logError("ID_GENERATOR_SEED_" + generator, e);
+            }
+        });
+    }
+
+    private void seed(String generator, String table) {
+        long lastUsed = ((Number) entityManager
+                .createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)
+                .getSingleResult()).longValue();
+
+        List<?> current = entityManager
+                .createNativeQuery("SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+                        + " WHERE " + IdGenerators.NAME_COLUMN + " = ?1")
+                .setParameter(1, generator)
+                .getResultList();
+
+        if (current.isEmpty()) {
+            entityManager.createNativeQuery("INSERT INTO " + IdGenerators.TABLE + " ("
+                            + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?1, ?2)")
+                    .setParameter(1, generator)
+                    .setParameter(2, lastUsed)
+                    .executeUpdate();
+        } else if (((Number) current.get(0)).longValue() < lastUsed) {
+            entityManager.createNativeQuery("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+                            + " = ?2 WHERE " + IdGenerators.NAME_COLUMN + " = ?1 AND " + IdGenerators.VALUE_COLUMN + " < ?2")
+                    .setParameter(1, generator)
+                    .setParameter(2, lastUsed)
+                    .executeUpdate();
+        } else {
+            return;
+        }
+        loggingService.logUserAction("ID_GENERATOR_SEED", generator + " continues after " + lastUsed);
+    }
+}
@@ -18,10 +18,12 @@ import org.ananie.parishApp.model.SubParish;
 import org.ananie.parishApp.services.BECService;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.services.SubParishService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
-import java.util.List;
 
+@Lazy
 @Component
 public class AddBECController {
     
@@ -35,20 +37,26 @@ public class AddBECController {
     private final BECService becService;
     private final SubParishService subParishService;
     private final LoggingService loggingService;
+    private final BackgroundTaskRunner.TaskScope tasks; // Lookups and saves run off the FX thread
     private BEC currentBEC; // For editing existing BEC
+    private SubParish pendingSubParish; // Selected once the sub-parish list has loaded
     private Runnable refreshCallback; // Callback to refresh parent view
 
     @Autowired
-    public AddBECController(BECService becService, SubParishService subParishService, LoggingService loggingService) {
+    public AddBECController(BECService becService, SubParishService subParishService, LoggingService loggingService,
+                            BackgroundTaskRunner backgroundTaskRunner) {
         this.becService = becService;
         this.subParishService = subParishService;
 		this.loggingService = loggingService;
+		this.tasks = backgroundTaskRunner.newScope();
     }
 
     @FXML
     public void initialize() {
         loggingService.logUserAction("BEC_FORM", "Add/Edit BEC form initialized");
         
+        // No second save while one is still running
+        saveButton.disableProperty().bind(tasks.busyProperty());
         populateSubParishComboBox();
         
         saveButton.setOnAction(event -> {
@@ -79,7 +87,7 @@ public class AddBECController {
             loggingService.logUserAction("BEC_EDIT_MODE","Editing BEC: " + becToEdit.getName() + " (ID: " + becToEdit.getId() + ")");
             formTitleLabel.setText("HINDURA IMPUZA");
             nameTextField.setText(becToEdit.getName());
-            subParishComboBox.getSelectionModel().select(becToEdit.getSubParish());
+            selectSubParish(becToEdit.getSubParish());
         } else {
             // Add mode
             formTitleLabel.setText("IMPUZA NSHYA");
@@ -87,18 +95,31 @@ public class AddBECController {
                     (preselectedSubParish != null ? " with preselected sub-parish" : ""));
             nameTextField.clear();
             if (preselectedSubParish != null) {
-                subParishComboBox.getSelectionModel().select(preselectedSubParish);
+                selectSubParish(preselectedSubParish);
             }
         }
         nameTextField.requestFocus();
     }
 
+    private void selectSubParish(SubParish subParish) {
+        if (subParishComboBox.getItems().isEmpty()) {
+            pendingSubParish = subParish; // The list is still loading
+        } else {
+            subParishComboBox.getSelectionModel().select(subParish);
+        }
+    }
+
     private void populateSubParishComboBox() {
       try {
-    	List<SubParish> subParishes = subParishService.findAllOrderedByName();
-        loggingService.logUserAction("BEC_FORM_DATA", "Loaded " + subParishes.size() + " sub-parishes for selection");
-        ObservableList<SubParish> observableSubParishes = FXCollections.observableArrayList(subParishes);
-        subParishComboBox.setItems(observableSubParishes);
+        tasks.run("subParishes", subParishService::findAllOrderedByName, subParishes -> {
+            loggingService.logUserAction("BEC_FORM_DATA", "Loaded " + subParishes.size() + " sub-parishes for selection");
+            ObservableList<SubParish> observableSubParishes = FXCollections.observableArrayList(subParishes);
+            subParishComboBox.setItems(observableSubParishes);
+            if (pendingSubParish != null) {
+                subParishComboBox.getSelectionModel().select(pendingSubParish);
+                pendingSubParish = null;
+            }
+        }, error -> loggingService.logError("BEC_FORM_DATA_ERROR", error));
         // Show only the 'name' in the dropdown list
         subParishComboBox.setCellFactory(comboBox -> new ListCell<SubParish>() {
             @Override
@@ -151,21 +172,28 @@ public class AddBECController {
                 "Processing save for BEC: " + name + 
                 " under SubParish: " + selectedSubParish.getName());
 
-        try {
-            BEC becToSave = currentBEC != null ? currentBEC : new BEC();
-            becToSave.setName(name);
-            becToSave.setSubParish(selectedSubParish);
+        BEC becToSave = currentBEC != null ? currentBEC : new BEC();
+        becToSave.setName(name);
+        becToSave.setSubParish(selectedSubParish);
 
-            if (becToSave.getId() == null) {
-                // Add new
+        String savedName = name;
+        boolean isNew = becToSave.getId() == null;
+        tasks.run("saveBEC", () -> {
+            if (isNew) {
                 becService.save(becToSave);
-                loggingService.logUserAction("BEC_ADD_SUCCESS", "Added new BEC: " + name + " (ID: " + becToSave.getId() + ")");
-                showSuccess("Impuza '" + name + "' yongeweho neza!");
             } else {
-                // Update existing
-            	loggingService.logUserAction("BEC_UPDATE_SUCCESS", "Updated BEC: " + name + " (ID: " + becToSave.getId() + ")");
                 becService.update(becToSave);
-                showSuccess("Impuza '" + name + "' yahinduwe neza!");
+            }
+            return becToSave;
+        }, saved -> {
+            if (isNew) {
+                // Add new
+                loggingService.logUserAction("BEC_ADD_SUCCESS", "Added new BEC: " + savedName + " (ID: " + saved.getId() + ")");
+                showSuccess("Impuza '" + savedName + "' yongeweho neza!");
+            } else {
+                // Update existing
+            	loggingService.logUserAction("BEC_UPDATE_SUCCESS", "Updated BEC: " + savedName + " (ID: " + saved.getId() + ")");
+                showSuccess("Impuza '" + savedName + "' yahinduwe neza!");
             }
 
             // Refresh parent view
@@ -186,15 +214,15 @@ public class AddBECController {
                     }, 1500 // 1.5 seconds
                 );
             });
-
-        } catch (IllegalArgumentException e) {
-        	loggingService.logError("BEC_VALIDATION_ERROR", e);
-            showError(e.getMessage()); // Business validation from service
-        } catch (Exception e) {
-        	loggingService.logError("BEC_SAVE_ERROR", e);
-            showError("Ikosa ryabaye: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            if (error instanceof IllegalArgumentException) {
+            	loggingService.logError("BEC_VALIDATION_ERROR", error);
+                showError(error.getMessage()); // Business validation from service
+            } else {
+            	loggingService.logError("BEC_SAVE_ERROR", error);
+                showError("Ikosa ryabaye: " + error.getMessage());
+            }
+        });
     }
 
     private void showError(String message) {
@@ -13,13 +13,16 @@ import org.ananie.parishApp.model.Contribution;
 import org.ananie.parishApp.model.Faithful;
 import org.ananie.parishApp.services.ContributionService;
 import org.ananie.parishApp.services.LoggingService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+@Lazy
 @Component
 public class AddContributionController {
 
@@ -35,14 +38,17 @@ public class AddContributionController {
 
     private final ContributionService contributionService;
     private final LoggingService loggingService;
+    private final BackgroundTaskRunner.TaskScope tasks; // Saves run off the FX thread
     private Faithful selectedFaithful; // The faithful for whom the contribution is made
     private Contribution currentContribution; // If editing an existing contribution
     private Runnable refreshCallback;
 
     @Autowired
-    public AddContributionController(ContributionService contributionService, LoggingService loggingService) {
+    public AddContributionController(ContributionService contributionService, LoggingService loggingService,
+                                     BackgroundTaskRunner backgroundTaskRunner) {
         this.contributionService = contributionService;
 		this.loggingService = loggingService;
+		this.tasks = backgroundTaskRunner.newScope();
     }
 
     @FXML
@@ -161,18 +167,26 @@ public class AddContributionController {
         contributionToSave.setYear(contributionYear);
         contributionToSave.setNotes(notesTextArea.getText().trim());
 
-        try {
-            if (contributionToSave.getId() == null) {
+        boolean isNew = contributionToSave.getId() == null;
+        saveContributionButton.setDisable(true); // No second save while this one is running
+        tasks.run("saveContribution", () -> {
+            if (isNew) {
                 contributionService.save(contributionToSave);
+            } else {
+                contributionService.update(contributionToSave);
+            }
+            return contributionToSave;
+        }, saved -> {
+            saveContributionButton.setDisable(false);
+            if (isNew) {
                 loggingService.logUserAction("CONTRIBUTION_ADD_SUCCESS", 
                     "Added contribution: " + amount + " RWF for " + selectedFaithful.getName() + 
                     " (Year: " + contributionYear + ")");
                 showSuccess("Ituro rya " + selectedFaithful.getName() + " rw'umwaka " + contributionYear + " ryanditswe neza");
                 clearFields();
             } else {
-                contributionService.update(contributionToSave);
                 loggingService.logUserAction("CONTRIBUTION_UPDATE_SUCCESS", 
-                    "Updated contribution ID " + contributionToSave.getId() + 
+                    "Updated contribution ID " + saved.getId() + 
                     " to " + amount + " RWF for " + selectedFaithful.getName());
                 showSuccess("Ituro rya " + selectedFaithful.getName() + " rw'umwaka " + contributionYear + " ryanditswe neza");
             }
@@ -181,15 +195,16 @@ public class AddContributionController {
                 loggingService.logUserAction("CONTRIBUTION_REFRESH", "Triggering parent view refresh");
                 refreshCallback.run();
             }
-
-        } catch (IllegalArgumentException e) {
-            loggingService.logError("CONTRIBUTION_VALIDATION_ERROR", e);
-            showError(e.getMessage());
-        } catch (Exception e) {
-            loggingService.logError("CONTRIBUTION_SAVE_ERROR", e);
-            showError("Ikosa ritunguranye: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            saveContributionButton.setDisable(false);
+            if (error instanceof IllegalArgumentException) {
+                loggingService.logError("CONTRIBUTION_VALIDATION_ERROR", error);
+                showError(error.getMessage());
+            } else {
+                loggingService.logError("CONTRIBUTION_SAVE_ERROR", error);
+                showError("Ikosa ritunguranye: " + error.getMessage());
+            }
+        });
     }
 
     private void clearFields() {
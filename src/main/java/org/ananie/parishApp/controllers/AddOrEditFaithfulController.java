@@ -19,11 +19,13 @@ import org.ananie.parishApp.services.BECService;
 import org.ananie.parishApp.services.FaithfulService;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.services.SubParishService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 
+@Lazy
 @Component
 public class AddOrEditFaithfulController {
 
@@ -44,17 +46,22 @@ public class AddOrEditFaithfulController {
     private final SubParishService subParishService;
     private final BECService becService;
     private final LoggingService loggingService;
+    private final BackgroundTaskRunner.TaskScope tasks; // Lookups and saves run off the FX thread
 
     private Faithful currentFaithful; // To hold the faithful being edited
+    private SubParish pendingSubParish; // Selected once the sub-parish list has loaded
+    private BEC pendingBec; // Selected once the BEC list of its sub-parish has loaded
     private Runnable refreshCallback;
 	private int lastCaretPosition;
     // Constructor injection
     @Autowired
-    public AddOrEditFaithfulController(FaithfulService faithfulService, SubParishService subParishService, BECService becService, LoggingService loggingService) {
+    public AddOrEditFaithfulController(FaithfulService faithfulService, SubParishService subParishService, BECService becService, LoggingService loggingService,
+                                       BackgroundTaskRunner backgroundTaskRunner) {
         this.faithfulService = faithfulService;
         this.subParishService = subParishService;
         this.becService = becService;
 		this.loggingService = loggingService;
+		this.tasks = backgroundTaskRunner.newScope();
     }
 
     @FXML
@@ -109,6 +116,8 @@ public class AddOrEditFaithfulController {
             }
         });
             
+        // No second save while one is still running
+        saveFaithfulButton.disableProperty().bind(tasks.busyProperty());
         populateSubParishComboBox();
 
         subParishComboBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
@@ -118,6 +127,7 @@ public class AddOrEditFaithfulController {
                 populateBecComboBox(newVal);
             } else {
                 loggingService.logUserAction("FAITHFUL_FORM_SUBPARISH_CLEAR", "Cleared sub-parish selection");
+                tasks.cancel("becs");
                 becComboBox.getItems().clear();
                 becComboBox.setDisable(true);
             }
@@ -177,23 +187,28 @@ private void populateFields(Faithful faithful) {
     occupationTextField.setText(faithful.getOccupation());
 
     if (faithful.getBec() != null && faithful.getBec().getSubParish() != null) {
-        subParishComboBox.getSelectionModel().select(faithful.getBec().getSubParish());
-        Platform.runLater(() -> {
-            if (faithful.getBec() != null) {
-                becComboBox.getSelectionModel().select(faithful.getBec());
-            }
-        });
+        pendingBec = faithful.getBec();
+        if (subParishComboBox.getItems().isEmpty()) {
+            pendingSubParish = faithful.getBec().getSubParish();
+        } else {
+            subParishComboBox.getSelectionModel().select(faithful.getBec().getSubParish());
+        }
     }
 }
 
     private void populateSubParishComboBox() {
         try {
-            List<SubParish> subParishes = subParishService.findAllOrderedByName();
-            loggingService.logUserAction("FAITHFUL_FORM_DATA", 
-                "Loaded " + subParishes.size() + " sub-parishes for selection");
-                
-            ObservableList<SubParish> observableSubParishes = FXCollections.observableArrayList(subParishes);
-            subParishComboBox.setItems(observableSubParishes);
+            tasks.run("subParishes", subParishService::findAllOrderedByName, subParishes -> {
+                loggingService.logUserAction("FAITHFUL_FORM_DATA", 
+                    "Loaded " + subParishes.size() + " sub-parishes for selection");
+
+                ObservableList<SubParish> observableSubParishes = FXCollections.observableArrayList(subParishes);
+                subParishComboBox.setItems(observableSubParishes);
+                if (pendingSubParish != null) {
+                    subParishComboBox.getSelectionModel().select(pendingSubParish);
+                    pendingSubParish = null;
+                }
+            }, error -> loggingService.logError("FAITHFUL_FORM_DATA_ERROR", error));
             subParishComboBox.setConverter(new StringConverter<SubParish>() {
                 @Override
                 public String toString(SubParish subParish) {
@@ -218,12 +233,17 @@ private void populateFields(Faithful faithful) {
             becComboBox.setPromptText("Hitamo impuza");
             
             if (subParish != null) {
-                List<BEC> becs = becService.findBySubParish(subParish);
-                loggingService.logUserAction("FAITHFUL_FORM_DATA", 
-                    "Loaded " + becs.size() + " BECs for sub-parish: " + subParish.getName());
-                    
-                ObservableList<BEC> observableBECs = FXCollections.observableArrayList(becs);
-                becComboBox.setItems(observableBECs);
+                tasks.run("becs", () -> becService.findBySubParish(subParish), becs -> {
+                    loggingService.logUserAction("FAITHFUL_FORM_DATA", 
+                        "Loaded " + becs.size() + " BECs for sub-parish: " + subParish.getName());
+
+                    ObservableList<BEC> observableBECs = FXCollections.observableArrayList(becs);
+                    becComboBox.setItems(observableBECs);
+                    if (pendingBec != null && becs.contains(pendingBec)) {
+                        becComboBox.getSelectionModel().select(pendingBec);
+                    }
+                    pendingBec = null;
+                }, error -> loggingService.logError("FAITHFUL_FORM_DATA_ERROR", error));
                 becComboBox.setConverter(new StringConverter<BEC>() {
                     @Override
                     public String toString(BEC object) {
@@ -271,35 +291,41 @@ private void populateFields(Faithful faithful) {
         faithfulToSave.setOccupation(occupation);
         faithfulToSave.setBec(selectedBec);
 
-        try {
-            if (faithfulToSave.getId() == null) {
+        boolean isNew = faithfulToSave.getId() == null;
+        tasks.run("saveFaithful", () -> {
+            if (isNew) {
                 faithfulService.save(faithfulToSave);
+            } else {
+                faithfulService.update(faithfulToSave);
+            }
+            return faithfulToSave;
+        }, saved -> {
+            if (isNew) {
                 loggingService.logUserAction("FAITHFUL_ADD_SUCCESS", 
-                    "Added new faithful: " + name + " (ID: " + faithfulToSave.getId() + 
+                    "Added new faithful: " + name + " (ID: " + saved.getId() + 
                     "), BEC: " + selectedBec.getName());
-                showSuccess(faithfulToSave.getName() + " Yanditswe neza");
+                showSuccess(saved.getName() + " Yanditswe neza");
                 clearFields();
             } else {
-                faithfulService.update(faithfulToSave);
                 loggingService.logUserAction("FAITHFUL_UPDATE_SUCCESS", 
-                    "Updated faithful: " + name + " (ID: " + faithfulToSave.getId() + 
+                    "Updated faithful: " + name + " (ID: " + saved.getId() + 
                     "), BEC: " + selectedBec.getName());
-                showSuccess(faithfulToSave.getName() + "Yanditswe neza");
+                showSuccess(saved.getName() + "Yanditswe neza");
             }
 
             if (refreshCallback != null) {
                 loggingService.logUserAction("FAITHFUL_REFRESH", "Triggering parent view refresh");
                 refreshCallback.run();
             }
-
-        } catch (IllegalArgumentException e) {
-            loggingService.logError("FAITHFUL_VALIDATION_ERROR", e);
-            showError(e.getMessage());
-        } catch (Exception e) {
-            loggingService.logError("FAITHFUL_SAVE_ERROR", e);
-            showError("An unexpected error occurred: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            if (error instanceof IllegalArgumentException) {
+                loggingService.logError("FAITHFUL_VALIDATION_ERROR", error);
+                showError(error.getMessage());
+            } else {
+                loggingService.logError("FAITHFUL_SAVE_ERROR", error);
+                showError("An unexpected error occurred: " + error.getMessage());
+            }
+        });
     }
     
     private void clearFields() {
@@ -314,6 +340,8 @@ private void populateFields(Faithful faithful) {
         baptismYearTextField.clear();
         occupationTextField.clear();
         currentFaithful = null; // reset for next operation
+        pendingSubParish = null;
+        pendingBec = null;
     }
 
     private void showError(String message) {
@@ -11,11 +11,14 @@ import javafx.stage.Stage;
 import org.ananie.parishApp.model.SubParish;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.services.SubParishService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
+@Lazy
 @Component
 public class AddSubParishController {
 
@@ -27,19 +30,24 @@ public class AddSubParishController {
 
     private final SubParishService subParishService;
     private final LoggingService loggingService;
+    private final BackgroundTaskRunner.TaskScope tasks; // The duplicate check and save run off the FX thread
     private SubParish currentSubParish; // For editing existing SubParish
     private Runnable refreshCallback; // Callback to refresh parent view
 
     @Autowired
     public AddSubParishController(SubParishService subParishService, 
-                                LoggingService loggingService) {
+                                LoggingService loggingService,
+                                BackgroundTaskRunner backgroundTaskRunner) {
         this.subParishService = subParishService;
         this.loggingService = loggingService;
+        this.tasks = backgroundTaskRunner.newScope();
     }
 
     @FXML
     public void initialize() {
         loggingService.logUserAction("SUBPARISH_FORM", "SubParish form initialized");
+        // No second save while one is still running
+        saveButton.disableProperty().bind(tasks.busyProperty());
         
         saveButton.setOnAction(event -> {
             loggingService.logUserAction("SUBPARISH_SAVE_ATTEMPT", "Attempting to save SubParish");
@@ -93,32 +101,35 @@ public class AddSubParishController {
             "Processing save for SubParish: " + name + 
             (currentSubParish != null ? " (ID: " + currentSubParish.getId() + ")" : ""));
 
-        try {
+        String savedName = name;
+        SubParish subParishToSave = currentSubParish != null ? currentSubParish : new SubParish();
+        boolean isNew = subParishToSave.getId() == null;
+        tasks.run("saveSubParish", () -> {
             // Check if name already exists
-            Optional<SubParish> existing = subParishService.findByName(name);
+            Optional<SubParish> existing = subParishService.findByName(savedName);
             if (existing.isPresent() && 
-                (currentSubParish == null || !existing.get().getId().equals(currentSubParish.getId()))) {
-                loggingService.logUserAction("SUBPARISH_VALIDATION_FAIL", 
-                    "Duplicate name rejected: " + name);
-                showError("Santarali ifite iri zina iranditse");
-                return;
+                (isNew || !existing.get().getId().equals(subParishToSave.getId()))) {
+                throw new IllegalArgumentException("Santarali ifite iri zina iranditse");
             }
 
-            SubParish subParishToSave = currentSubParish != null ? currentSubParish : new SubParish();
-            subParishToSave.setName(name);
-
-            if (subParishToSave.getId() == null) {
-                // Add new
+            subParishToSave.setName(savedName);
+            if (isNew) {
                 subParishService.save(subParishToSave);
+            } else {
+                subParishService.update(subParishToSave);
+            }
+            return subParishToSave;
+        }, saved -> {
+            if (isNew) {
+                // Add new
                 loggingService.logUserAction("SUBPARISH_ADD_SUCCESS", 
-                    "Added new SubParish: " + name + " (ID: " + subParishToSave.getId() + ")");
-                showSuccess("Santarali '" + name + "' yongeweho neza!");
+                    "Added new SubParish: " + savedName + " (ID: " + saved.getId() + ")");
+                showSuccess("Santarali '" + savedName + "' yongeweho neza!");
             } else {
                 // Update existing
-                subParishService.update(subParishToSave);
                 loggingService.logUserAction("SUBPARISH_UPDATE_SUCCESS", 
-                    "Updated SubParish: " + name + " (ID: " + subParishToSave.getId() + ")");
-                showSuccess("Santarali '" + name + "' yahinduwe neza!");
+                    "Updated SubParish: " + savedName + " (ID: " + saved.getId() + ")");
+                showSuccess("Santarali '" + savedName + "' yahinduwe neza!");
             }
 
             // Refresh parent view
@@ -142,12 +153,16 @@ public class AddSubParishController {
                     }, 1500
                 );
             });
-
-        } catch (Exception e) {
-            loggingService.logError("SUBPARISH_SAVE_ERROR", e);
-            showError("Ikosa ryabaye: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, error -> {
+            if (error instanceof IllegalArgumentException) {
+                loggingService.logUserAction("SUBPARISH_VALIDATION_FAIL", 
+                    "Duplicate name rejected: " + savedName);
+                showError(error.getMessage());
+            } else {
+                loggingService.logError("SUBPARISH_SAVE_ERROR", error);
+                showError("Ikosa ryabaye: " + error.getMessage());
+            }
+        });
     }
 
     private void showError(String message) {
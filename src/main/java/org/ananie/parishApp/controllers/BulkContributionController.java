@@ -0,0 +1,322 @@
+package org.ananie.parishApp.controllers;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.cell.TextFieldTableCell;
+import javafx.stage.Stage;
+import javafx.util.StringConverter;
+
+import org.ananie.parishApp.dao.FaithfulListProjection;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Contribution;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.services.BECService;
+import org.ananie.parishApp.services.ContributionService;
+import org.ananie.parishApp.services.FaithfulService;
+import org.ananie.parishApp.services.LoggingService;
+import org.ananie.parishApp.services.SubParishService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Grid entry of one BEC's contributions in one go: one row per faithful, blank rows are skipped,
+ * and the filled rows are saved together through {@link ContributionService#saveAll}.
+ */
+@Lazy
+@Component
+public class BulkContributionController {
+
+    @FXML private ComboBox<SubParish> subParishComboBox;
+    @FXML private ComboBox<BEC> becComboBox;
+    @FXML private TextField yearTextField;
+    @FXML private DatePicker datePicker;
+    @FXML private TableView<EntryRow> entryTable;
+    @FXML private TableColumn<EntryRow, String> nameColumn;
+    @FXML private TableColumn<EntryRow, String> amountColumn;
+    @FXML private TableColumn<EntryRow, String> notesColumn;
+    @FXML private Button saveButton;
+    @FXML private Button cancelButton;
+    @FXML private Label totalLabel;
+    @FXML private Label statusLabel;
+
+    private final ContributionService contributionService;
+    private final FaithfulService faithfulService;
+    private final SubParishService subParishService;
+    private final BECService becService;
+    private final LoggingService loggingService;
+    private final BackgroundTaskRunner.TaskScope tasks;
+
+    private Runnable refreshCallback;
+    private BEC pendingBec; // Selected once the BEC list of the preselected sub-parish arrives
+
+    /** One faithful of the grid and what was typed for them. */
+    public static class EntryRow {
+        private final Long faithfulId;
+        private final String name;
+        private final StringProperty amount = new SimpleStringProperty("");
+        private final StringProperty notes = new SimpleStringProperty("");
+
+        EntryRow(Long faithfulId, String name) {
+            this.faithfulId = faithfulId;
+            this.name = name;
+        }
+
+        boolean isFilled() {
+            return !amount.get().isBlank();
+        }
+    }
+
+    @Autowired
+    public BulkContributionController(ContributionService contributionService, FaithfulService faithfulService,
+                                      SubParishService subParishService, BECService becService,
+                                      LoggingService loggingService, BackgroundTaskRunner backgroundTaskRunner) {
+        this.contributionService = contributionService;
+        this.faithfulService = faithfulService;
+        this.subParishService = subParishService;
+        this.becService = becService;
+        this.loggingService = loggingService;
+        this.tasks = backgroundTaskRunner.newScope();
+    }
+
+    @FXML
+    public void initialize() {
+        loggingService.logUserAction("BULK_CONTRIBUTION_FORM", "Bulk contribution form initialized");
+        yearTextField.setText(String.valueOf(LocalDate.now().getYear()));
+        datePicker.setValue(LocalDate.now());
+        statusLabel.setText("");
+        totalLabel.setText("");
+
+        nameColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().name));
+        amountColumn.setCellValueFactory(cell -> cell.getValue().amount);
+        amountColumn.setCellFactory(TextFieldTableCell.forTableColumn());
+        amountColumn.setOnEditCommit(event -> {
+            event.getRowValue().amount.set(event.getNewValue() == null ? "" : event.getNewValue().trim());
+            updateTotal();
+            // Envelope after envelope: Enter moves straight to the next faithful
+            int next = event.getTablePosition().getRow() + 1;
+            if (next < entryTable.getItems().size()) {
+                Platform.runLater(() -> {
+                    entryTable.getSelectionModel().select(next);
+                    entryTable.scrollTo(next);
+                    entryTable.edit(next, amountColumn);
+                });
+            }
+        });
+        notesColumn.setCellValueFactory(cell -> cell.getValue().notes);
+        notesColumn.setCellFactory(TextFieldTableCell.forTableColumn());
+        notesColumn.setOnEditCommit(event -> event.getRowValue().notes.set(
+                event.getNewValue() == null ? "" : event.getNewValue().trim()));
+
+        subParishComboBox.setConverter(new NameConverter<>(SubParish::getName));
+        becComboBox.setConverter(new NameConverter<>(BEC::getName));
+        becComboBox.setDisable(true);
+        tasks.run("subParishes", subParishService::findAllOrderedByName,
+                subParishes -> subParishComboBox.setItems(FXCollections.observableArrayList(subParishes)),
+                error -> loggingService.logError("BULK_CONTRIBUTION_DATA_ERROR", error));
+
+        subParishComboBox.setOnAction(e -> loadBecs(subParishComboBox.getValue()));
+        becComboBox.setOnAction(e -> loadFaithfuls(becComboBox.getValue()));
+        saveButton.setOnAction(e -> saveAll());
+        cancelButton.setOnAction(e -> close());
+    }
+
+    /**
+     * @param subParish optional sub-parish to start with
+     * @param bec optional BEC of that sub-parish to start with
+     */
+    public void initData(SubParish subParish, BEC bec, Runnable refreshCallback) {
+        this.refreshCallback = refreshCallback;
+        if (subParish != null) {
+            pendingBec = bec;
+            subParishComboBox.setValue(subParish); // Fires the action that loads its BECs
+        }
+    }
+
+    private void loadBecs(SubParish subParish) {
+        entryTable.getItems().clear();
+        updateTotal();
+        becComboBox.getItems().clear();
+        if (subParish == null) {
+            tasks.cancel("becs");
+            becComboBox.setDisable(true);
+            return;
+        }
+        tasks.run("becs", () -> becService.findBySubParish(subParish), becs -> {
+            becComboBox.setItems(FXCollections.observableArrayList(becs));
+            becComboBox.setDisable(false);
+            if (pendingBec != null && becs.contains(pendingBec)) {
+                becComboBox.setValue(pendingBec); // Fires the action that loads the faithfuls
+            }
+            pendingBec = null;
+        }, error -> loggingService.logError("BULK_CONTRIBUTION_DATA_ERROR", error));
+    }
+
+    private void loadFaithfuls(BEC bec) {
+        if (bec == null) {
+            tasks.cancel("faithfuls");
+            entryTable.getItems().clear();
+            updateTotal();
+            return;
+        }
+        loggingService.logUserAction("BULK_CONTRIBUTION_BEC", "Selected BEC: " + bec.getName());
+        tasks.run("faithfuls", () -> faithfulService.listByBec(bec), faithfuls -> {
+            List<EntryRow> rows = new ArrayList<>(faithfuls.size());
+            for (FaithfulListProjection faithful : faithfuls) {
+                rows.add(new EntryRow(faithful.getId(), faithful.getName()));
+            }
+            entryTable.setItems(FXCollections.observableArrayList(rows));
+            updateTotal();
+            if (!rows.isEmpty()) {
+                entryTable.getSelectionModel().select(0);
+                entryTable.edit(0, amountColumn);
+            }
+        }, error -> loggingService.logError("BULK_CONTRIBUTION_DATA_ERROR", error));
+    }
+
+    private void saveAll() {
+        statusLabel.setText("");
+        int year;
+        try {
+            year = Integer.parseInt(yearTextField.getText().trim());
+            if (year < 1900 || year > LocalDate.now().getYear() + 5) {
+                throw new NumberFormatException();
+            }
+        } catch (NumberFormatException e) {
+            showError("Shyiramo umwaka mwiza (urugero: " + LocalDate.now().getYear() + ")");
+            return;
+        }
+        LocalDate date = datePicker.getValue();
+        if (date == null) {
+            showError("Shyiramo itariki yo gutanga");
+            return;
+        }
+
+        // Check every filled row before anything is sent
+        List<Contribution> contributions = new ArrayList<>();
+        List<String> invalidNames = new ArrayList<>();
+        for (EntryRow row : entryTable.getItems()) {
+            if (!row.isFilled()) {
+                continue;
+            }
+            BigDecimal amount = parseAmount(row.amount.get());
+            if (amount == null) {
+                invalidNames.add(row.name);
+                continue;
+            }
+            Faithful faithful = new Faithful();
+            faithful.setId(row.faithfulId);
+            contributions.add(new Contribution(faithful, year, amount, date, row.notes.get()));
+        }
+        if (!invalidNames.isEmpty()) {
+            showError("Amafaranga ntiyanditse neza kuri: " + String.join(", ", invalidNames));
+            return;
+        }
+        if (contributions.isEmpty()) {
+            showError("Nta turo ryanditswe");
+            return;
+        }
+
+        saveButton.setDisable(true);
+        long startTime = System.currentTimeMillis();
+        tasks.run("saveAll", () -> contributionService.saveAll(contributions), saved -> {
+            saveButton.setDisable(false);
+            loggingService.logPerformance("Bulk contribution save (" + saved.size() + " rows)",
+                    System.currentTimeMillis() - startTime);
+            loggingService.logUserAction("BULK_CONTRIBUTION_SAVE_SUCCESS",
+                    "Saved " + saved.size() + " contributions for year " + year);
+            showSuccess("Amaturo " + saved.size() + " y'umwaka " + year + " yanditswe neza");
+            for (EntryRow row : entryTable.getItems()) {
+                row.amount.set("");
+                row.notes.set("");
+            }
+            updateTotal();
+            if (refreshCallback != null) {
+                refreshCallback.run();
+            }
+        }, error -> {
+            saveButton.setDisable(false);
+            loggingService.logError("BULK_CONTRIBUTION_SAVE_ERROR", error);
+            showError(error instanceof IllegalArgumentException
+                    ? error.getMessage()
+                    : "Ikosa ritunguranye: " + error.getMessage());
+        });
+    }
+
+    private void updateTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        int filled = 0;
+        for (EntryRow row : entryTable.getItems()) {
+            BigDecimal amount = row.isFilled() ? parseAmount(row.amount.get()) : null;
+            if (amount != null) {
+                total = total.add(amount);
+                filled++;
+            }
+        }
+        totalLabel.setText(filled == 0 ? "" : "Amaturo " + filled + ", yose hamwe: " + total.toPlainString() + " RWF");
+    }
+
+    private static BigDecimal parseAmount(String text) {
+        try {
+            BigDecimal amount = new BigDecimal(text.trim());
+            return amount.compareTo(BigDecimal.ZERO) > 0 ? amount : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void showError(String message) {
+        loggingService.logUserAction("BULK_CONTRIBUTION_FORM_ERROR", message);
+        statusLabel.setText(message);
+        statusLabel.setStyle("-fx-text-fill: red;");
+    }
+
+    private void showSuccess(String message) {
+        statusLabel.setText(message);
+        statusLabel.setStyle("-fx-text-fill: green;");
+    }
+
+    private void close() {
+        loggingService.logUserAction("BULK_CONTRIBUTION_FORM_CLOSE", "Closing bulk contribution form");
+        tasks.cancelAll();
+        Stage stage = (Stage) cancelButton.getScene().getWindow();
+        stage.close();
+    }
+
+    private static final class NameConverter<T> extends StringConverter<T> {
+        private final Function<T, String> name;
+
+        NameConverter(Function<T, String> name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString(T object) {
+            return object == null ? null : name.apply(object);
+        }
+
+        @Override
+        public T fromString(String string) {
+            return null;
+        }
+    }
+}
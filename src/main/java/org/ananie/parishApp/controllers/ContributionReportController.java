@@ -7,6 +7,7 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -19,8 +20,11 @@ import org.ananie.parishApp.services.BECService;
 import org.ananie.parishApp.services.ContributionService;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.services.SubParishService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
+import org.ananie.parishApp.utilities.ContributionExportUtility;
 import org.ananie.parishApp.utilities.ContributionReportPDFUtility;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -29,6 +33,7 @@ import java.net.URL;
 import java.util.List;
 import java.util.ResourceBundle;
 
+@Lazy
 @Component
 public class ContributionReportController implements Initializable {
     private final LoggingService loggingService;
@@ -36,18 +41,28 @@ public class ContributionReportController implements Initializable {
     private final SubParishService subParishService;
     private final BECService becService;
     private final ContributionReportPDFUtility contributionReportPDFUtility;
+    private final ContributionExportUtility contributionExportUtility;
+    private final BackgroundTaskRunner.TaskScope tasks; // The matrix is built off the FX thread
+
+    /** Year axis and rows of one matrix load, delivered together. */
+    private record ContributionMatrix(List<Integer> years, List<FaithfulContributionRow> rows) {
+    }
 
     @Autowired
     public ContributionReportController(ContributionService contributionService,
                                       SubParishService subParishService,
                                       BECService becService, 
                                       ContributionReportPDFUtility contributionReportPDFUtility,
-                                      LoggingService loggingService) {
+                                      ContributionExportUtility contributionExportUtility,
+                                      LoggingService loggingService,
+                                      BackgroundTaskRunner backgroundTaskRunner) {
         this.contributionService = contributionService;
         this.subParishService = subParishService;
         this.becService = becService;
         this.contributionReportPDFUtility = contributionReportPDFUtility;
+        this.contributionExportUtility = contributionExportUtility;
         this.loggingService = loggingService;
+        this.tasks = backgroundTaskRunner.newScope();
         loggingService.logUserAction("Controller Initialization", "ContributionReportController created");
     }
 
@@ -56,17 +71,23 @@ public class ContributionReportController implements Initializable {
     @FXML private TableView<FaithfulContributionRow> contributionTable;
     @FXML private Button clearFilterButton;
     @FXML private Button pdfButton;
+    @FXML private Button exportButton;
+    @FXML private ProgressIndicator busyIndicator;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         loggingService.logUserAction("UI Initialization", "Contribution report UI initializing");
+        if (busyIndicator != null) {
+            busyIndicator.visibleProperty().bind(tasks.busyProperty());
+        }
         initializeData();
     }
 
     private void initializeData() {
         try {
             becComboBox.setDisable(true);
-            subParishComboBox.setItems(FXCollections.observableArrayList(subParishService.findAllOrderedByName()));
+            tasks.run("subParishes", subParishService::findAllOrderedByName,
+                    subParishes -> subParishComboBox.setItems(FXCollections.observableArrayList(subParishes)));
             subParishComboBox.setConverter(new StringConverter<SubParish>() {
                 @Override
                 public String toString(SubParish object) {
@@ -83,8 +104,11 @@ public class ContributionReportController implements Initializable {
                 SubParish selected = subParishComboBox.getValue();
                 if (selected != null) {
                     loggingService.logUserAction("SubParish Selection", "Selected sub-parish: " + selected.getName());
-                    becComboBox.setDisable(false);
-                    becComboBox.setItems(FXCollections.observableArrayList(becService.findBySubParish(selected)));
+                    becComboBox.getItems().clear();
+                    tasks.run("becs", () -> becService.findBySubParish(selected), becs -> {
+                        becComboBox.setItems(FXCollections.observableArrayList(becs));
+                        becComboBox.setDisable(false);
+                    });
                     becComboBox.setConverter(new StringConverter<BEC>() {
                         @Override
                         public String toString(BEC object) {
@@ -98,6 +122,7 @@ public class ContributionReportController implements Initializable {
                     });
                     becComboBox.getSelectionModel().clearSelection();
                 } else {
+                    tasks.cancel("becs");
                     becComboBox.setDisable(true);
                     becComboBox.getItems().clear();
                 }
@@ -113,6 +138,9 @@ public class ContributionReportController implements Initializable {
 
             clearFilterButton.setOnAction(ev -> clearFilters());
             pdfButton.setOnAction(ev -> generatePdf());
+            if (exportButton != null) {
+                exportButton.setOnAction(ev -> exportData());
+            }
             refreshTable();
             
             loggingService.logUserAction("Data Initialization", "Contribution report data initialized successfully");
@@ -139,7 +167,8 @@ public class ContributionReportController implements Initializable {
             String reportTitle = "Imbonerahamwe y'amaturo ya: " + reportGroupText;
             
             long startTime = System.currentTimeMillis();
-            contributionReportPDFUtility.exportReportToPDF(contributionTable, pdfButton.getScene().getWindow(), reportTitle);
+            contributionReportPDFUtility.exportReportToPDF(selectedSubParish, selectedBEC, !contributionTable.getItems().isEmpty(),
+                    pdfButton.getScene().getWindow(), reportTitle);
             long duration = System.currentTimeMillis() - startTime;
             
             loggingService.logPDFGeneration("Contribution Report", reportTitle, true);
@@ -152,6 +181,15 @@ public class ContributionReportController implements Initializable {
             }
     }
 
+    private void exportData() {
+        SubParish selectedSubParish = subParishComboBox.getValue();
+        BEC selectedBEC = becComboBox.getValue();
+        String scopeName = selectedBEC != null ? selectedBEC.getName()
+                : selectedSubParish != null ? selectedSubParish.getName() : "Paruwase MUSHA";
+        loggingService.logUserAction("DATA_EXPORT", "Opened data export for: " + scopeName);
+        contributionExportUtility.exportData(selectedSubParish, selectedBEC, scopeName, exportButton.getScene().getWindow());
+    }
+
     private void clearFilters() {
         loggingService.logUserAction("Filter Clear", "Cleared all filters");
         subParishComboBox.getSelectionModel().clearSelection();
@@ -160,14 +198,23 @@ public class ContributionReportController implements Initializable {
     }
 
     private void refreshTable() {
+        SubParish selectedSubParish = subParishComboBox.getValue();
+        BEC selectedBEC = becComboBox.getValue();
+
+        // A newer filter selection cancels the matrix still being built for the previous one
+        tasks.run("matrix", () -> new ContributionMatrix(
+                contributionService.getAvailableYears(),
+                contributionService.getFilteredContributionMatrix(selectedSubParish, selectedBEC)),
+                this::showMatrix,
+                error -> loggingService.logError("refreshTable", error));
+    }
+
+    private void showMatrix(ContributionMatrix matrix) {
         try {
             contributionTable.getColumns().clear();
 
-            SubParish selectedSubParish = subParishComboBox.getValue();
-            BEC selectedBEC = becComboBox.getValue();
-
-            List<Integer> years = contributionService.getAvailableYears();
-            List<FaithfulContributionRow> rows = contributionService.getFilteredContributionMatrix(selectedSubParish, selectedBEC);
+            List<Integer> years = matrix.years();
+            List<FaithfulContributionRow> rows = matrix.rows();
 
             contributionTable.setItems(FXCollections.observableArrayList(rows));
 
@@ -179,7 +226,7 @@ public class ContributionReportController implements Initializable {
                 TableColumn<FaithfulContributionRow, BigDecimal> yearCol = new TableColumn<>(String.valueOf(year));
                 
                 yearCol.setCellValueFactory(cell -> 
-                    new SimpleObjectProperty<>(cell.getValue().getYearlyContributions().getOrDefault(year, new BigDecimal("0000.00")))
+                    new SimpleObjectProperty<>(cell.getValue().getAmount(year))
                 );
 
                 yearCol.setCellFactory(column -> new TableCell<>() {
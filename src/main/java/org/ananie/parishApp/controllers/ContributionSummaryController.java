@@ -5,6 +5,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
@@ -16,7 +17,9 @@ import org.ananie.parishApp.services.BECService;
 import org.ananie.parishApp.services.ContributionService;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.services.SubParishService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -26,6 +29,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+@Lazy
 @Component
 public class ContributionSummaryController {
     
@@ -33,6 +37,7 @@ public class ContributionSummaryController {
     @FXML private Button refreshSummaryButton;
     @FXML private Button showAllYearsButton;
     @FXML private Button closeButton;
+    @FXML private ProgressIndicator busyIndicator;
     
     @FXML private VBox summaryContentVBox;
     @FXML private Label overallTotalTitleLabel;
@@ -48,18 +53,24 @@ public class ContributionSummaryController {
     private final ContributionService contributionService;
     private final SubParishService subParishService;
     private final LoggingService loggingService;
+    private final BackgroundTaskRunner.TaskScope tasks; // Totals are computed off the FX thread
     @Autowired
     public ContributionSummaryController(ContributionService contributionService,
                                        SubParishService subParishService,
-                                       BECService becService, LoggingService loggingService) {
+                                       BECService becService, LoggingService loggingService,
+                                       BackgroundTaskRunner backgroundTaskRunner) {
         this.contributionService = contributionService;
         this.subParishService = subParishService;
 		this.loggingService = loggingService;
+		this.tasks = backgroundTaskRunner.newScope();
     }
     
     @FXML
     public void initialize() {
     	loggingService.logUserAction("SUMMARY_VIEW", "Contribution summary view initialized");
+    	if (busyIndicator != null) {
+    		busyIndicator.visibleProperty().bind(tasks.busyProperty());
+    	}
         setupYearComboBox();
         setupSubParishComboBox();
         
@@ -86,8 +97,8 @@ public class ContributionSummaryController {
     
     private void setupYearComboBox() {
         // Get available years from contributions
-        List<Integer> availableYears = contributionService.getAvailableYears();
-        yearFilterComboBox.setItems(FXCollections.observableArrayList(availableYears));
+        tasks.run("years", contributionService::getAvailableYears,
+                availableYears -> yearFilterComboBox.setItems(FXCollections.observableArrayList(availableYears)));
         
         yearFilterComboBox.setConverter(new StringConverter<Integer>() {
             @Override
@@ -158,14 +169,16 @@ public class ContributionSummaryController {
     }
     
     private void closeDialog() {
+        tasks.cancelAll();
         Stage stage = (Stage) closeButton.getScene().getWindow();
         stage.close();
     }
     private void setupSubParishComboBox() {
     try {	
-        List<SubParish> subParishes = subParishService.findAllOrderedByName();
-        loggingService.logUserAction("FILTER_SETUP", "Loaded " + subParishes.size() + " sub-parishes for filter");
-        subParishFilterComboBox.setItems(FXCollections.observableArrayList(subParishes));        
+        tasks.run("subParishes", subParishService::findAllOrderedByName, subParishes -> {
+            loggingService.logUserAction("FILTER_SETUP", "Loaded " + subParishes.size() + " sub-parishes for filter");
+            subParishFilterComboBox.setItems(FXCollections.observableArrayList(subParishes));
+        });
         subParishFilterComboBox.setConverter(new StringConverter<SubParish>() {
             @Override
             public String toString(SubParish subParish) {
@@ -225,7 +238,16 @@ public class ContributionSummaryController {
         summaryTitleLabel.setText(titleText);
         dynamicSummaryVBox.getChildren().add(summaryTitleLabel);
         // Get BEC totals for the selected SubParish
-        Map<BEC, BigDecimal> becTotals = contributionService.getTotalsByBecInSubParish(subParish, selectedYear);
+        tasks.run("breakdown", () -> contributionService.getTotalsByBecInSubParish(subParish, selectedYear),
+                becTotals -> showBecTotals(becTotals, selectedYear),
+                error -> loggingService.logError("SUMMARY_DRILLDOWN_ERROR", error));
+      } catch (Exception e) {
+          loggingService.logError("SUMMARY_DRILLDOWN_ERROR", e);
+          e.printStackTrace();
+      }
+     }
+
+    private void showBecTotals(Map<BEC, BigDecimal> becTotals, Integer selectedYear) {
         loggingService.logUserAction("SUMMARY_DRILLDOWN_DATA", "Found " + becTotals.size() + " BECs with contributions");
         if (!becTotals.isEmpty()) {
             for (Map.Entry<BEC, BigDecimal> entry : becTotals.entrySet()) {
@@ -249,11 +271,7 @@ public class ContributionSummaryController {
             noDataLabel.setStyle("-fx-text-fill: #6c757d; -fx-font-style: italic;");
             dynamicSummaryVBox.getChildren().add(noDataLabel);
         }
-      } catch (Exception e) {
-          loggingService.logError("SUMMARY_DRILLDOWN_ERROR", e);
-          e.printStackTrace();
-      }
-     }
+    }
    // method to show SubParish summary:
     	private void showSubParishSummary() {
     	  try {
@@ -274,7 +292,16 @@ public class ContributionSummaryController {
     	    dynamicSummaryVBox.getChildren().add(summaryTitleLabel);
     	    
     	    // Get totals by SubParish for the selected year
-    	    Map<SubParish, BigDecimal> subParishTotals = contributionService.getTotalsBySubParish(selectedYear);
+    	    tasks.run("breakdown", () -> contributionService.getTotalsBySubParish(selectedYear),
+    	            subParishTotals -> showSubParishTotals(subParishTotals, selectedYear),
+    	            error -> loggingService.logError("SUMMARY_DISPLAY_ERROR", error));
+    	  }catch(Exception e) {
+    	    	loggingService.logError("SUMMARY_DISPLAY_ERROR", e);
+    	    	e.printStackTrace();
+    	    }
+    	}
+
+    	private void showSubParishTotals(Map<SubParish, BigDecimal> subParishTotals, Integer selectedYear) {
     	    loggingService.logUserAction("SUMMARY_DATA", "Found " + subParishTotals.size() + " sub-parishes with contributions");
     	    if (!subParishTotals.isEmpty()) {
     	        for (Map.Entry<SubParish, BigDecimal> entry : subParishTotals.entrySet()) {
@@ -298,11 +325,6 @@ public class ContributionSummaryController {
     	        noDataLabel.setStyle("-fx-text-fill: #6c757d; -fx-font-style: italic;");
     	        dynamicSummaryVBox.getChildren().add(noDataLabel);
     	    } 
-    	    
-    	  }catch(Exception e) {
-    	    	loggingService.logError("SUMMARY_DISPLAY_ERROR", e);
-    	    	e.printStackTrace();
-    	    }
     	}
 
    private void loadSummaryForYear(Integer year) {
@@ -318,20 +340,24 @@ public class ContributionSummaryController {
         }
         
         // Get overall total
-        BigDecimal overallTotal = contributionService.getTotalContributions(year);
-        loggingService.logUserAction("SUMMARY_TOTAL", "Calculated overall total: " + formatCurrency(overallTotal));
-        overallTotalAmountLabel.setText(formatCurrency(overallTotal));
+        loadOverallTotal(year);
         
         showSubParishSummary();
          } catch(Exception ex ) {
         	 loggingService.logError("SUMMARY_LOAD_ERROR", ex);
         	 ex.printStackTrace();         }
         }
+    private void loadOverallTotal(Integer year) {
+        tasks.run("overallTotal", () -> contributionService.getTotalContributions(year), overallTotal -> {
+            loggingService.logUserAction("SUMMARY_TOTAL", "Calculated overall total: " + formatCurrency(overallTotal));
+            overallTotalAmountLabel.setText(formatCurrency(overallTotal));
+        }, error -> loggingService.logError("SUMMARY_LOAD_ERROR", error));
+    }
+
     private void refreshCurrentView() {
         // 1. Update overall total for new year
         Integer selectedYear = yearFilterComboBox.getValue();
-        BigDecimal overallTotal = contributionService.getTotalContributions(selectedYear);
-        overallTotalAmountLabel.setText(formatCurrency(overallTotal));
+        loadOverallTotal(selectedYear);
         
         // 2. Update overall title
         if (selectedYear != null) {
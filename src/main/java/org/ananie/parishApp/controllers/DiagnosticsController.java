@@ -0,0 +1,166 @@
+package org.ananie.parishApp.controllers;
+
+import java.io.File;
+import java.net.URL;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.function.ToDoubleFunction;
+
+import org.ananie.parishApp.metrics.LatencyHistogram;
+import org.ananie.parishApp.metrics.MetricsRegistry;
+import org.ananie.parishApp.metrics.SystemDiagnostics;
+import org.ananie.parishApp.services.LoggingService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+
+/**
+ * Live view of method latencies, Hibernate statistics and connection pool usage.
+ * One instance per window, each with its own refresh timeline.
+ */
+@Lazy
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class DiagnosticsController implements Initializable {
+
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(2);
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    @FXML private Button exportCsvButton;
+    @FXML private CheckBox perCallLoggingCheckBox;
+    @FXML private Label updatedLabel;
+
+    @FXML private TableView<LatencyHistogram.Snapshot> methodTable;
+    @FXML private TableColumn<LatencyHistogram.Snapshot, String> methodNameColumn;
+    @FXML private TableColumn<LatencyHistogram.Snapshot, Long> callsColumn;
+    @FXML private TableColumn<LatencyHistogram.Snapshot, Long> errorsColumn;
+    @FXML private TableColumn<LatencyHistogram.Snapshot, String> p50Column;
+    @FXML private TableColumn<LatencyHistogram.Snapshot, String> p95Column;
+    @FXML private TableColumn<LatencyHistogram.Snapshot, String> p99Column;
+    @FXML private TableColumn<LatencyHistogram.Snapshot, String> maxColumn;
+
+    @FXML private TableView<SystemDiagnostics.Gauge> gaugeTable;
+    @FXML private TableColumn<SystemDiagnostics.Gauge, String> gaugeGroupColumn;
+    @FXML private TableColumn<SystemDiagnostics.Gauge, String> gaugeNameColumn;
+    @FXML private TableColumn<SystemDiagnostics.Gauge, String> gaugeValueColumn;
+
+    private final SystemDiagnostics systemDiagnostics;
+    private final MetricsRegistry metricsRegistry;
+    private final LoggingService loggingService;
+    private final BackgroundTaskRunner.TaskScope tasks;
+
+    private Timeline refreshTimeline;
+
+    private record Figures(List<LatencyHistogram.Snapshot> methods, List<SystemDiagnostics.Gauge> gauges) {
+    }
+
+    @Autowired
+    public DiagnosticsController(SystemDiagnostics systemDiagnostics, MetricsRegistry metricsRegistry,
+                                 LoggingService loggingService, BackgroundTaskRunner backgroundTaskRunner) {
+        this.systemDiagnostics = systemDiagnostics;
+        this.metricsRegistry = metricsRegistry;
+        this.loggingService = loggingService;
+        this.tasks = backgroundTaskRunner.newScope();
+    }
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        methodNameColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().name()));
+        callsColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().count()));
+        errorsColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue().errors()));
+        millisColumn(p50Column, LatencyHistogram.Snapshot::p50Millis);
+        millisColumn(p95Column, LatencyHistogram.Snapshot::p95Millis);
+        millisColumn(p99Column, LatencyHistogram.Snapshot::p99Millis);
+        millisColumn(maxColumn, LatencyHistogram.Snapshot::maxMillis);
+
+        gaugeGroupColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().group()));
+        gaugeNameColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().name()));
+        gaugeValueColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().value()));
+
+        perCallLoggingCheckBox.setSelected(metricsRegistry.isPerCallLogging());
+        perCallLoggingCheckBox.selectedProperty().addListener((obs, was, selected) ->
+                metricsRegistry.setPerCallLogging(selected)); // Logged by the registry
+        exportCsvButton.setOnAction(event -> exportCsv());
+
+        refreshTimeline = new Timeline(new KeyFrame(REFRESH_INTERVAL, event -> refresh()));
+        refreshTimeline.setCycleCount(Timeline.INDEFINITE);
+        refresh();
+        refreshTimeline.play();
+    }
+
+    /**
+     * Stops the live refresh; called when the diagnostics window closes.
+     */
+    public void stop() {
+        if (refreshTimeline != null) {
+            refreshTimeline.stop();
+        }
+        tasks.cancelAll();
+    }
+
+    private void refresh() {
+        tasks.run("refresh",
+                () -> new Figures(systemDiagnostics.methodLatencies(), systemDiagnostics.gauges()),
+                figures -> {
+                    methodTable.getItems().setAll(figures.methods());
+                    gaugeTable.getItems().setAll(figures.gauges());
+                    updatedLabel.setText("Byavuguruwe: " + LocalTime.now().format(TIME_FORMAT));
+                });
+    }
+
+    private void exportCsv() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Bika imibare y'imikorere");
+        fileChooser.setInitialFileName("imikorere_" + LocalTime.now().format(DateTimeFormatter.ofPattern("HHmmss")) + ".csv");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showSaveDialog(methodTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        tasks.run("export", () -> {
+            systemDiagnostics.exportCsv(file.toPath());
+            return file;
+        }, saved -> {
+            loggingService.logUserAction("DIAGNOSTICS_EXPORT", "Exported diagnostics to " + saved.getAbsolutePath());
+            showAlert(Alert.AlertType.INFORMATION, "Byabitswe", "Imibare yabitswe muri " + saved.getName());
+        }, error -> {
+            loggingService.logError("DIAGNOSTICS_EXPORT", error);
+            showAlert(Alert.AlertType.ERROR, "Ikosa", "Ntibyashobotse kubika: " + error.getMessage());
+        });
+    }
+
+    private static void millisColumn(TableColumn<LatencyHistogram.Snapshot, String> column,
+                                     ToDoubleFunction<LatencyHistogram.Snapshot> value) {
+        column.setCellValueFactory(cell ->
+                new ReadOnlyStringWrapper(String.format(Locale.ROOT, "%.2f", value.applyAsDouble(cell.getValue()))));
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String message) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -1,5 +1,6 @@
 package org.ananie.parishApp.controllers;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -13,31 +14,39 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import javafx.util.StringConverter;
 
+import org.ananie.parishApp.dao.FaithfulListProjection;
 import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.Contribution;
 import org.ananie.parishApp.model.Faithful;
 import org.ananie.parishApp.model.SubParish;
 import org.ananie.parishApp.services.BECService;
 import org.ananie.parishApp.services.ContributionService;
+import org.ananie.parishApp.services.FaithfulNameIndex;
 import org.ananie.parishApp.services.FaithfulService;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.services.SubParishService;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
 import org.ananie.parishApp.utilities.FaithfulPDFUtility;
+import org.ananie.parishApp.utilities.HistoryImportUtility;
+import org.ananie.parishApp.utilities.KeysetPagingDataSource;
 import org.ananie.parishApp.utilities.ViewPaths;
-import org.hibernate.ObjectNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
+@Lazy
 @Component
 public class FaithfulContributionsManagerController {
 
@@ -49,13 +58,14 @@ public class FaithfulContributionsManagerController {
     @FXML private Button homeButton;
     @FXML private Button showSummaryButton; 
     @FXML private Button overallSummaryButton;
+    @FXML private ProgressIndicator busyIndicator;
     @FXML private VBox rootPane;
     
     // Faithfuls Table
-    @FXML private TableView<Faithful> faithfulsTable;
-    @FXML private TableColumn<Faithful, String> faithfulNameCol;
-    @FXML private TableColumn<Faithful, String> faithfulBecCol;
-    @FXML private TableColumn<Faithful, String> faithfulSubParishCol;
+    @FXML private TableView<FaithfulListProjection> faithfulsTable;
+    @FXML private TableColumn<FaithfulListProjection, String> faithfulNameCol;
+    @FXML private TableColumn<FaithfulListProjection, String> faithfulBecCol;
+    @FXML private TableColumn<FaithfulListProjection, String> faithfulSubParishCol;
 
     // Faithful Details
     @FXML private Label detailNameLabel;
@@ -82,19 +92,36 @@ public class FaithfulContributionsManagerController {
     @FXML private Button editContributionBtn;
     @FXML private Button deleteContributionBtn;
     @FXML private Button generatePDFBtn1;
+    @FXML private Button exportAllSheetsBtn;
+    @FXML private Button bulkContributionBtn;
+    @FXML private Button importHistoryBtn;
     
     private final FaithfulService faithfulService;
     private final ContributionService contributionService;
     private final SubParishService subParishService;
     private final BECService becService;
     private final FaithfulPDFUtility faithfulPDFUtility;
+    private final HistoryImportUtility historyImportUtility;
     private final LoggingService loggingService;
     private final ApplicationContext applicationContext; // For loading other controllers
+    private final BackgroundTaskRunner.TaskScope tasks; // Service calls of this screen run off the FX thread
 
-    private ObservableList<Faithful> faithfulsData;
+    // Rows are fetched from the database one window at a time while scrolling
+    private static final int FAITHFUL_PAGE_SIZE = 200;
+    // Search once typing pauses instead of on every keystroke
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(250);
+
+    private ObservableList<FaithfulListProjection> faithfulsData;
+    private KeysetPagingDataSource<FaithfulListProjection> faithfulsPager;
     private ObservableList<Contribution> contributionsData;
+    private PauseTransition searchDebounce;
+
+    // Scope and name filter behind the rows currently in the table
+    private SubParish appliedSubParish;
+    private BEC appliedBec;
+    private String appliedSearch;
 
-    private Faithful selectedFaithfulInTable; // Holds the currently selected faithful
+    private Faithful selectedFaithfulInTable; // Full entity of the selected row, loaded on selection
 	private HomePageController homePageController;
 	
     @Autowired // Constructor injection
@@ -102,14 +129,18 @@ public class FaithfulContributionsManagerController {
                                                 ContributionService contributionService,
                                                 SubParishService subParishService,
                                                 BECService becService,FaithfulPDFUtility faithfulPDFUtility,
-                                                LoggingService loggingService,ApplicationContext applicationContext) {
+                                                HistoryImportUtility historyImportUtility,
+                                                LoggingService loggingService,ApplicationContext applicationContext,
+                                                BackgroundTaskRunner backgroundTaskRunner) {
         this.faithfulService = faithfulService;
         this.contributionService = contributionService;
         this.subParishService = subParishService;
         this.becService = becService;
         this.faithfulPDFUtility = faithfulPDFUtility;
+        this.historyImportUtility = historyImportUtility;
 		this.loggingService = loggingService;
         this.applicationContext = applicationContext;
+        this.tasks = backgroundTaskRunner.newScope();
     }
 
     @FXML
@@ -119,6 +150,9 @@ public class FaithfulContributionsManagerController {
     	// initialize the ObservableLists that will be used by Tables
     	faithfulsData = FXCollections.observableArrayList();
     	contributionsData = FXCollections.observableArrayList();
+    	if (busyIndicator != null) {
+    		busyIndicator.visibleProperty().bind(tasks.busyProperty());
+    	}
         // --- Initialize Tables and Columns ---
         setupFaithfulsTable();
         setupContributionsTable();
@@ -133,25 +167,32 @@ public class FaithfulContributionsManagerController {
             filterFaithfuls(); // Re-filter faithfuls table
         });
         filterBecComboBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> filterFaithfuls());
-        searchFaithfulTextField.textProperty().addListener((obs, oldVal, newVal) -> filterFaithfuls());
+        searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+        searchDebounce.setOnFinished(event -> searchFaithfuls());
+        searchFaithfulTextField.textProperty().addListener((obs, oldVal, newVal) -> searchDebounce.playFromStart());
         clearFiltersButton.setOnAction(event -> clearFilters());
 
         // Listener for Faithfuls Table selection
         faithfulsTable.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
-            selectedFaithfulInTable = newVal;
-            if (newVal != null) {
-            	loggingService.logUserAction("FAITHFUL_SELECTED","Selected faithful: " + newVal.getName());
-            	
-                displayFaithfulDetails(newVal);
-                refreshContributionsTable(newVal); // Load contributions for selected faithful
+            // Only the selected row is hydrated into a full entity, in the background
+            selectedFaithfulInTable = null;
+            clearFaithfulSelection();
+            if (newVal == null) {
+                tasks.cancel("selectedFaithful");
+                return;
+            }
+            tasks.run("selectedFaithful", () -> faithfulService.findById(newVal.getId()).orElse(null), faithful -> {
+                selectedFaithfulInTable = faithful;
+                if (faithful == null) {
+                    return;
+                }
+                loggingService.logUserAction("FAITHFUL_SELECTED","Selected faithful: " + newVal.getName());
+
+                displayFaithfulDetails(faithful);
+                refreshContributionsTable(faithful); // Load contributions for selected faithful
                 enableFaithfulActionButtons(true);
                 addContributionForSelectedBtn.setDisable(false); // Enable add contribution for selected
-            } else {
-                clearFaithfulDetails();
-                contributionsTable.getItems().clear(); // Clear contributions table
-                enableFaithfulActionButtons(false);
-                addContributionForSelectedBtn.setDisable(true);
-            }
+            });
         });
 
         // Listener for Contributions Table selection (for Edit/Delete Contribution)
@@ -168,9 +209,8 @@ public class FaithfulContributionsManagerController {
         // --- Set up Buttons Actions ---
         addNewFaithfulBtn.setOnAction(event -> openAddEditFaithfulForm(null)); // Open in add mode
         editFaithfulBtn.setOnAction(event -> {
-            Faithful selected = faithfulsTable.getSelectionModel().getSelectedItem();
-            if (selected != null) {
-                openAddEditFaithfulForm(selected); // Open in edit mode
+            if (selectedFaithfulInTable != null) {
+                openAddEditFaithfulForm(selectedFaithfulInTable); // Open in edit mode
             } else {
                 showAlert(AlertType.WARNING, "Nta mukristu wahisemo", "Hitamo umukristu kuri liste");
             }
@@ -215,6 +255,20 @@ public class FaithfulContributionsManagerController {
             	loggingService.logUserAction("PDF_EXPORT", "Attempted PDF export");
             	handlePDFExportWithLogo();});
         }
+        if (exportAllSheetsBtn != null) {
+            exportAllSheetsBtn.setOnAction(event -> {
+                loggingService.logUserAction("PDF_EXPORT", "Attempted batch sheet export");
+                // Same scope as the faithful list currently shown
+                faithfulPDFUtility.exportSheetsBatch(appliedSubParish, appliedBec, exportAllSheetsBtn.getScene().getWindow());});
+        }
+        
+        if (bulkContributionBtn != null) {
+            bulkContributionBtn.setOnAction(event -> openBulkContributionForm());
+        }
+        if (importHistoryBtn != null) {
+            importHistoryBtn.setOnAction(event ->
+                    historyImportUtility.importHistory(importHistoryBtn.getScene().getWindow(), this::refreshFaithfulsTable));
+        }
         
         // Initially disable action buttons until a selection is made
         enableFaithfulActionButtons(false);
@@ -285,28 +339,19 @@ public class FaithfulContributionsManagerController {
 
     // --- Table Setup Methods ---
     private void setupFaithfulsTable() {
-        faithfulNameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
+        // Rows are read-only projections, so read their getters directly
+        faithfulNameCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName()));
         //Display BEC name
-        faithfulBecCol.setCellValueFactory(cellData -> {
-            Faithful faithful = cellData.getValue();
-            if (faithful == null) return new SimpleStringProperty("N/A");
-            
-            try {
-                BEC bec = faithful.getBec();
-                return new SimpleStringProperty(bec != null ? bec.getName() : "N/A");
-            } catch (ObjectNotFoundException e) {
-            	loggingService.logError("OPERATION (setupFaithfulsTable) FAILED", e);
-                return new SimpleStringProperty("N/A");
-            }
-        });
+        faithfulBecCol.setCellValueFactory(cellData ->
+            new SimpleStringProperty(cellData.getValue().getBecName() != null ? cellData.getValue().getBecName() : "N/A"));
         
         // Display Sub-Parish name (through BEC)
         faithfulSubParishCol.setCellValueFactory(cellData ->
-            new SimpleStringProperty(cellData.getValue().getBec() != null && cellData.getValue().getBec().getSubParish() != null ?
-                                     cellData.getValue().getBec().getSubParish().getName() : "N/A"));
+            new SimpleStringProperty(cellData.getValue().getSubParishName() != null ? cellData.getValue().getSubParishName() : "N/A"));
 
         faithfulsTable.setItems(faithfulsData);
         faithfulsTable.setPlaceholder(new Label("Nta bakristu bagaragara"));
+        faithfulsPager = new KeysetPagingDataSource<>(faithfulsTable, faithfulsData, FAITHFUL_PAGE_SIZE, tasks, "faithfulsPage");
     }
 
     private void setupContributionsTable() {
@@ -320,7 +365,10 @@ public class FaithfulContributionsManagerController {
 
     // --- Data Population & Filtering Methods ---
     public void populateFilterSubParishComboBox() {
-        List<SubParish> subParishes = subParishService.findAllOrderedByName();
+        tasks.run("subParishes", subParishService::findAllOrderedByName, this::showFilterSubParishes);
+    }
+
+    private void showFilterSubParishes(List<SubParish> subParishes) {
         filterSubParishComboBox.setItems(FXCollections.observableArrayList(subParishes));
         filterSubParishComboBox.setConverter(new StringConverter<SubParish>() {
 
@@ -342,8 +390,11 @@ public class FaithfulContributionsManagerController {
     public void populateFilterBecComboBox(SubParish subParish) {
         filterBecComboBox.getItems().clear();
         filterBecComboBox.setDisable(true); // Disable until a SubParish is selected
-        if (subParish != null) {
-            List<BEC> becs = becService.findBySubParish(subParish);
+        if (subParish == null) {
+            tasks.cancel("becs");
+            return;
+        }
+        tasks.run("becs", () -> becService.findBySubParish(subParish), becs -> {
             filterBecComboBox.setItems(FXCollections.observableArrayList(becs));
             filterBecComboBox.setConverter( new StringConverter<BEC> () {
 
@@ -359,12 +410,14 @@ public class FaithfulContributionsManagerController {
             });
             filterBecComboBox.setDisable(false); // Enable once populated
             filterBecComboBox.getSelectionModel().clearSelection();
-        }
+        });
     }
 
     public void populateAllFaithfuls() {
-        List<Faithful> allFaithfuls = faithfulService.findAll();
-        faithfulsData.setAll(allFaithfuls);
+        appliedSubParish = null;
+        appliedBec = null;
+        appliedSearch = "";
+        faithfulsPager.reset((lastRow, pageSize) -> faithfulService.listPage(null, null, null, lastRow, pageSize));
     }
 
     private void filterFaithfuls() {
@@ -384,26 +437,48 @@ public class FaithfulContributionsManagerController {
         	    ", BEC: " + (selectedBec != null ? selectedBec.getName() : "None") + 
         	    ", Search: " + (searchText != null ? searchText : "None"));
         
-        List<Faithful> filteredList;
+        // Scope and name filter are applied in the query; rows arrive page by page while scrolling
+        BEC becScope = selectedSubParish != null ? selectedBec : null;
+        searchDebounce.stop();
+        appliedSubParish = selectedSubParish;
+        appliedBec = becScope;
+        appliedSearch = normalizeSearch(searchText);
+        faithfulsPager.reset((lastRow, pageSize) ->
+            faithfulService.listPage(selectedSubParish, becScope, searchText, lastRow, pageSize));
+    }
 
-        if (selectedSubParish != null && selectedBec != null) {
-            filteredList = faithfulService.findByBec(selectedBec);
-        } else if (selectedSubParish != null) {
-            filteredList = faithfulService.findBySubParish(selectedSubParish);
-        } else {
-            filteredList = faithfulService.findAll(); // No sub-parish filter
+    /**
+     * Runs when typing pauses. A query that only extends the previous one narrows
+     * the rows already loaded; anything wider goes back to the database.
+     */
+    private void searchFaithfuls() {
+        SubParish selectedSubParish = filterSubParishComboBox.getSelectionModel().getSelectedItem();
+        BEC becScope = selectedSubParish != null ? filterBecComboBox.getSelectionModel().getSelectedItem() : null;
+        String search = normalizeSearch(searchFaithfulTextField.getText());
+
+        boolean sameScope = Objects.equals(selectedSubParish, appliedSubParish) && Objects.equals(becScope, appliedBec);
+        // The name index and the LIKE query match and order rows differently, so never refine across them
+        boolean indexed = faithfulService.usesNameIndex(selectedSubParish, becScope, search);
+        if (!sameScope || appliedSearch == null || !search.contains(appliedSearch)
+                || indexed != faithfulService.usesNameIndex(selectedSubParish, becScope, appliedSearch)) {
+            filterFaithfuls();
+            return;
         }
-
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            String lowerCaseSearchText = searchText.trim().toLowerCase();
-            filteredList = filteredList.stream()
-                .filter(f -> f.getName().toLowerCase().contains(lowerCaseSearchText) ||
-                             (f.getContactNumber() != null && f.getContactNumber().toLowerCase().contains(lowerCaseSearchText)) ||
-                             (f.getAddress() != null && f.getAddress().toLowerCase().contains(lowerCaseSearchText)) ||
-                             (f.getOccupation() != null && f.getOccupation().toLowerCase().contains(lowerCaseSearchText)))
-                .toList();
+        if (search.equals(appliedSearch)) {
+            return;
         }
-        faithfulsData.setAll(filteredList);
+
+        loggingService.logUserAction("SEARCH_REFINED", "Narrowed faithful search from '" + appliedSearch + "' to '" + search + "'");
+        appliedSearch = search;
+        String folded = FaithfulNameIndex.normalize(search);
+        faithfulsPager.refine(row -> row.getName() != null && (indexed
+                ? FaithfulNameIndex.normalize(row.getName()).contains(folded)
+                : row.getName().toLowerCase().contains(search)),
+            (lastRow, pageSize) -> faithfulService.listPage(selectedSubParish, becScope, search, lastRow, pageSize));
+    }
+
+    private static String normalizeSearch(String text) {
+        return text == null ? "" : text.trim().toLowerCase();
     }
 
     private void clearFilters() {
@@ -426,6 +501,13 @@ public class FaithfulContributionsManagerController {
         detailOccupationLabel.setText(faithful.getOccupation() != null ? faithful.getOccupation() : "N/A");
     }
 
+    private void clearFaithfulSelection() {
+        clearFaithfulDetails();
+        contributionsData.clear(); // Clear contributions table
+        enableFaithfulActionButtons(false);
+        addContributionForSelectedBtn.setDisable(true);
+    }
+
     private void clearFaithfulDetails() {
         detailNameLabel.setText("");
         detailContactLabel.setText("");
@@ -448,7 +530,7 @@ public class FaithfulContributionsManagerController {
     }
    
     private void deleteSelectedFaithful() {
-        Faithful selected = faithfulsTable.getSelectionModel().getSelectedItem();
+        FaithfulListProjection selected = faithfulsTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             showAlert(AlertType.WARNING, "HITAMO", "Please! Hitamo witonze uwo ushaka gusiba.");
             return;
@@ -469,58 +551,22 @@ public class FaithfulContributionsManagerController {
         Optional<ButtonType> result = confirmAlert.showAndWait();
 
         if (result.isPresent() && result.get() == deleteButton) {
-            try {
-                loggingService.logUserAction("FAITHFUL_DELETE", "Starting delete for faithful ID: " + selected.getId());
-                
-                // Debug: Log table size before deletion
-                int sizeBeforeDelete = faithfulsTable.getItems().size();
-                loggingService.logUserAction("DELETE_DEBUG", "Table size before delete: " + sizeBeforeDelete);
+            loggingService.logUserAction("FAITHFUL_DELETE", "Starting delete for faithful ID: " + selected.getId());
+            tasks.run("deleteFaithful", () -> {
                 // First delete all contributions for this faithful
                 contributionService.delete(selected.getId());
-                
+
                 // Call the delete service
                 faithfulService.deleteFaithful(selected.getId());
-                
-                loggingService.logUserAction("FAITHFUL_DELETE", "faithfulService.delete() completed for ID: " + selected.getId());
-                
-                refreshFaithfulsTable();
-                // Debug: Check if faithful still exists in database
-                try {
-                    Optional<Faithful> checkDeleted = faithfulService.findById(selected.getId());
-                    if (checkDeleted != null) {
-                        loggingService.logUserAction("DELETE_WARNING", "Faithful still exists in database after delete! ID: " + selected.getId());
-                    } else {
-                        loggingService.logUserAction("DELETE_SUCCESS", "Faithful successfully removed from database. ID: " + selected.getId());
-                    }
-                } catch (Exception checkEx) {
-                    loggingService.logUserAction("DELETE_SUCCESS", "Faithful not found in database (good - means deleted). ID: " + selected.getId());
-                }
-                
-                // Refresh the table
-                loggingService.logUserAction("DELETE_DEBUG", "Starting table refresh...");
+                return selected.getId();
+            }, deletedId -> {
+                loggingService.logUserAction("FAITHFUL_DELETE", "faithfulService.delete() completed for ID: " + deletedId);
                 refreshFaithfulsTable();
-                
-                // Debug: Log table size after refresh
-                int sizeAfterRefresh = faithfulsTable.getItems().size();
-                loggingService.logUserAction("DELETE_DEBUG", "Table size after refresh: " + sizeAfterRefresh);
-                
-                // Check if the deleted item is still in the table
-                boolean stillInTable = faithfulsTable.getItems().stream()
-                    .anyMatch(f -> f.getId().equals(selected.getId()));
-                
-                if (stillInTable) {
-                    loggingService.logUserAction("DELETE_ERROR", "Faithful still appears in table after refresh! ID: " + selected.getId());
-                } else {
-                    loggingService.logUserAction("DELETE_SUCCESS", "Faithful removed from table successfully. ID: " + selected.getId());
-                }
-                
                 showAlert(AlertType.INFORMATION, "Byakunze", selected.getName() + " yasibwe burundu");
-                
-            } catch (Exception e) {
-                loggingService.logError("OPERATION (deleteSelectedFaithful) FAILED", e);
-                showAlert(AlertType.ERROR, "BYANZE", "Gusiba uyu muntu ntibikunze: " + e.getMessage());
-                e.printStackTrace();
-            }
+            }, error -> {
+                loggingService.logError("OPERATION (deleteSelectedFaithful) FAILED", error);
+                showAlert(AlertType.ERROR, "BYANZE", "Gusiba uyu muntu ntibikunze: " + error.getMessage());
+            });
         } else {
             loggingService.logUserAction("FAITHFUL_DELETE_CANCELLED", "User cancelled deletion of faithful: " + selected.getName());
         }
@@ -530,9 +576,9 @@ public class FaithfulContributionsManagerController {
     // This method is public so other controllers can call it to refresh the contributions table
     public void refreshContributionsTable(Faithful faithful) {
         if (faithful != null) {
-            List<Contribution> contributions = contributionService.findByFaithful(faithful);
-            contributionsData.setAll(contributions);
+            tasks.run("contributions", () -> contributionService.findByFaithful(faithful), contributionsData::setAll);
         } else {
+            tasks.cancel("contributions");
             contributionsData.clear();
         }
     }
@@ -555,17 +601,18 @@ public class FaithfulContributionsManagerController {
         Optional<ButtonType> result = confirmAlert.showAndWait();
 
         if (result.isPresent() && result.get() == openButton ) {
-            try {
-            	loggingService.logUserAction("CONTRIBUTION_DELETE", 
-            		    "Attempted to delete contribution: " + selectedContribution.getAmount() + " for " + selectedContribution.getFaithful().getName());
+            loggingService.logUserAction("CONTRIBUTION_DELETE", 
+                "Attempted to delete contribution: " + selectedContribution.getAmount() + " for " + selectedContribution.getFaithful().getName());
+            tasks.run("deleteContribution", () -> {
                 contributionService.delete(selectedContribution.getId());
+                return selectedContribution.getId();
+            }, deletedId -> {
                 showAlert(AlertType.INFORMATION, "Byakunze", "Ituro ryasibwe neza");
                 refreshContributionsTable(selectedFaithfulInTable); // Refresh only contributions for current faithful
-            } catch (Exception e) {
-            	loggingService.logError("OPERATION (deleteSelectedContribution) FAILED", e);
-                showAlert(AlertType.ERROR, "BYANZE", "Gusiba ituro byanze: " + e.getMessage());
-                e.printStackTrace();
-            }
+            }, error -> {
+                loggingService.logError("OPERATION (deleteSelectedContribution) FAILED", error);
+                showAlert(AlertType.ERROR, "BYANZE", "Gusiba ituro byanze: " + error.getMessage());
+            });
         }
     }
 
@@ -638,6 +685,34 @@ public class FaithfulContributionsManagerController {
             e.printStackTrace();
         }
     }
+    private void openBulkContributionForm() {
+        try {
+            loggingService.logUserAction("CONTRIBUTION_BULK_ADD", "Opened bulk contribution form");
+            FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource(ViewPaths.BULK_CONTRIBUTION));
+            fxmlLoader.setControllerFactory(applicationContext::getBean);
+
+            Parent root = fxmlLoader.load();
+            BulkContributionController controller = fxmlLoader.getController();
+            // Start from the BEC the list is filtered on, if any
+            controller.initData(appliedBec != null ? appliedBec.getSubParish() : appliedSubParish, appliedBec, () -> {
+                if (selectedFaithfulInTable != null) {
+                    refreshContributionsTable(selectedFaithfulInTable);
+                }
+            });
+
+            Stage stage = new Stage();
+            stage.initModality(Modality.APPLICATION_MODAL);
+            stage.setTitle("Amaturo menshi");
+            Scene scene = new Scene(root);
+            scene.getStylesheets().add(getClass().getResource(ViewPaths.STYLE).toExternalForm());
+            stage.setScene(scene);
+            stage.showAndWait();
+        } catch (IOException e) {
+            loggingService.logError("OPERATION (openBulkContributionForm) FAILED", e);
+            showAlert(AlertType.ERROR, "AKABAZO MU KUZANA FOMU", " Fomu buzuzaho amaturo ntiraza: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
     /**
      * PDF export with custom logo 
      */
@@ -11,6 +11,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.net.URL;
@@ -20,6 +21,7 @@ import org.ananie.parishApp.model.SubParish;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.utilities.ViewPaths; 
 
+@Lazy
 @Component
 public class HomePageController {
 
@@ -31,11 +33,14 @@ public class HomePageController {
     @FXML private Button addSubParishBtn;
     @FXML private Button addBECBtn;
     @FXML private Button logoutButton;
+    @FXML private Button diagnosticsButton;
     
     // This instance will be set AFTER FaithfulContributionsManager.fxml is loaded
     private FaithfulContributionsManagerController faithfulManagerControllerInstance;
     //Field to store the original content of the StackPane
     private Parent initialContentArea;
+    // Open diagnostics window, brought to the front instead of opening a second one
+    private Stage diagnosticsStage;
     private final LoggingService loggingService;
     private final ApplicationContext applicationContext;
     // Constructor injection for ApplicationContext
@@ -69,6 +74,11 @@ public class HomePageController {
             openAddBECDialog(null);
         });
         
+        diagnosticsButton.setOnAction(event -> {
+            loggingService.logUserAction("NAVIGATION", "Opened diagnostics window");
+            openDiagnosticsWindow();
+        });
+        
         logoutButton.setOnAction(e -> {
         	loggingService.logUserAction("NAVIGATION", "the user loggged out");
         	try {
@@ -275,4 +285,39 @@ FXMLLoader loader = new FXMLLoader(getClass().getResource(ViewPaths.LOGIN));
      }
  }
 
+ // Non-modal so the figures stay visible while the rest of the application is used
+ private void openDiagnosticsWindow() {
+     if (diagnosticsStage != null) {
+         diagnosticsStage.setIconified(false);
+         diagnosticsStage.toFront();
+         diagnosticsStage.requestFocus();
+         return;
+     }
+     try {
+         FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource(ViewPaths.DIAGNOSTICS));
+         fxmlLoader.setControllerFactory(applicationContext::getBean);
+
+         Parent root = fxmlLoader.load();
+         DiagnosticsController controller = fxmlLoader.getController();
+
+         Stage stage = new Stage();
+         stage.setTitle("Imikorere ya porogaramu");
+         Scene scene = new Scene(root);
+         scene.getStylesheets().add(getClass().getResource(ViewPaths.STYLE).toExternalForm());
+         stage.setScene(scene);
+         stage.setOnHidden(event -> {
+             controller.stop();
+             diagnosticsStage = null;
+             loggingService.logUserAction("DIALOG_CLOSE", "Diagnostics window closed");
+         });
+         diagnosticsStage = stage;
+         stage.show();
+
+     } catch (IOException e) {
+    	 loggingService.logError("DIALOG_OPEN_FAILED", e);
+         System.err.println( e.getMessage());
+         e.printStackTrace();
+     }
+ }
+
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package org.ananie.parishApp.controllers;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
+import org.ananie.parishApp.configurations.ContextBootstrap;
 import org.ananie.parishApp.security.CustomUserDetails;
 import org.ananie.parishApp.services.LoggingService;
 import org.ananie.parishApp.services.SecurityUserService; // Assuming this is your custom interface
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
 import org.ananie.parishApp.utilities.ViewPaths;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -20,12 +24,18 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 
+/**
+ * The first screen. At launch it is created before the Spring context exists (see {@link ContextBootstrap}),
+ * so it takes its services from the context once that is ready; a login made earlier waits for it.
+ */
+@Lazy
 @Component
 public class LoginController {
     @FXML private Label usernameLabel;
@@ -37,19 +47,22 @@ public class LoginController {
     @FXML private TextField passwordTextField;
     @FXML private ToggleButton togglePasswordButton;
     @FXML private StackPane passwordContainer;
+    @FXML private ProgressIndicator bootProgress;
+    @FXML private Label bootStatusLabel;
 
-    private final ApplicationContext applicationContext;
-    private final AuthenticationManager authenticationManager;
-    private final SecurityUserService customUserDetailsService;
-    private final LoggingService loggingService;
+    private final ContextBootstrap bootstrap;
+    // Set once the context is ready, on the FX thread
+    private ApplicationContext applicationContext;
+    private AuthenticationManager authenticationManager;
+    private SecurityUserService customUserDetailsService;
+    private LoggingService loggingService;
+    private BackgroundTaskRunner.TaskScope tasks; // Password hashing runs off the FX thread
+    private boolean loginWaiting = false;
     private boolean passwordVisible = false;
     
     
-    public LoginController (ApplicationContext applicationContext, AuthenticationManager authenticationManager, SecurityUserService customUserDetailsService, LoggingService loggingService) {
-        this.applicationContext = applicationContext;
-        this.authenticationManager = authenticationManager;
-        this.customUserDetailsService = customUserDetailsService;
-        this.loggingService = loggingService;
+    public LoginController (ContextBootstrap bootstrap) {
+        this.bootstrap = bootstrap;
     }
     
     @FXML
@@ -78,6 +91,46 @@ public class LoginController {
         loginButton.setOnAction(e -> handleLogin());
         passwordField.setOnAction(e -> handleLogin());
         passwordTextField.setOnAction(event -> handleLogin());
+
+        bootStatusLabel.textProperty().bind(bootstrap.statusProperty());
+        waitForContext(bootstrap.context());
+    }
+
+    private void waitForContext(CompletableFuture<? extends ApplicationContext> context) {
+        if (context.isDone() && !context.isCompletedExceptionally()) {
+            contextReady(context.join(), null);
+            return;
+        }
+        bootProgress.setVisible(true);
+        context.whenCompleteAsync(this::contextReady, BackgroundTaskRunner.FX_THREAD);
+    }
+
+    private void contextReady(ApplicationContext context, Throwable error) {
+        bootProgress.setVisible(false);
+        if (error != null) {
+            Throwable cause = error;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            errorLabel.setText("Porogaramu ntiyashoboye gutangira: " + cause.getMessage()
+                    + ". Ongera ugerageze kwinjira.");
+            errorLabel.setVisible(true);
+            loginWaiting = false;
+            loginButton.setDisable(false);
+            return;
+        }
+        if (applicationContext == null) {
+            applicationContext = context;
+            authenticationManager = context.getBean(AuthenticationManager.class);
+            customUserDetailsService = context.getBean(SecurityUserService.class);
+            loggingService = context.getBean(LoggingService.class);
+            tasks = context.getBean(BackgroundTaskRunner.class).newScope();
+        }
+        if (loginWaiting) {
+            loginWaiting = false;
+            loginButton.setDisable(false);
+            handleLogin();
+        }
     }
     
 
@@ -103,51 +156,68 @@ public class LoginController {
     }
 
     private void handleLogin() {
-    try {
         String username = usernameField.getText();
         String password = passwordField.getText();
-         if (username == null || username.trim().isEmpty()) {
-                errorLabel.setText("Shyiramo amazina yawe");
-                errorLabel.setVisible(true);
-                return;
-            }
+        if (username == null || username.trim().isEmpty()) {
+            errorLabel.setText("Shyiramo amazina yawe");
+            errorLabel.setVisible(true);
+            return;
+        }
+
+        if (password == null || password.trim().isEmpty()) {
+            errorLabel.setText("Shyiramo ijambo banga");
+            errorLabel.setVisible(true);
+            return;
+        }
 
-            if (password == null || password.trim().isEmpty()) {
-                errorLabel.setText("Shyiramo ijambo banga");
-                errorLabel.setVisible(true);
-                return;
+        if (applicationContext == null) {
+            // Logs in as soon as the context is ready; starts it again if the last start failed
+            loginWaiting = true;
+            loginButton.setDisable(true);
+            errorLabel.setVisible(false);
+            if (bootstrap.context().isCompletedExceptionally()) {
+                waitForContext(bootstrap.start());
             }
-            
-           
+            return;
+        }
+
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(username,password);
-    
-        // authenticate
-        Authentication authentication = authenticationManager.authenticate(auth);
-        //set the security context
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        // and update last login
-        customUserDetailsService.updateLastLogin(username);
-        
-        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        
-        // NOTE: The button disabling logic is removed here to prevent issues when the login stage reloads.
-        // If you absolutely must disable it for UX, re-enable it in a finally block.
-        
-        loggingService.logUserAction("LOGIN_SUCCESS", 
-                    "User logged in: " + username + " (" + userDetails.getFullName() + ")");
-        
-        errorLabel.setVisible(false);
-                
-        openHomepage();
-        
-        // NOTE: Field clearing logic is removed here as it is redundant.
-        
-    } catch(Exception ex) {
+        long startTime = System.currentTimeMillis();
+
+        // Re-enabled on both outcomes, so a reloaded login stage never starts disabled
+        loginButton.setDisable(true);
+        tasks.run("login", () -> {
+            // authenticate and update last login
+            Authentication authentication = authenticationManager.authenticate(auth);
+            customUserDetailsService.updateLastLogin(username);
+            return authentication;
+        }, authentication -> {
+            loginButton.setDisable(false);
+            try {
+                // set the security context on the FX thread, where the screens run
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+                loggingService.logUserAction("LOGIN_SUCCESS", 
+                            "User logged in: " + username + " (" + userDetails.getFullName() + ")");
+
+                errorLabel.setVisible(false);
+
+                openHomepage();
+                loggingService.logPerformance("Login to home page", System.currentTimeMillis() - startTime);
+            } catch (Exception ex) {
+                showLoginError(ex);
+            }
+        }, error -> {
+            loginButton.setDisable(false);
+            showLoginError(error);
+        });
+    }
+
+    private void showLoginError(Throwable ex) {
         errorLabel.setText("Username or password is incorrect");
         errorLabel.setVisible(true);
         loggingService.logError("LOGIN ERROR", ex);
-        ex.printStackTrace();
-    }
     }
 
     private void openHomepage() throws IOException {
@@ -3,9 +3,16 @@ package org.ananie.parishApp.dao;
 
 import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.SubParish;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -13,13 +20,23 @@ import java.util.Optional;
 public interface BECRepository extends JpaRepository<BEC, Long> {
 
     // Custom method to find BECs by their name
+    @EntityGraph(attributePaths = "subParish")
     Optional<BEC> findByName(String name);
 
-    // Custom method to find BECs belonging to a specific SubParish
+    // Custom method to find BECs belonging to a specific SubParish; served from the query cache until impuza changes
+    @EntityGraph(attributePaths = "subParish")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<BEC> findBySubParish(SubParish subParish);
 
     // Custom method to find a specific BEC by name within a specific SubParish
+    @EntityGraph(attributePaths = "subParish")
     Optional<BEC> findByNameAndSubParish(String name, SubParish subParish);
 
+    @EntityGraph(attributePaths = "subParish")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<BEC> findAllByOrderByNameAsc();
+
+    // Stored SubParish of a BEC, read before an update overwrites it
+    @Query("SELECT b.subParish.id FROM BEC b WHERE b.id = :id")
+    Optional<Long> findSubParishIdById(@Param("id") Long id);
 }
\ No newline at end of file
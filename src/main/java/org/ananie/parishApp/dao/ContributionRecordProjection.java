@@ -0,0 +1,19 @@
+package org.ananie.parishApp.dao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One amaturo row with the names it refers to, flat for data exports.
+ */
+public interface ContributionRecordProjection {
+    Long getId();
+    Long getFaithfulId();
+    String getName();
+    String getSubParishName();
+    String getBecName();
+    Integer getYear();
+    BigDecimal getAmount();
+    LocalDate getDate();
+    String getNotes();
+}
@@ -2,30 +2,43 @@ package org.ananie.parishApp.dao;
 
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.Contribution;
 import org.ananie.parishApp.model.Faithful;
 import org.ananie.parishApp.model.SubParish;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ContributionRepository extends JpaRepository<Contribution, Long> {
 
     // Custom method to find all contributions for a specific Faithful
+    @EntityGraph(Contribution.GRAPH_REPORT)
     List<Contribution> findByFaithful(Faithful faithful);
 
     // Custom method to find contributions for a specific Faithful in a given year
+    @EntityGraph(Contribution.GRAPH_REPORT)
     List<Contribution> findByFaithfulAndYear(Faithful faithful, Integer year);
 
+    // Contributions of a chunk of faithfuls, for batch exports
+    @Query("SELECT c FROM Contribution c WHERE c.faithful.id IN :faithfulIds ORDER BY c.date DESC")
+    List<Contribution> findByFaithfulIds(@Param("faithfulIds") Collection<Long> faithfulIds);
+
     // Custom method to find contributions for a faithful ordered by date descending
+    @EntityGraph(Contribution.GRAPH_REPORT)
     List<Contribution> findByFaithfulOrderByDateDesc(Faithful faithful);
     
     @Query("SELECT DISTINCT c.year FROM Contribution c ORDER BY c.year DESC")
@@ -95,10 +108,106 @@ public interface ContributionRepository extends JpaRepository<Contribution, Long
     	       "GROUP BY c.faithful.name, c.year " +
     	       "ORDER BY c.faithful.name ASC, c.year ASC")
 	List<FaithfulYearlyContributionProjection> getYearlyContributionSummary();
+
+    // Previous (year, amount, BEC) of a contribution, read before an update overwrites it
+    @Query("SELECT c.year, c.amount, f.bec FROM Contribution c JOIN c.faithful f WHERE c.id = :id")
+    List<Object[]> findTotalsKeyById(@Param("id") Long id);
+
+    // Per-year sums of one faithful, moved or dropped with the faithful
+    @Query("SELECT c.year, SUM(c.amount), COUNT(c) FROM Contribution c " +
+            "WHERE c.faithful.id = :faithfulId " +
+            "GROUP BY c.year")
+    List<Object[]> sumByYearForFaithful(@Param("faithfulId") Long faithfulId);
+
+    // Source of a full rebuild of the summary table
+    @Query("SELECT b, c.year, SUM(c.amount), COUNT(c) FROM Contribution c JOIN c.faithful f JOIN f.bec b " +
+            "GROUP BY b, c.year")
+    List<Object[]> sumByBecAndYear();
+
+    // Matrix input: one row per (faithful id, year), grouped rows of a faithful are adjacent
+    @Query("SELECT new org.ananie.parishApp.dao.FaithfulYearlyAmountProjection(f.id, f.name, c.year, SUM(c.amount)) " +
+            "FROM Contribution c JOIN c.faithful f " +
+            "GROUP BY f.id, f.name, c.year " +
+            "ORDER BY f.name ASC, f.id ASC, c.year ASC")
+    List<FaithfulYearlyAmountProjection> getYearlyAmountsPerFaithful();
+
+    @Query("SELECT new org.ananie.parishApp.dao.FaithfulYearlyAmountProjection(f.id, f.name, c.year, SUM(c.amount)) " +
+            "FROM Contribution c JOIN c.faithful f " +
+            "WHERE f.bec = :bec " +
+            "GROUP BY f.id, f.name, c.year " +
+            "ORDER BY f.name ASC, f.id ASC, c.year ASC")
+    List<FaithfulYearlyAmountProjection> getYearlyAmountsPerFaithfulByBec(@Param("bec") BEC bec);
+
+    @Query("SELECT new org.ananie.parishApp.dao.FaithfulYearlyAmountProjection(f.id, f.name, c.year, SUM(c.amount)) " +
+            "FROM Contribution c JOIN c.faithful f JOIN f.bec b " +
+            "WHERE b.subParish = :subParish " +
+            "GROUP BY f.id, f.name, c.year " +
+            "ORDER BY f.name ASC, f.id ASC, c.year ASC")
+    List<FaithfulYearlyAmountProjection> getYearlyAmountsPerFaithfulBySubParish(@Param("subParish") SubParish subParish);
+
+    // Streaming variants of the matrix input for large reports; consume inside a transaction and close the stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new org.ananie.parishApp.dao.FaithfulYearlyAmountProjection(f.id, f.name, c.year, SUM(c.amount)) " +
+            "FROM Contribution c JOIN c.faithful f " +
+            "GROUP BY f.id, f.name, c.year " +
+            "ORDER BY f.name ASC, f.id ASC, c.year ASC")
+    Stream<FaithfulYearlyAmountProjection> streamYearlyAmountsPerFaithful();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new org.ananie.parishApp.dao.FaithfulYearlyAmountProjection(f.id, f.name, c.year, SUM(c.amount)) " +
+            "FROM Contribution c JOIN c.faithful f " +
+            "WHERE f.bec = :bec " +
+            "GROUP BY f.id, f.name, c.year " +
+            "ORDER BY f.name ASC, f.id ASC, c.year ASC")
+    Stream<FaithfulYearlyAmountProjection> streamYearlyAmountsPerFaithfulByBec(@Param("bec") BEC bec);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new org.ananie.parishApp.dao.FaithfulYearlyAmountProjection(f.id, f.name, c.year, SUM(c.amount)) " +
+            "FROM Contribution c JOIN c.faithful f JOIN f.bec b " +
+            "WHERE b.subParish = :subParish " +
+            "GROUP BY f.id, f.name, c.year " +
+            "ORDER BY f.name ASC, f.id ASC, c.year ASC")
+    Stream<FaithfulYearlyAmountProjection> streamYearlyAmountsPerFaithfulBySubParish(@Param("subParish") SubParish subParish);
     
+    // Raw rows for data exports, streamed in id order; consume inside a transaction and close the stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c.id AS id, f.id AS faithfulId, f.name AS name, sp.name AS subParishName, b.name AS becName, " +
+            "c.year AS year, c.amount AS amount, c.date AS date, c.notes AS notes " +
+            "FROM Contribution c JOIN c.faithful f JOIN f.bec b JOIN b.subParish sp " +
+            "ORDER BY c.id ASC")
+    Stream<ContributionRecordProjection> streamRecords();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c.id AS id, f.id AS faithfulId, f.name AS name, sp.name AS subParishName, b.name AS becName, " +
+            "c.year AS year, c.amount AS amount, c.date AS date, c.notes AS notes " +
+            "FROM Contribution c JOIN c.faithful f JOIN f.bec b JOIN b.subParish sp " +
+            "WHERE b = :bec " +
+            "ORDER BY c.id ASC")
+    Stream<ContributionRecordProjection> streamRecordsByBec(@Param("bec") BEC bec);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT c.id AS id, f.id AS faithfulId, f.name AS name, sp.name AS subParishName, b.name AS becName, " +
+            "c.year AS year, c.amount AS amount, c.date AS date, c.notes AS notes " +
+            "FROM Contribution c JOIN c.faithful f JOIN f.bec b JOIN b.subParish sp " +
+            "WHERE sp = :subParish " +
+            "ORDER BY c.id ASC")
+    Stream<ContributionRecordProjection> streamRecordsBySubParish(@Param("subParish") SubParish subParish);
+
     @Override
-    @EntityGraph(attributePaths = {"faithful"})
-    @Query("SELECT c FROM Contribution c LEFT JOIN FETCH c.faithful WHERE c.id = :id")
+    @EntityGraph(Contribution.GRAPH_REPORT)
+    @Query("SELECT c FROM Contribution c WHERE c.id = :id")
     Optional<Contribution> findById(@Param("id") Long id);
 
     @Modifying
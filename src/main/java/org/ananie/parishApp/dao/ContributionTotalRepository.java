@@ -0,0 +1,99 @@
+package org.ananie.parishApp.dao;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.ContributionTotal;
+import org.ananie.parishApp.model.SubParish;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ContributionTotalRepository extends JpaRepository<ContributionTotal, Long> {
+
+    // Row to adjust when a contribution changes; locked so concurrent saves add up
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ContributionTotal> findByBecAndYear(BEC bec, Integer year);
+
+    // Plain reads deciding whether a row must be seeded; a locked read of a missing row would hold its gap
+    boolean existsByBecAndYear(BEC bec, Integer year);
+
+    @Query("SELECT t.bec.id, t.year FROM ContributionTotal t WHERE t.bec IN :becs AND t.year IN :years")
+    List<Object[]> findKeysByBecInAndYearIn(@Param("becs") Collection<BEC> becs, @Param("years") Collection<Integer> years);
+
+    // Rows a batch of contributions adjusts, fetched and locked in one round trip
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ContributionTotal> findByBecInAndYearIn(Collection<BEC> becs, Collection<Integer> years);
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM ContributionTotal t")
+    BigDecimal sumAll();
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM ContributionTotal t WHERE t.year = :year")
+    BigDecimal sumByYear(@Param("year") Integer year);
+
+    // Rows emptied by deletions stay behind with a count of zero; the listings skip them
+    @Query("SELECT t.subParish, SUM(t.amount) FROM ContributionTotal t " +
+           "WHERE t.contributionCount > 0 " +
+           "GROUP BY t.subParish " +
+           "ORDER BY t.subParish.name")
+    List<Object[]> sumBySubParish();
+
+    @Query("SELECT t.subParish, SUM(t.amount) FROM ContributionTotal t " +
+           "WHERE t.year = :year AND t.contributionCount > 0 " +
+           "GROUP BY t.subParish " +
+           "ORDER BY t.subParish.name")
+    List<Object[]> sumBySubParishAndYear(@Param("year") Integer year);
+
+    @Query("SELECT t.bec, SUM(t.amount) FROM ContributionTotal t " +
+           "WHERE t.subParish = :subParish AND t.contributionCount > 0 " +
+           "GROUP BY t.bec " +
+           "ORDER BY t.bec.name")
+    List<Object[]> sumByBecInSubParish(@Param("subParish") SubParish subParish);
+
+    @Query("SELECT t.bec, SUM(t.amount) FROM ContributionTotal t " +
+           "WHERE t.subParish = :subParish AND t.year = :year AND t.contributionCount > 0 " +
+           "GROUP BY t.bec " +
+           "ORDER BY t.bec.name")
+    List<Object[]> sumByBecInSubParishAndYear(@Param("subParish") SubParish subParish, @Param("year") Integer year);
+
+    // Totals with their names for data exports; consume inside a transaction and close the stream
+    @Query("SELECT sp.name AS subParishName, b.name AS becName, t.year AS year, " +
+           "t.amount AS amount, t.contributionCount AS contributionCount " +
+           "FROM ContributionTotal t JOIN t.subParish sp JOIN t.bec b " +
+           "WHERE t.contributionCount > 0 " +
+           "ORDER BY sp.name, b.name, t.year")
+    Stream<ContributionTotalRowProjection> streamRows();
+
+    @Query("SELECT sp.name AS subParishName, b.name AS becName, t.year AS year, " +
+           "t.amount AS amount, t.contributionCount AS contributionCount " +
+           "FROM ContributionTotal t JOIN t.subParish sp JOIN t.bec b " +
+           "WHERE t.bec = :bec AND t.contributionCount > 0 " +
+           "ORDER BY t.year")
+    Stream<ContributionTotalRowProjection> streamRowsByBec(@Param("bec") BEC bec);
+
+    @Query("SELECT sp.name AS subParishName, b.name AS becName, t.year AS year, " +
+           "t.amount AS amount, t.contributionCount AS contributionCount " +
+           "FROM ContributionTotal t JOIN t.subParish sp JOIN t.bec b " +
+           "WHERE t.subParish = :subParish AND t.contributionCount > 0 " +
+           "ORDER BY b.name, t.year")
+    Stream<ContributionTotalRowProjection> streamRowsBySubParish(@Param("subParish") SubParish subParish);
+
+    // A BEC moved to another sub-parish takes its totals along
+    @Modifying
+    @Query("UPDATE ContributionTotal t SET t.subParish = :subParish WHERE t.bec = :bec")
+    int moveBec(@Param("bec") BEC bec, @Param("subParish") SubParish subParish);
+
+    @Modifying
+    @Query("DELETE FROM ContributionTotal t WHERE t.bec.id = :becId")
+    int deleteByBecId(@Param("becId") Long becId);
+}
@@ -0,0 +1,14 @@
+package org.ananie.parishApp.dao;
+
+import java.math.BigDecimal;
+
+/**
+ * One ibiteranyo row (sub-parish, BEC, year) with names, flat for data exports.
+ */
+public interface ContributionTotalRowProjection {
+    String getSubParishName();
+    String getBecName();
+    Integer getYear();
+    BigDecimal getAmount();
+    Long getContributionCount();
+}
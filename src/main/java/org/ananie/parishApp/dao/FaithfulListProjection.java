@@ -0,0 +1,12 @@
+package org.ananie.parishApp.dao;
+
+/**
+ * Read-only row for the faithful tables: just enough to display and
+ * identify a faithful, the full entity is loaded only when a row is selected.
+ */
+public interface FaithfulListProjection {
+    Long getId();
+    String getName();
+    String getBecName();
+    String getSubParishName();
+}
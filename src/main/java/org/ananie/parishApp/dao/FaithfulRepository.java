@@ -1,37 +1,129 @@
 package org.ananie.parishApp.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.Faithful;
 import org.ananie.parishApp.model.SubParish;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FaithfulRepository extends JpaRepository<Faithful, Long>{
+ @EntityGraph(Faithful.GRAPH_LIST)
  Optional<Faithful> findByName(String name);
 
  // Custom method to find Faithfuls by their name (case-insensitive contains)
  // This will be useful for your "Search faithful" functionality
+ @EntityGraph(Faithful.GRAPH_LIST)
  List<Faithful> findByNameContainingIgnoreCase(String name);
 
  // Custom method to find Faithfuls belonging to a specific BEC
+ @EntityGraph(Faithful.GRAPH_LIST)
  List<Faithful> findByBec(BEC bec);
 
  // Custom method to find Faithfuls belonging to a specific SubParish (through BEC)
  // This uses a "property path" through the 'bec' relationship
+ @EntityGraph(Faithful.GRAPH_LIST)
  List<Faithful> findByBec_SubParish(SubParish subParish);
 
  // To find by name within a specific BEC
+ @EntityGraph(Faithful.GRAPH_LIST)
  Optional<Faithful> findByNameAndBec(String name, BEC bec);
 
  // Find all faithfuls sorted by name
+ @EntityGraph(Faithful.GRAPH_LIST)
  List<Faithful> findAllByOrderByNameAsc();
+
+    // Hydrates the ids matched by the in-memory name index
+    @EntityGraph(Faithful.GRAPH_LIST)
+    List<Faithful> findByIdInOrderByNameAsc(Collection<Long> ids);
+
+    // Id and name of every faithful, used to build the in-memory name index
+    @Query("SELECT f.id, f.name FROM Faithful f")
+    List<Object[]> findAllIdsAndNames();
+
+    // Name and id of every faithful of a BEC, so an import matches names without a query per row
+    @Query("SELECT f.name, f.id FROM Faithful f WHERE f.bec = :bec")
+    List<Object[]> findNamesAndIdsByBec(@Param("bec") BEC bec);
  
- @EntityGraph(attributePaths = "contributions")
+ // BEC and sub-parish only; selection, saves and deletes never read the contribution history
+ @EntityGraph(Faithful.GRAPH_LIST)
  Optional<Faithful>findById(Long id);
 
+ // A faithful together with its whole contribution history, for views that show it
+ @EntityGraph(Faithful.GRAPH_DETAIL)
+ Optional<Faithful> findDetailById(Long id);
+
+ // Slim list rows for the faithful table, resolved with a single join
+ @Query("SELECT f.id AS id, f.name AS name, b.name AS becName, sp.name AS subParishName " +
+        "FROM Faithful f JOIN f.bec b JOIN b.subParish sp " +
+        "ORDER BY f.name ASC, f.id ASC")
+ List<FaithfulListProjection> findAllListRows();
+
+ @Query("SELECT f.id AS id, f.name AS name, b.name AS becName, sp.name AS subParishName " +
+        "FROM Faithful f JOIN f.bec b JOIN b.subParish sp " +
+        "WHERE b = :bec " +
+        "ORDER BY f.name ASC, f.id ASC")
+ List<FaithfulListProjection> findListRowsByBec(@Param("bec") BEC bec);
+
+ @Query("SELECT f.id AS id, f.name AS name, b.name AS becName, sp.name AS subParishName " +
+        "FROM Faithful f JOIN f.bec b JOIN b.subParish sp " +
+        "WHERE sp = :subParish " +
+        "ORDER BY f.name ASC, f.id ASC")
+ List<FaithfulListProjection> findListRowsBySubParish(@Param("subParish") SubParish subParish);
+
+ // --- Keyset (seek) pages ordered by name then id ---
+ // The cursor is the (name, id) of the last row already shown; ("", 0) starts at the top.
+ // Pass PageRequest.of(0, size): the page number is always 0, the cursor does the seeking.
+ // namePattern escapes \, % and _ with a backslash (see FaithfulService.listPage).
+
+ @Query("SELECT f.id AS id, f.name AS name, b.name AS becName, sp.name AS subParishName " +
+        "FROM Faithful f JOIN f.bec b JOIN b.subParish sp " +
+        "WHERE LOWER(f.name) LIKE :namePattern ESCAPE '\\' " +
+        "AND (f.name > :lastName OR (f.name = :lastName AND f.id > :lastId)) " +
+        "ORDER BY f.name ASC, f.id ASC")
+ List<FaithfulListProjection> findListRowsAfter(@Param("namePattern") String namePattern,
+                                                @Param("lastName") String lastName,
+                                                @Param("lastId") Long lastId,
+                                                Pageable pageable);
+
+ @Query("SELECT f.id AS id, f.name AS name, b.name AS becName, sp.name AS subParishName " +
+        "FROM Faithful f JOIN f.bec b JOIN b.subParish sp " +
+        "WHERE b = :bec AND LOWER(f.name) LIKE :namePattern ESCAPE '\\' " +
+        "AND (f.name > :lastName OR (f.name = :lastName AND f.id > :lastId)) " +
+        "ORDER BY f.name ASC, f.id ASC")
+ List<FaithfulListProjection> findListRowsByBecAfter(@Param("bec") BEC bec,
+                                                     @Param("namePattern") String namePattern,
+                                                     @Param("lastName") String lastName,
+                                                     @Param("lastId") Long lastId,
+                                                     Pageable pageable);
+
+ @Query("SELECT f.id AS id, f.name AS name, b.name AS becName, sp.name AS subParishName " +
+        "FROM Faithful f JOIN f.bec b JOIN b.subParish sp " +
+        "WHERE sp = :subParish AND LOWER(f.name) LIKE :namePattern ESCAPE '\\' " +
+        "AND (f.name > :lastName OR (f.name = :lastName AND f.id > :lastId)) " +
+        "ORDER BY f.name ASC, f.id ASC")
+ List<FaithfulListProjection> findListRowsBySubParishAfter(@Param("subParish") SubParish subParish,
+                                                           @Param("namePattern") String namePattern,
+                                                           @Param("lastName") String lastName,
+                                                           @Param("lastId") Long lastId,
+                                                           Pageable pageable);
+ // --- Rows for ids matched by the in-memory name index (see FaithfulService.listPage) ---
+ // Unordered: the caller keeps the index's order. Keep the id lists short, MySQL prepares them server-side.
+
+ @Query("SELECT f.id AS id, f.name AS name, b.name AS becName, sp.name AS subParishName " +
+        "FROM Faithful f JOIN f.bec b JOIN b.subParish sp " +
+        "WHERE f.id IN :ids")
+ List<FaithfulListProjection> findListRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+ // Ids of the faithfuls a BEC deletion takes along, to drop them from the name index
+ @Query("SELECT f.id FROM Faithful f WHERE f.bec.id = :becId")
+ List<Long> findIdsByBecId(@Param("becId") Long becId);
 }
@@ -0,0 +1,41 @@
+package org.ananie.parishApp.dao;
+
+import java.math.BigDecimal;
+
+/**
+ * One (faithful, year) total for the contribution matrix, keyed by id so
+ * namesakes stay on separate rows.
+ *
+ * A class built by the queries' constructor expression rather than an interface projection:
+ * the matrix reads hundreds of thousands of these, and proxied getters cost more than the query.
+ */
+public final class FaithfulYearlyAmountProjection {
+
+    private final Long faithfulId;
+    private final String name;
+    private final Integer year;
+    private final BigDecimal totalAmount;
+
+    public FaithfulYearlyAmountProjection(Long faithfulId, String name, Integer year, BigDecimal totalAmount) {
+        this.faithfulId = faithfulId;
+        this.name = name;
+        this.year = year;
+        this.totalAmount = totalAmount;
+    }
+
+    public Long getFaithfulId() {
+        return faithfulId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
@@ -4,14 +4,21 @@ import java.util.List;
 import java.util.Optional;
 
 import org.ananie.parishApp.model.SubParish;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface SubParishRepository extends JpaRepository<SubParish, Long> {
 
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<SubParish> findByName(String name);
 
+	// Backs every sub-parish combo box; served from the query cache until santarali changes
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	List<SubParish> findAllByOrderByNameAsc();
 
 }
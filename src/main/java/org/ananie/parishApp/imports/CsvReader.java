@@ -0,0 +1,180 @@
+package org.ananie.parishApp.imports;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 reader: one record in memory at a time, quoted fields may hold
+ * delimiters, doubled quotes and line breaks. The delimiter (comma, semicolon or tab, as
+ * spreadsheets write them depending on the locale) is detected from the first line,
+ * and a leading byte order mark is skipped.
+ *
+ * A record longer than {@link #MAX_RECORD_LENGTH} characters, usually an opening quote that is never
+ * closed, ends at the next line break instead of swallowing the rest of the file; it is returned
+ * truncated and flagged by {@link #isMalformed()}, as is a quote still open at the end of the input.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int DETECT_LIMIT = 64 * 1024;
+    /** Characters read for one record before it is cut at the next line break. */
+    public static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final StringBuilder field = new StringBuilder();
+    private long lineNumber;
+    private long recordLine;
+    private boolean malformed;
+
+    public CsvReader(Reader source) throws IOException {
+        this.reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        reader.mark(DETECT_LIMIT);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        reader.mark(DETECT_LIMIT);
+        this.delimiter = detectDelimiter(reader.readLine());
+        reader.reset();
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    /**
+     * @return line of the file where the last record returned by {@link #next()} starts, from 1
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * @return whether the last record returned by {@link #next()} was cut short or left a quote open
+     */
+    public boolean isMalformed() {
+        return malformed;
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input
+     */
+    public List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+        recordLine = lineNumber;
+        malformed = false;
+
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+        int length = 0;
+        while (true) {
+            if (++length > MAX_RECORD_LENGTH) {
+                // Drop the rest of the line, quoted or not, and start over after it
+                malformed = true;
+                while (c != -1 && c != '\n' && c != '\r') {
+                    c = reader.read();
+                }
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                break;
+            }
+            if (quoted) {
+                if (c == -1) {
+                    malformed = true; // Unterminated quote: keep what was read
+                    break;
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = reader.read();
+                continue;
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Formats one record for writing back, quoting only the fields that need it.
+     */
+    public static String format(List<String> fields, char delimiter) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append(delimiter);
+            }
+            String value = fields.get(i) == null ? "" : fields.get(i);
+            if (value.indexOf(delimiter) >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static char detectDelimiter(String firstLine) {
+        if (firstLine == null) {
+            return ',';
+        }
+        char best = ',';
+        long bestCount = firstLine.chars().filter(ch -> ch == ',').count();
+        for (char candidate : new char[] {';', '\t'}) {
+            long count = firstLine.chars().filter(ch -> ch == candidate).count();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,512 @@
+package org.ananie.parishApp.imports;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.ananie.parishApp.dao.BECRepository;
+import org.ananie.parishApp.dao.FaithfulRepository;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Contribution;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.services.ContributionService;
+import org.ananie.parishApp.services.FaithfulNameIndex;
+import org.ananie.parishApp.services.FaithfulService;
+import org.ananie.parishApp.services.LoggingService;
+import org.ananie.parishApp.utilities.ApplicationDirectoryUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports faithfuls and their contribution history from a CSV file (spreadsheets saved as CSV).
+ *
+ * The file is read one record at a time. Sub-parish and BEC names are resolved against maps loaded once,
+ * and faithfuls are matched on name within their BEC, folded with {@link FaithfulNameIndex#normalize} so
+ * "Mukamana Béatrice" and "mukamana beatrice" are one person, against the names of each BEC loaded on
+ * first use. New faithfuls are saved through {@link FaithfulService#createAll}. Rows are written in
+ * transactions of {@link #getBatchSize()} rows; when a batch fails its rows are retried one by one.
+ * A row naming an existing faithful only adds its contribution. Rows that cannot be imported are copied,
+ * with the reason, to a "_ibyanze.csv" file next to the source.
+ */
+@Component
+public class HistoryImport {
+
+    /** Rows per transaction, tunable with {@code parish.import.batchSize}. */
+    private final int batchSize = Math.max(1, Integer.getInteger("parish.import.batchSize", 1000));
+
+    private static final String REJECTED_SUFFIX = "_ibyanze.csv";
+    // Whole francs, optionally grouped by thousands with one kind of separator
+    private static final Pattern INTEGER_PART = Pattern.compile("\\d+|\\d{1,3}(,\\d{3})+|\\d{1,3}(\\.\\d{3})+");
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("d/M/yyyy"),
+            DateTimeFormatter.ofPattern("d-M-yyyy"),
+            DateTimeFormatter.ofPattern("d.M.yyyy"));
+
+    /** Recognised headers, matched case- and accent-insensitively. */
+    public enum Column {
+        SUB_PARISH(true, "santarali", "sub_parish", "subparish"),
+        BEC(true, "impuza", "bec"),
+        NAME(true, "amazina", "name"),
+        PHONE(false, "telefone", "phone"),
+        ADDRESS(false, "aderesi", "address"),
+        BAPTISM_YEAR(false, "umwaka_yabatirijwemo", "umwaka_yabatijwemo", "baptism_year"),
+        OCCUPATION(false, "icyo_akora", "occupation"),
+        YEAR(false, "umwaka", "year"),
+        AMOUNT(false, "amafaranga", "ituro", "amount"),
+        DATE(false, "itariki", "date"),
+        NOTES(false, "icyitonderwa", "notes");
+
+        private final boolean required;
+        private final List<String> headers;
+
+        Column(boolean required, String... headers) {
+            this.required = required;
+            this.headers = List.of(headers);
+        }
+    }
+
+    /** Snapshot of a running import. */
+    public record Progress(long rowsRead, long faithfulsCreated, long contributionsCreated, long rejected,
+                           long elapsedMillis) {
+
+        public double rowsPerSecond() {
+            return elapsedMillis == 0 ? 0 : rowsRead * 1000.0 / elapsedMillis;
+        }
+    }
+
+    /**
+     * @param rejectedFile copy of the rejected rows with their reasons, or null when none were rejected
+     */
+    public record Result(Progress progress, Path rejectedFile) {
+    }
+
+    /** A parsed, valid row waiting for its batch. */
+    private record Row(long line, List<String> fields, BEC bec, String name, String phone, String address,
+                       String baptismYear, String occupation, Integer year, BigDecimal amount, LocalDate date,
+                       String notes) {
+    }
+
+    private final BECRepository becRepository;
+    private final FaithfulRepository faithfulRepository;
+    private final ContributionService contributionService;
+    private final FaithfulService faithfulService;
+    private final PlatformTransactionManager transactionManager;
+    private final LoggingService loggingService;
+
+    @Autowired
+    public HistoryImport(BECRepository becRepository, FaithfulRepository faithfulRepository,
+                         ContributionService contributionService, FaithfulService faithfulService,
+                         PlatformTransactionManager transactionManager, LoggingService loggingService) {
+        this.becRepository = becRepository;
+        this.faithfulRepository = faithfulRepository;
+        this.contributionService = contributionService;
+        this.faithfulService = faithfulService;
+        this.transactionManager = transactionManager;
+        this.loggingService = loggingService;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param progressListener called after each batch; may be null
+     * @throws IllegalArgumentException when a required column is missing from the header
+     */
+    @PreAuthorize("hasRole('MANAGER')")
+    public Result importCsv(Path source, Consumer<Progress> progressListener) throws IOException {
+        long startTime = System.currentTimeMillis();
+        loggingService.logUserAction("HISTORY_IMPORT", "Import started: " + source);
+
+        try (CsvReader reader = new CsvReader(new BufferedReader(
+                new InputStreamReader(Files.newInputStream(source), StandardCharsets.UTF_8)))) {
+            List<String> header = reader.next();
+            Map<Column, Integer> columns = mapColumns(header);
+            Run run = new Run(source, header, reader.getDelimiter(), startTime, progressListener);
+            try {
+                List<Row> batch = new ArrayList<>(batchSize);
+                List<String> fields;
+                while ((fields = reader.next()) != null) {
+                    if (reader.isMalformed()) {
+                        run.rowsRead++;
+                        run.reject(reader.getRecordLine(), fields, "Malformed row: a quote is not closed or the row is"
+                                + " longer than " + CsvReader.MAX_RECORD_LENGTH + " characters.");
+                        continue;
+                    }
+                    if (isBlank(fields)) {
+                        continue;
+                    }
+                    run.rowsRead++;
+                    Row row = parse(reader.getRecordLine(), fields, columns, run);
+                    if (row == null) {
+                        continue;
+                    }
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        write(batch, run);
+                        batch.clear();
+                    }
+                }
+                write(batch, run);
+            } finally {
+                run.closeRejected();
+            }
+
+            Progress progress = run.progress();
+            loggingService.logPerformance("History import (" + progress.rowsRead() + " rows, "
+                    + progress.contributionsCreated() + " contributions, " + progress.rejected() + " rejected)",
+                    progress.elapsedMillis());
+            return new Result(progress, run.rejectedFile);
+        }
+    }
+
+    private Map<Column, Integer> mapColumns(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty.");
+        }
+        Map<Column, Integer> columns = new EnumMap<>(Column.class);
+        for (int i = 0; i < header.size(); i++) {
+            String name = FaithfulNameIndex.normalize(header.get(i)).replace(' ', '_').replace('-', '_');
+            for (Column column : Column.values()) {
+                if (column.headers.contains(name)) {
+                    columns.putIfAbsent(column, i);
+                }
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (Column column : Column.values()) {
+            if (column.required && !columns.containsKey(column)) {
+                missing.add(column.headers.get(0));
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    /**
+     * @return the row, or null when it was rejected
+     */
+    private Row parse(long line, List<String> fields, Map<Column, Integer> columns, Run run) throws IOException {
+        String subParishName = value(fields, columns, Column.SUB_PARISH);
+        String becName = value(fields, columns, Column.BEC);
+        String name = value(fields, columns, Column.NAME);
+        if (name == null) {
+            run.reject(line, fields, "Faithful name cannot be empty.");
+            return null;
+        }
+        Map<String, BEC> becs = run.becsBySubParish().get(FaithfulNameIndex.normalize(subParishName));
+        if (becs == null) {
+            run.reject(line, fields, "Unknown sub-parish: " + subParishName);
+            return null;
+        }
+        BEC bec = becs.get(FaithfulNameIndex.normalize(becName));
+        if (bec == null) {
+            run.reject(line, fields, "Unknown BEC in " + subParishName + ": " + becName);
+            return null;
+        }
+
+        Integer year = null;
+        BigDecimal amount = null;
+        LocalDate date = null;
+        String amountText = value(fields, columns, Column.AMOUNT);
+        if (amountText != null) {
+            amount = parseAmount(amountText);
+            if (amount == null) {
+                run.reject(line, fields, "Unreadable amount: " + amountText);
+                return null;
+            }
+            if (amount.signum() <= 0) {
+                run.reject(line, fields, "Contribution amount must be positive: " + amountText);
+                return null;
+            }
+            String dateText = value(fields, columns, Column.DATE);
+            if (dateText != null) {
+                date = parseDate(dateText);
+                if (date == null) {
+                    run.reject(line, fields, "Unreadable date: " + dateText);
+                    return null;
+                }
+            }
+            String yearText = value(fields, columns, Column.YEAR);
+            if (yearText != null) {
+                year = parseYear(yearText);
+                if (year == null) {
+                    run.reject(line, fields, "Unreadable year: " + yearText);
+                    return null;
+                }
+            }
+            if (year == null && date == null) {
+                run.reject(line, fields, "A contribution needs a year or a date.");
+                return null;
+            }
+            if (year == null) {
+                year = date.getYear();
+            } else if (date == null) {
+                date = LocalDate.of(year, 12, 31); // Paper records often only give the year
+            }
+        }
+
+        return new Row(line, fields, bec, name,
+                value(fields, columns, Column.PHONE), value(fields, columns, Column.ADDRESS),
+                value(fields, columns, Column.BAPTISM_YEAR), value(fields, columns, Column.OCCUPATION),
+                year, amount, date, value(fields, columns, Column.NOTES));
+    }
+
+    /**
+     * Writes one batch in its own transaction. When the batch fails, its rows are written again one by one,
+     * so only the rows that fail on their own are rejected.
+     */
+    private void write(List<Row> batch, Run run) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            save(batch, run);
+        } catch (RuntimeException e) {
+            loggingService.logError("HISTORY_IMPORT_BATCH", e);
+            for (Row row : batch) {
+                try {
+                    save(List.of(row), run);
+                } catch (RuntimeException rowError) {
+                    run.reject(row.line(), row.fields(), "Row not saved: " + rowError.getMessage());
+                }
+            }
+        }
+        run.report();
+    }
+
+    /**
+     * Saves the rows in one transaction and, once committed, counts them and remembers the faithfuls created.
+     * Nothing is kept when it throws.
+     */
+    private void save(List<Row> rows, Run run) {
+        List<Faithful> created = new ArrayList<>();
+        int[] contributionCount = new int[1];
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Map<String, Faithful> newFaithfuls = new LinkedHashMap<>();
+            List<Row> contributionRows = new ArrayList<>();
+            List<Faithful> owners = new ArrayList<>();
+            for (Row row : rows) {
+                String key = FaithfulNameIndex.normalize(row.name());
+                Long id = run.namesOf(row.bec()).get(key);
+                Faithful owner;
+                if (id != null) {
+                    owner = new Faithful();
+                    owner.setId(id);
+                } else {
+                    owner = newFaithfuls.computeIfAbsent(row.bec().getId() + "\u0000" + key, newKey ->
+                            new Faithful(row.name(), row.phone(), row.address(), row.baptismYear(),
+                                    row.occupation(), row.bec()));
+                }
+                if (row.amount() != null) {
+                    contributionRows.add(row);
+                    owners.add(owner);
+                }
+            }
+
+            // Validated like a single save; the name index learns them on commit
+            created.addAll(faithfulService.createAll(newFaithfuls.values()));
+            List<Contribution> contributions = new ArrayList<>(contributionRows.size());
+            for (int i = 0; i < contributionRows.size(); i++) {
+                Row row = contributionRows.get(i);
+                contributions.add(new Contribution(owners.get(i), row.year(), row.amount(), row.date(), row.notes()));
+            }
+            contributionService.saveAll(contributions);
+            contributionCount[0] = contributions.size();
+        });
+
+        for (Faithful faithful : created) {
+            run.namesByBec.get(faithful.getBec().getId()).put(FaithfulNameIndex.normalize(faithful.getName()), faithful.getId());
+        }
+        run.faithfulsCreated += created.size();
+        run.contributionsCreated += contributionCount[0];
+    }
+
+    /**
+     * State of one import: lookups, counters and the rejected-row report.
+     */
+    private final class Run {
+        private final Path source;
+        private final List<String> header;
+        private final char delimiter;
+        private final long startTime;
+        private final Consumer<Progress> progressListener;
+
+        private Map<String, Map<String, BEC>> becsBySubParish;
+        private final Map<Long, Map<String, Long>> namesByBec = new HashMap<>();
+        private long rowsRead;
+        private long faithfulsCreated;
+        private long contributionsCreated;
+        private long rejected;
+        private Path rejectedFile;
+        private BufferedWriter rejectedWriter;
+
+        Run(Path source, List<String> header, char delimiter, long startTime, Consumer<Progress> progressListener) {
+            this.source = source;
+            this.header = header;
+            this.delimiter = delimiter;
+            this.startTime = startTime;
+            this.progressListener = progressListener;
+        }
+
+        /** Every BEC, by normalized sub-parish name then normalized BEC name. */
+        Map<String, Map<String, BEC>> becsBySubParish() {
+            if (becsBySubParish == null) {
+                becsBySubParish = new HashMap<>();
+                for (BEC bec : becRepository.findAll()) {
+                    becsBySubParish.computeIfAbsent(FaithfulNameIndex.normalize(bec.getSubParish().getName()),
+                            key -> new HashMap<>()).put(FaithfulNameIndex.normalize(bec.getName()), bec);
+                }
+            }
+            return becsBySubParish;
+        }
+
+        /**
+         * Ids of the faithfuls of a BEC by normalized name, loaded on first use and kept up to date with
+         * committed batches.
+         */
+        Map<String, Long> namesOf(BEC bec) {
+            return namesByBec.computeIfAbsent(bec.getId(), key -> {
+                Map<String, Long> names = new HashMap<>();
+                for (Object[] row : faithfulRepository.findNamesAndIdsByBec(bec)) {
+                    names.putIfAbsent(FaithfulNameIndex.normalize((String) row[0]), (Long) row[1]);
+                }
+                return names;
+            });
+        }
+
+        void reject(long line, List<String> fields, String reason) throws IOException {
+            rejected++;
+            if (rejectedWriter == null) {
+                openRejected();
+            }
+            List<String> record = new ArrayList<>(fields.size() + 2);
+            record.add(Long.toString(line));
+            record.add(reason);
+            record.addAll(fields);
+            rejectedWriter.write(CsvReader.format(record, delimiter));
+            rejectedWriter.newLine();
+        }
+
+        private void openRejected() throws IOException {
+            String fileName = source.getFileName().toString().replaceFirst("\\.[^.]*$", "") + REJECTED_SUFFIX;
+            Path directory = source.toAbsolutePath().getParent();
+            if (directory == null || !Files.isWritable(directory)) {
+                directory = Paths.get(ApplicationDirectoryUtil.getReportsDirectory());
+            }
+            rejectedFile = directory.resolve(fileName);
+            rejectedWriter = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8);
+            List<String> record = new ArrayList<>(header.size() + 2);
+            record.add("umurongo");
+            record.add("impamvu");
+            record.addAll(header);
+            rejectedWriter.write(CsvReader.format(record, delimiter));
+            rejectedWriter.newLine();
+        }
+
+        void closeRejected() throws IOException {
+            if (rejectedWriter != null) {
+                rejectedWriter.close();
+            }
+        }
+
+        Progress progress() {
+            return new Progress(rowsRead, faithfulsCreated, contributionsCreated, rejected,
+                    System.currentTimeMillis() - startTime);
+        }
+
+        void report() {
+            if (progressListener != null) {
+                progressListener.accept(progress());
+            }
+        }
+    }
+
+    private static String value(List<String> fields, Map<Column, Integer> columns, Column column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        for (String field : fields) {
+            if (!field.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads an amount as spreadsheets write it: "1 500", "1,500", "1.500", "1,500.50", "1.500,50" or "1500 RWF".
+     * The last ',' or '.' is the decimal separator when one or two digits follow it; every other separator
+     * must group thousands, all with the same character. Anything else, such as "1,50,000", "1.500,000"
+     * or "1,500,50", could be read more than one way and is refused.
+     * @return the amount, or null when it is unreadable or ambiguous
+     */
+    private static BigDecimal parseAmount(String text) {
+        String number = text.replace("RWF", "").replace("Frw", "").replaceAll("[\\s\\u00A0_]", "");
+        int separator = Math.max(number.lastIndexOf(','), number.lastIndexOf('.'));
+        String integerPart = number;
+        String fraction = "";
+        int fractionDigits = number.length() - separator - 1;
+        if (separator >= 0 && fractionDigits >= 1 && fractionDigits <= 2) {
+            integerPart = number.substring(0, separator);
+            fraction = number.substring(separator + 1);
+            if (integerPart.indexOf(number.charAt(separator)) >= 0) {
+                return null; // The same character cannot group thousands and mark decimals
+            }
+        }
+        if (!INTEGER_PART.matcher(integerPart).matches() || !fraction.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return null;
+        }
+        String digits = integerPart.replace(",", "").replace(".", "");
+        return new BigDecimal(fraction.isEmpty() ? digits : digits + "." + fraction);
+    }
+
+    private static LocalDate parseDate(String text) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException e) {
+                // Try the next format
+            }
+        }
+        return null;
+    }
+
+    private static Integer parseYear(String text) {
+        try {
+            int year = Integer.parseInt(text);
+            return year < 1900 || year > LocalDate.now().getYear() + 5 ? null : year;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.ananie.parishApp.main;
-import org.ananie.parishApp.configurations.AppConfig;
+import org.ananie.parishApp.configurations.ContextBootstrap;
+import org.ananie.parishApp.controllers.LoginController;
+import org.ananie.parishApp.metrics.StartupTimeline;
 import org.ananie.parishApp.services.LoggingService;
+import org.ananie.parishApp.utilities.ApplicationDirectoryUtil;
 import org.ananie.parishApp.utilities.ViewPaths;
 import org.slf4j.LoggerFactory;
 
@@ -11,7 +14,6 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.joran.JoranConfigurator;
@@ -19,25 +21,26 @@ import ch.qos.logback.core.joran.spi.JoranException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 public class MainApp extends Application {
 
-    // Spring's application context
-    private ApplicationContext springContext;
-    private LoggingService loggingService;
+    private static final StartupTimeline STARTUP = new StartupTimeline();
+
+    // Builds Spring's application context in the background while the login window shows
+    private ContextBootstrap bootstrap;
+    private volatile LoggingService loggingService;
+    private final CompletableFuture<Void> loginShown = new CompletableFuture<>();
     // This method is called by JavaFX when the application is launched, BEFORE start()
     @Override
     public void init() throws Exception {
-    	System.setProperty("spring.profiles.active", "mysql");
-        // Initialize plain Spring ApplicationContext
-        // We use AnnotationConfigApplicationContext because your AppConfig is annotation-based
-        springContext = new AnnotationConfigApplicationContext(AppConfig.class);
-        
-        loggingService = springContext.getBean(LoggingService.class);
-        loggingService.logApplicationStartup();
-        loggingService.logSystemResources();
-        
-        
+        STARTUP.mark(StartupTimeline.FX_INIT);
+        if (System.getProperty("spring.profiles.active") == null) {
+            System.setProperty("spring.profiles.active", "mysql");
+        }
+        bootstrap = new ContextBootstrap(STARTUP, this::contextReady);
+        bootstrap.start();
     }
 
 
@@ -57,9 +60,8 @@ public class MainApp extends Application {
             }
             fxmlLoader.setLocation(fxmlUrl);
 
-            // Set the controller factory to allow Spring to create and manage JavaFX controllers
-            // This is crucial for @Autowired to work in your controllers
-            fxmlLoader.setControllerFactory(springContext::getBean);
+            // The context is not ready yet: the login controller takes its services from it once it is
+            fxmlLoader.setControllerFactory(type -> new LoginController(bootstrap));
 
             // Load the FXML file
             Parent root = fxmlLoader.load();
@@ -70,7 +72,8 @@ public class MainApp extends Application {
             primaryStage.setScene(scene);
             primaryStage.setTitle("Parish Management");
             primaryStage.show();
-            loggingService.logUserAction("POROGARAMU ITANGIYE GUKORA", "JAVAFX UI iratangiye");
+            STARTUP.mark(StartupTimeline.LOGIN_SHOWN);
+            loginShown.complete(null);
 
         } catch (Exception e) {
             System.err.println("Failed to load the primary FXML view or start application:");
@@ -101,8 +104,8 @@ public class MainApp extends Application {
         loggerContext.stop();
         
         // Close the Spring application context gracefully
-        if (springContext instanceof AnnotationConfigApplicationContext) {
-            ((AnnotationConfigApplicationContext) springContext).close();
+        if (bootstrap != null) {
+            bootstrap.close();
         }
         Platform.exit(); // Ensure JavaFX platform exits
         System.exit(0);
@@ -110,6 +113,7 @@ public class MainApp extends Application {
 
     // Standard main method to launch the JavaFX application
     public static void main(String[] args) {
+        STARTUP.mark(StartupTimeline.MAIN);
     	configureLogback();
         // This is how you launch a JavaFX application
     	System.setProperty("file.encoding","UTF-8");
@@ -117,6 +121,38 @@ public class MainApp extends Application {
     	launch(args);
     }
 
+    private void contextReady(ApplicationContext springContext) {
+        loggingService = springContext.getBean(LoggingService.class);
+        loggingService.logApplicationStartup();
+        loggingService.logSystemResources();
+        loginShown.thenRun(() -> reportStartup(springContext));
+    }
+
+    /**
+     * Logs the startup phases and adds this launch to the startup history in the logs directory,
+     * or to the file named by the system property parish.startup.csv.
+     */
+    private void reportStartup(ApplicationContext springContext) {
+        LoggingService logging = springContext.getBean(LoggingService.class);
+        logging.logUserAction("POROGARAMU ITANGIYE GUKORA", "JAVAFX UI iratangiye");
+        logging.logPerformance("Startup to login window", STARTUP.millis(StartupTimeline.LOGIN_SHOWN));
+        logging.logPerformance("Startup to application context", STARTUP.millis(StartupTimeline.CONTEXT_READY));
+        logging.logUserAction("STARTUP_TIMELINE", STARTUP.summary());
+        String version = MainApp.class.getPackage().getImplementationVersion();
+        String history = System.getProperty("parish.startup.csv");
+        try {
+            STARTUP.append(history != null ? Path.of(history)
+                            : Path.of(ApplicationDirectoryUtil.getLogsDirectory(), StartupTimeline.CSV_FILE),
+                    version != null ? version : "dev");
+        } catch (IOException e) {
+            logging.logError("STARTUP_TIMELINE", e);
+        }
+        // Class-data-sharing training runs and StartupBenchmark stop once the login window is usable
+        if (Boolean.getBoolean("parish.startup.exitWhenReady")) {
+            Platform.exit();
+        }
+    }
+
 	private static void configureLogback() {
 		LoggerContext loggerContext = (LoggerContext)LoggerFactory.getILoggerFactory();
 		try { JoranConfigurator configurator = new JoranConfigurator();
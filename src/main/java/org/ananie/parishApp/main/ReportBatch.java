@@ -0,0 +1,40 @@
+package org.ananie.parishApp.main;
+
+import java.nio.file.Path;
+
+import org.ananie.parishApp.configurations.AppConfig;
+import org.ananie.parishApp.reports.ContributionReportBatch;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Command-line entry point for the year-end contribution reports, for servers without a display.
+ * Usage: {@code ReportBatch <output-directory>}; the Spring profile defaults to mysql
+ * and can be changed with {@code -Dspring.profiles.active=h2}. Exits with 1 when any report failed.
+ */
+public final class ReportBatch {
+
+    private ReportBatch() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length != 1) {
+            System.err.println("Usage: ReportBatch <output-directory>");
+            System.exit(2);
+        }
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("spring.profiles.active") == null) {
+            System.setProperty("spring.profiles.active", "mysql");
+        }
+
+        ContributionReportBatch.Result result;
+        try (AnnotationConfigApplicationContext springContext = new AnnotationConfigApplicationContext(AppConfig.class)) {
+            result = springContext.getBean(ContributionReportBatch.class).renderAll(Path.of(args[0]));
+        }
+        System.out.println("Raporo " + result.written() + "/" + result.total() + " zakozwe muri "
+                + Path.of(args[0]).toAbsolutePath());
+        for (ContributionReportBatch.Failure failure : result.failures()) {
+            System.err.println("Raporo itakozwe: " + failure.file().getFileName() + " - " + failure.reason());
+        }
+        System.exit(result.failures().isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,118 @@
+package org.ananie.parishApp.main;
+
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.ananie.parishApp.metrics.StartupTimeline;
+
+/**
+ * Measures time to the login window with and without the class-data-sharing archive of the packaging build.
+ * Usage: {@code StartupBenchmark <fat jar> <archive> [runs]} (default 5), run with the java of the runtime the
+ * archive was dumped with. Launches alternate between the two, each on the in-memory test profile and exiting as
+ * soon as the login window shows and the context is ready; the first pair is a warm-up and is not counted.
+ * The figures are the phases of {@link StartupTimeline}, in ms since the JVM started. Exits with 1 when a launch
+ * fails, which includes an archive that does not match the runtime.
+ */
+public final class StartupBenchmark {
+
+    private static final int WARM_UP_RUNS = 1;
+    private static final long LAUNCH_TIMEOUT_MINUTES = 3;
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupBenchmark <fat jar> <archive> [runs]");
+            System.exit(2);
+        }
+        Path jar = Path.of(args[0]).toAbsolutePath();
+        Path archive = Path.of(args[1]).toAbsolutePath();
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Path work = Files.createTempDirectory("startup-benchmark");
+
+        List<long[]> withoutArchive = new ArrayList<>();
+        List<long[]> withArchive = new ArrayList<>();
+        for (int run = 0; run < WARM_UP_RUNS + runs; run++) {
+            long[] plain = launch(jar, List.of(), work.resolve("default"));
+            // -Xshare:on fails the launch instead of quietly starting without the archive
+            long[] shared = launch(jar, List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:on"), work.resolve("archive"));
+            if (run >= WARM_UP_RUNS) {
+                withoutArchive.add(plain);
+                withArchive.add(shared);
+            }
+        }
+
+        System.out.println(String.format(Locale.ROOT, "%-16s %18s %18s", "", "login window (ms)", "context (ms)"));
+        print("default CDS", withoutArchive);
+        print("app archive", withArchive);
+        long saved = median(withoutArchive, 0) - median(withArchive, 0);
+        System.out.println(String.format(Locale.ROOT, "The archive saves %d ms (%.1f%%) to the login window, median of %d runs",
+                saved, 100.0 * saved / median(withoutArchive, 0), runs));
+    }
+
+    /**
+     * Starts the application once and returns its login window and context ready times.
+     */
+    private static long[] launch(Path jar, List<String> jvmOptions, Path directory) throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        Path history = directory.resolve(StartupTimeline.CSV_FILE);
+        Path output = directory.resolve("launch.log");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-Dspring.profiles.active=test",
+                "-Dparish.app.dir=" + directory,
+                "-Dparish.startup.csv=" + history,
+                "-Dparish.startup.exitWhenReady=true",
+                "-Dfile.encoding=UTF-8",
+                "-jar", jar.toString()));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(Redirect.appendTo(output.toFile()))
+                .start();
+        if (!process.waitFor(LAUNCH_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            fail("Launch did not reach the login window in " + LAUNCH_TIMEOUT_MINUTES + " minutes", output);
+        }
+        if (process.exitValue() != 0 || !Files.exists(history)) {
+            fail("Launch failed with exit code " + process.exitValue(), output);
+        }
+
+        List<String> lines = Files.readAllLines(history, StandardCharsets.UTF_8);
+        List<String> header = Arrays.asList(lines.get(0).split(","));
+        String[] latest = lines.get(lines.size() - 1).split(",");
+        return new long[] {
+                Long.parseLong(latest[header.indexOf(StartupTimeline.LOGIN_SHOWN)]),
+                Long.parseLong(latest[header.indexOf(StartupTimeline.CONTEXT_READY)])};
+    }
+
+    private static void print(String label, List<long[]> results) {
+        System.out.println(String.format(Locale.ROOT, "%-16s %18s %18s", label, range(results, 0), range(results, 1)));
+    }
+
+    /** Median and, in brackets, min-max of one column. */
+    private static String range(List<long[]> results, int column) {
+        long[] values = results.stream().mapToLong(result -> result[column]).sorted().toArray();
+        return median(results, column) + " [" + values[0] + "-" + values[values.length - 1] + "]";
+    }
+
+    private static long median(List<long[]> results, int column) {
+        long[] values = results.stream().mapToLong(result -> result[column]).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static void fail(String message, Path output) {
+        System.err.println(message + "; output in " + output);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,110 @@
+package org.ananie.parishApp.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram for one method. Durations are counted in log-linear microsecond
+ * buckets (four per power of two, so percentiles are within about 20%), with exact count,
+ * error count, sum and maximum. Recording allocates nothing.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Up to 2^42 µs (about 50 days), far beyond any real call
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (42 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /** Latencies of one method at one moment, in milliseconds. */
+    public record Snapshot(String name, long count, long errors, double meanMillis,
+                           double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos, boolean failed) {
+        long micros = Math.max(0, nanos / 1_000);
+        buckets.incrementAndGet(bucketOf(micros));
+        count.increment();
+        totalNanos.add(nanos);
+        if (failed) {
+            errors.increment();
+        }
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) {
+            // retry until our value is stored or a larger one won
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Consistent enough for reporting: concurrent recordings may land between the reads.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = buckets.get(i);
+            total += copy[i];
+        }
+        double maxMillis = maxNanos.get() / 1_000_000.0;
+        long calls = count.sum();
+        double mean = calls == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / calls;
+        return new Snapshot(name, calls, errors.sum(), mean,
+                percentile(copy, total, 0.50, maxMillis),
+                percentile(copy, total, 0.95, maxMillis),
+                percentile(copy, total, 0.99, maxMillis),
+                maxMillis);
+    }
+
+    private static double percentile(long[] counts, long total, double quantile, double maxMillis) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(i) / 1_000.0, maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        int index = SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS | subBucket) + 1 << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
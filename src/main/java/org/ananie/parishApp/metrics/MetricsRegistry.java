@@ -0,0 +1,126 @@
+package org.ananie.parishApp.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Per-method latency histograms fed by the timing aspect. Instead of a log line per call it writes
+ * a periodic summary of the methods called since the previous one, plus an event for each slow call.
+ *
+ * Tunable with system properties: {@code parish.metrics.slowMillis} (default 500),
+ * {@code parish.metrics.summaryMinutes} (default 5, 0 disables) and
+ * {@code parish.metrics.perCallLogging} (default false, also switchable at runtime).
+ */
+@Component
+public class MetricsRegistry {
+
+    private final LoggingService loggingService;
+
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Long> countsAtLastSummary = new HashMap<>();
+    private final long slowCallNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("parish.metrics.slowMillis", 500));
+    private final long summaryMinutes = Long.getLong("parish.metrics.summaryMinutes", 5);
+    private volatile boolean perCallLogging = Boolean.getBoolean("parish.metrics.perCallLogging");
+    private ScheduledExecutorService summaryScheduler;
+
+    @Autowired
+    public MetricsRegistry(LoggingService loggingService) {
+        this.loggingService = loggingService;
+    }
+
+    @PostConstruct
+    void startSummaries() {
+        if (summaryMinutes <= 0) {
+            return;
+        }
+        summaryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        summaryScheduler.scheduleAtFixedRate(this::logSummary, summaryMinutes, summaryMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stopSummaries() {
+        if (summaryScheduler != null) {
+            summaryScheduler.shutdownNow();
+        }
+        logSummary();
+    }
+
+    /**
+     * Histogram for a method name, created on first use. Callers should keep the result
+     * rather than look it up on every call.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Records one call and reports it when slow, or always while per-call logging is on.
+     */
+    public void record(LatencyHistogram histogram, long nanos, Throwable failure) {
+        histogram.record(nanos, failure != null);
+        if (perCallLogging) {
+            loggingService.logPerformance(histogram.getName() + (failure != null ? " [FAILED]" : ""),
+                    TimeUnit.NANOSECONDS.toMillis(nanos));
+        } else if (nanos >= slowCallNanos) {
+            loggingService.logSlowOperation(histogram.getName(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    public boolean isPerCallLogging() {
+        return perCallLogging;
+    }
+
+    public void setPerCallLogging(boolean perCallLogging) {
+        this.perCallLogging = perCallLogging;
+        loggingService.logUserAction("METRICS", "Per-call logging " + (perCallLogging ? "on" : "off"));
+    }
+
+    /**
+     * Current figures of every method seen so far, busiest first.
+     */
+    public List<LatencyHistogram.Snapshot> snapshot() {
+        List<LatencyHistogram.Snapshot> snapshots = new ArrayList<>();
+        for (LatencyHistogram histogram : histograms.values()) {
+            snapshots.add(histogram.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(LatencyHistogram.Snapshot::count).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Logs one line per method called since the previous summary (figures are cumulative).
+     */
+    synchronized void logSummary() {
+        List<String> lines = new ArrayList<>();
+        for (LatencyHistogram.Snapshot s : snapshot()) {
+            Long previous = countsAtLastSummary.put(s.name(), s.count());
+            if (previous != null && previous == s.count()) {
+                continue;
+            }
+            lines.add(String.format("%s calls=%d errors=%d mean=%.1fms p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                    s.name(), s.count(), s.errors(), s.meanMillis(), s.p50Millis(), s.p95Millis(),
+                    s.p99Millis(), s.maxMillis()));
+        }
+        if (!lines.isEmpty()) {
+            loggingService.logPerformanceSummary(lines);
+        }
+    }
+}
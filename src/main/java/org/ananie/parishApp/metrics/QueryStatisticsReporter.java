@@ -0,0 +1,179 @@
+package org.ananie.parishApp.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.ananie.parishApp.services.LoggingService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Periodically reads the Hibernate statistics and logs what changed since the previous report:
+ * entity loads per query, entities and collections fetched one select at a time (the usual
+ * sign of an N+1), second-level cache hit ratio, the slowest HQL and the slow SQL of {@link SlowQueryLog}.
+ *
+ * Runs every {@code parish.metrics.summaryMinutes} (default 5, 0 disables); an entity or collection
+ * fetched at least {@code parish.metrics.nPlusOneFetches} times (default 50) in one interval is reported.
+ */
+@Component
+public class QueryStatisticsReporter {
+
+    private static final int SLOWEST_QUERIES = 5;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SlowQueryLog slowQueryLog;
+    private final LoggingService loggingService;
+
+    private final long reportMinutes = Long.getLong("parish.metrics.summaryMinutes", 5);
+    private final long nPlusOneFetches = Long.getLong("parish.metrics.nPlusOneFetches", 50);
+    private final Map<String, Long> countersAtLastReport = new HashMap<>();
+    private long slowSqlAtLastReport;
+    private ScheduledExecutorService reportScheduler;
+
+    /** Second-level cache figures; the ratio is -1 before any lookup. */
+    public record CacheFigures(long hits, long misses, long puts, double hitRatio) {
+    }
+
+    /** Execution figures of one HQL/JPQL string. */
+    public record QueryFigures(String query, long executions, long rows, long avgMillis, long maxMillis) {
+    }
+
+    @Autowired
+    public QueryStatisticsReporter(EntityManagerFactory entityManagerFactory, SlowQueryLog slowQueryLog,
+                                   LoggingService loggingService) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.slowQueryLog = slowQueryLog;
+        this.loggingService = loggingService;
+    }
+
+    @PostConstruct
+    void startReports() {
+        if (reportMinutes <= 0 || !statistics().isStatisticsEnabled()) {
+            return;
+        }
+        reportScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "query-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reportScheduler.scheduleAtFixedRate(this::logReport, reportMinutes, reportMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stopReports() {
+        if (reportScheduler != null) {
+            reportScheduler.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return statistics().isStatisticsEnabled();
+    }
+
+    public CacheFigures secondLevelCache() {
+        Statistics stats = statistics();
+        long hits = stats.getSecondLevelCacheHitCount();
+        long misses = stats.getSecondLevelCacheMissCount();
+        return new CacheFigures(hits, misses, stats.getSecondLevelCachePutCount(), ratio(hits, hits + misses));
+    }
+
+    /**
+     * @return entities loaded per query executed since startup, or -1 before the first query
+     */
+    public double entityLoadsPerQuery() {
+        Statistics stats = statistics();
+        return ratio(stats.getEntityLoadCount(), stats.getQueryExecutionCount());
+    }
+
+    /**
+     * @return the HQL/JPQL strings with the highest maximum execution time, slowest first
+     */
+    public List<QueryFigures> slowestQueries(int limit) {
+        Statistics stats = statistics();
+        List<QueryFigures> figures = new ArrayList<>();
+        for (String query : stats.getQueries()) {
+            QueryStatistics q = stats.getQueryStatistics(query);
+            figures.add(new QueryFigures(query, q.getExecutionCount(), q.getExecutionRowCount(),
+                    q.getExecutionAvgTime(), q.getExecutionMaxTime()));
+        }
+        figures.sort(Comparator.comparingLong(QueryFigures::maxMillis).reversed());
+        return figures.subList(0, Math.min(limit, figures.size()));
+    }
+
+    /**
+     * Logs the figures that changed since the previous report; nothing when the database was idle.
+     */
+    synchronized void logReport() {
+        Statistics stats = statistics();
+        long queries = delta("queries", stats.getQueryExecutionCount());
+        long loads = delta("entityLoads", stats.getEntityLoadCount());
+        long hits = delta("l2Hits", stats.getSecondLevelCacheHitCount());
+        long misses = delta("l2Misses", stats.getSecondLevelCacheMissCount());
+        long statements = delta("statements", stats.getPrepareStatementCount());
+        if (statements == 0) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "statements=%d queries=%d entityLoads=%d loadsPerQuery=%.1f",
+                statements, queries, loads, ratio(loads, queries)));
+        if (hits + misses > 0) {
+            lines.add(String.format(Locale.ROOT, "L2 cache hits=%d misses=%d hitRatio=%.2f",
+                    hits, misses, ratio(hits, hits + misses)));
+        }
+
+        for (String entity : stats.getEntityNames()) {
+            long fetches = delta("fetch:" + entity, stats.getEntityStatistics(entity).getFetchCount());
+            if (fetches >= nPlusOneFetches) {
+                lines.add("Possible N+1: " + entity + " fetched one by one " + fetches + " times");
+            }
+        }
+        for (String role : stats.getCollectionRoleNames()) {
+            long fetches = delta("fetch:" + role, stats.getCollectionStatistics(role).getFetchCount());
+            if (fetches >= nPlusOneFetches) {
+                lines.add("Possible N+1: collection " + role + " fetched one by one " + fetches + " times");
+            }
+        }
+
+        for (QueryFigures q : slowestQueries(SLOWEST_QUERIES)) {
+            lines.add(String.format(Locale.ROOT, "HQL max=%dms avg=%dms runs=%d rows=%d: %s",
+                    q.maxMillis(), q.avgMillis(), q.executions(), q.rows(), q.query()));
+        }
+
+        long slowSql = slowQueryLog.getRecordedCount();
+        long newSlowSql = slowSql - slowSqlAtLastReport;
+        slowSqlAtLastReport = slowSql;
+        List<SlowQueryLog.SlowQuery> recent = slowQueryLog.recent();
+        for (SlowQueryLog.SlowQuery q : recent.subList(0, (int) Math.min(newSlowSql, Math.min(SLOWEST_QUERIES, recent.size())))) {
+            lines.add(String.format(Locale.ROOT, "Slow SQL %dms binds=%d: %s", q.millis(), q.bindCount(), q.sql()));
+        }
+        loggingService.logQueryReport(lines);
+    }
+
+    private long delta(String counter, long current) {
+        Long previous = countersAtLastReport.put(counter, current);
+        return previous == null ? current : current - previous;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? -1 : (double) part / whole;
+    }
+}
@@ -0,0 +1,85 @@
+package org.ananie.parishApp.metrics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+
+/**
+ * Bounded ring buffer of the most recent SQL statements slower than the threshold.
+ * Hibernate reports them through the statistics factory, so no statement is printed or
+ * formatted unless it is slow.
+ *
+ * Tunable with system properties: {@code parish.metrics.slowSqlMillis} (default 200)
+ * and {@code parish.metrics.slowSqlCapacity} (default 100).
+ */
+public class SlowQueryLog {
+
+    private final long thresholdMillis = Long.getLong("parish.metrics.slowSqlMillis", 200);
+    private final SlowQuery[] entries = new SlowQuery[Math.max(1, Integer.getInteger("parish.metrics.slowSqlCapacity", 100))];
+    private long recorded;
+
+    /** One slow statement; bindCount is the number of JDBC parameters it took. */
+    public record SlowQuery(LocalDateTime at, String sql, long millis, int bindCount) {
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    /**
+     * Statistics that also feed this log; register with {@code hibernate.stats.factory}.
+     */
+    public StatisticsFactory statisticsFactory() {
+        return sessionFactory -> new StatisticsImpl(sessionFactory) {
+            @Override
+            public void slowQuery(String sql, long executionTime) {
+                super.slowQuery(sql, executionTime);
+                record(sql, executionTime);
+            }
+        };
+    }
+
+    public synchronized void record(String sql, long millis) {
+        entries[(int) (recorded % entries.length)] = new SlowQuery(LocalDateTime.now(), sql, millis, bindCount(sql));
+        recorded++;
+    }
+
+    /**
+     * @return total slow statements seen, including those already pushed out of the buffer
+     */
+    public synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    /**
+     * @return the buffered statements, newest first
+     */
+    public synchronized List<SlowQuery> recent() {
+        int size = (int) Math.min(recorded, entries.length);
+        List<SlowQuery> recent = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            recent.add(entries[(int) ((recorded - i) % entries.length)]);
+        }
+        return recent;
+    }
+
+    /**
+     * Counts the ? placeholders outside of quoted literals.
+     */
+    static int bindCount(String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,180 @@
+package org.ananie.parishApp.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Startup phases of one launch, in ms since the JVM process started, plus the slowest Spring beans.
+ * Install it on the context with {@code setApplicationStartup} before refresh; each bean is timed
+ * without the beans it created as dependencies, so the entity manager factory is not counted again
+ * in every repository and service.
+ *
+ * Every launch appends one row to {@value #CSV_FILE} in the logs directory, which keeps time-to-login
+ * comparable across releases on the same PC.
+ */
+public class StartupTimeline implements ApplicationStartup {
+
+    public static final String MAIN = "main";
+    public static final String FX_INIT = "fx_init";
+    public static final String LOGIN_SHOWN = "login_shown";
+    public static final String CONTEXT_READY = "context_ready";
+
+    public static final String CSV_FILE = "startup-times.csv";
+
+    private static final List<String> PHASES = List.of(MAIN, FX_INIT, LOGIN_SHOWN, CONTEXT_READY);
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+    private static final int SLOWEST_BEANS = 5;
+
+    private final long jvmStart = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli).orElse(System.currentTimeMillis());
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, Long> beanMillis = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<BeanStep>> creating = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile Consumer<String> beanListener = beanName -> { };
+
+    /**
+     * Records a phase as reached now; a phase keeps the time it was first reached.
+     */
+    public synchronized void mark(String phase) {
+        phases.putIfAbsent(phase, System.currentTimeMillis() - jvmStart);
+    }
+
+    /** Milliseconds from JVM start to the phase, or -1 when it was not reached. */
+    public synchronized long millis(String phase) {
+        return phases.getOrDefault(phase, -1L);
+    }
+
+    /**
+     * Called with the name of each bean as its creation starts, on the thread creating it.
+     */
+    public void onBeanCreation(Consumer<String> listener) {
+        this.beanListener = listener;
+    }
+
+    /** The beans that took longest to create, slowest first. */
+    public List<Map.Entry<String, Long>> slowestBeans() {
+        return beanMillis.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(SLOWEST_BEANS)
+                .toList();
+    }
+
+    public synchronized String summary() {
+        String reached = phases.entrySet().stream()
+                .map(phase -> phase.getKey() + " " + phase.getValue() + " ms")
+                .collect(Collectors.joining(", "));
+        String beans = slowestBeans().stream()
+                .map(bean -> bean.getKey() + " " + bean.getValue() + " ms")
+                .collect(Collectors.joining(", "));
+        return reached + "; slowest beans: " + beans;
+    }
+
+    /**
+     * Appends this launch to the CSV file, writing the header when the file is new.
+     */
+    public synchronized void append(Path file, String version) throws IOException {
+        StringBuilder row = new StringBuilder();
+        if (!Files.exists(file)) {
+            row.append("started_at,version,").append(String.join(",", PHASES))
+                    .append(",slowest_beans").append(System.lineSeparator());
+        }
+        row.append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                .append(',').append(version);
+        for (String phase : PHASES) {
+            row.append(',').append(millis(phase));
+        }
+        row.append(',').append(slowestBeans().stream()
+                        .map(bean -> bean.getKey() + ":" + bean.getValue())
+                        .collect(Collectors.joining(";")))
+                .append(System.lineSeparator());
+        Files.writeString(file, row, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        StartupStep step = ApplicationStartup.DEFAULT.start(name);
+        return BEAN_INSTANTIATE.equals(name) ? new BeanStep(step) : step;
+    }
+
+    /** Times one bean creation; nested creations are subtracted from the enclosing one. */
+    private final class BeanStep implements StartupStep {
+
+        private final StartupStep delegate;
+        private final long startTime = System.currentTimeMillis();
+        private String beanName;
+        private long dependencyMillis;
+
+        BeanStep(StartupStep delegate) {
+            this.delegate = delegate;
+            creating.get().push(this);
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public long getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public Long getParentId() {
+            return delegate.getParentId();
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            if ("beanName".equals(key) && beanName == null) {
+                // factory beans are created under their &name
+                beanName = BeanFactoryUtils.transformedBeanName(value);
+                beanListener.accept(beanName);
+            }
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Override
+        public Tags getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public void end() {
+            long elapsed = System.currentTimeMillis() - startTime;
+            Deque<BeanStep> stack = creating.get();
+            stack.remove(this);
+            BeanStep parent = stack.peek();
+            if (parent != null) {
+                parent.dependencyMillis += elapsed;
+            }
+            if (beanName != null) {
+                beanMillis.merge(beanName, elapsed - dependencyMillis, Long::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.ananie.parishApp.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Live figures for the diagnostics view: method latencies from {@link MetricsRegistry},
+ * Hibernate statistics and Hikari pool usage, plus a CSV export of all of them.
+ */
+@Component
+public class SystemDiagnostics {
+
+    private static final int LISTED_QUERIES = 5;
+
+    private final MetricsRegistry metricsRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final QueryStatisticsReporter queryStatisticsReporter;
+    private final SlowQueryLog slowQueryLog;
+
+    /** One named figure, grouped by its source. */
+    public record Gauge(String group, String name, String value) {
+    }
+
+    @Autowired
+    public SystemDiagnostics(MetricsRegistry metricsRegistry, EntityManagerFactory entityManagerFactory,
+                             DataSource dataSource, QueryStatisticsReporter queryStatisticsReporter,
+                             SlowQueryLog slowQueryLog) {
+        this.metricsRegistry = metricsRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.queryStatisticsReporter = queryStatisticsReporter;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    public List<LatencyHistogram.Snapshot> methodLatencies() {
+        return metricsRegistry.snapshot();
+    }
+
+    public List<Gauge> gauges() {
+        List<Gauge> gauges = new ArrayList<>();
+        addHibernateStatistics(gauges);
+        addQueryFindings(gauges);
+        addPoolStatistics(gauges);
+        return gauges;
+    }
+
+    private void addHibernateStatistics(List<Gauge> gauges) {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!stats.isStatisticsEnabled()) {
+            gauges.add(new Gauge("Hibernate", "Statistics", "disabled"));
+            return;
+        }
+        gauges.add(new Gauge("Hibernate", "Sessions opened", String.valueOf(stats.getSessionOpenCount())));
+        gauges.add(new Gauge("Hibernate", "Transactions", String.valueOf(stats.getTransactionCount())));
+        gauges.add(new Gauge("Hibernate", "Statements prepared", String.valueOf(stats.getPrepareStatementCount())));
+        gauges.add(new Gauge("Hibernate", "Queries executed", String.valueOf(stats.getQueryExecutionCount())));
+        gauges.add(new Gauge("Hibernate", "Entities loaded", String.valueOf(stats.getEntityLoadCount())));
+        gauges.add(new Gauge("Hibernate", "Entities fetched", String.valueOf(stats.getEntityFetchCount())));
+        gauges.add(new Gauge("Hibernate", "Collections loaded", String.valueOf(stats.getCollectionLoadCount())));
+        gauges.add(new Gauge("Hibernate", "Entities inserted", String.valueOf(stats.getEntityInsertCount())));
+        gauges.add(new Gauge("Hibernate", "Entities updated", String.valueOf(stats.getEntityUpdateCount())));
+        gauges.add(new Gauge("Hibernate", "Entities deleted", String.valueOf(stats.getEntityDeleteCount())));
+        gauges.add(new Gauge("Hibernate", "Flushes", String.valueOf(stats.getFlushCount())));
+        gauges.add(new Gauge("Hibernate", "L2 cache hits", String.valueOf(stats.getSecondLevelCacheHitCount())));
+        gauges.add(new Gauge("Hibernate", "L2 cache misses", String.valueOf(stats.getSecondLevelCacheMissCount())));
+        gauges.add(new Gauge("Hibernate", "Optimistic lock failures", String.valueOf(stats.getOptimisticFailureCount())));
+    }
+
+    private void addQueryFindings(List<Gauge> gauges) {
+        if (queryStatisticsReporter.isEnabled()) {
+            QueryStatisticsReporter.CacheFigures cache = queryStatisticsReporter.secondLevelCache();
+            gauges.add(new Gauge("Queries", "Entity loads per query",
+                    String.format(Locale.ROOT, "%.1f", queryStatisticsReporter.entityLoadsPerQuery())));
+            gauges.add(new Gauge("Queries", "L2 cache hit ratio",
+                    String.format(Locale.ROOT, "%.2f (hits=%d misses=%d puts=%d)",
+                            cache.hitRatio(), cache.hits(), cache.misses(), cache.puts())));
+            for (QueryStatisticsReporter.QueryFigures q : queryStatisticsReporter.slowestQueries(LISTED_QUERIES)) {
+                gauges.add(new Gauge("Queries", String.format(Locale.ROOT, "HQL max %d ms, avg %d ms, %d runs",
+                        q.maxMillis(), q.avgMillis(), q.executions()), q.query()));
+            }
+        }
+        List<SlowQueryLog.SlowQuery> slow = slowQueryLog.recent();
+        gauges.add(new Gauge("Slow SQL", "Over " + slowQueryLog.getThresholdMillis() + " ms",
+                String.valueOf(slowQueryLog.getRecordedCount())));
+        for (SlowQueryLog.SlowQuery q : slow.subList(0, Math.min(LISTED_QUERIES, slow.size()))) {
+            gauges.add(new Gauge("Slow SQL", String.format(Locale.ROOT, "%s %d ms, %d binds",
+                    q.at().toLocalTime().withNano(0), q.millis(), q.bindCount()), q.sql()));
+        }
+    }
+
+    private void addPoolStatistics(List<Gauge> gauges) {
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            gauges.add(new Gauge("Pool", "Type", dataSource.getClass().getSimpleName()));
+            return;
+        }
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        gauges.add(new Gauge("Pool", "Name", hikari.getPoolName()));
+        gauges.add(new Gauge("Pool", "Maximum size", String.valueOf(hikari.getMaximumPoolSize())));
+        if (pool == null) {
+            gauges.add(new Gauge("Pool", "State", "not started"));
+            return;
+        }
+        gauges.add(new Gauge("Pool", "Active connections", String.valueOf(pool.getActiveConnections())));
+        gauges.add(new Gauge("Pool", "Idle connections", String.valueOf(pool.getIdleConnections())));
+        gauges.add(new Gauge("Pool", "Total connections", String.valueOf(pool.getTotalConnections())));
+        gauges.add(new Gauge("Pool", "Threads waiting", String.valueOf(pool.getThreadsAwaitingConnection())));
+    }
+
+    /**
+     * Writes the method latencies and the gauges into one CSV file.
+     */
+    public void exportCsv(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("method,calls,errors,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            out.newLine();
+            for (LatencyHistogram.Snapshot s : methodLatencies()) {
+                out.write(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f",
+                        csv(s.name()), s.count(), s.errors(), s.meanMillis(), s.p50Millis(),
+                        s.p95Millis(), s.p99Millis(), s.maxMillis()));
+                out.newLine();
+            }
+            out.newLine();
+            out.write("group,name,value");
+            out.newLine();
+            for (Gauge gauge : gauges()) {
+                out.write(csv(gauge.group()) + "," + csv(gauge.name()) + "," + csv(gauge.value()));
+                out.newLine();
+            }
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
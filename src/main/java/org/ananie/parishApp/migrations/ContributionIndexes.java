@@ -0,0 +1,28 @@
+package org.ananie.parishApp.migrations;
+
+import java.sql.SQLException;
+
+/**
+ * The report indexes of amaturo, abakristu and impuza. Databases that were last started under
+ * hbm2ddl=update may already have them, so each one is only built when missing.
+ */
+final class ContributionIndexes implements JavaMigration {
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public String description() {
+        return "Indexes of amaturo, abakristu and impuza";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        context.createIndex("amaturo", "idx_amaturo_umukristu_umwaka", "faithful_id, umwaka");
+        context.createIndex("amaturo", "idx_amaturo_umwaka_umukristu_amafranga", "umwaka, faithful_id, amafranga");
+        context.createIndex("abakristu", "idx_abakristu_impuza_amazina", "bec_id, amazina");
+        context.createIndex("impuza", "idx_impuza_santarali", "sub_parish_id");
+    }
+}
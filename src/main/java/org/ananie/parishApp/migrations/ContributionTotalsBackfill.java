@@ -0,0 +1,150 @@
+package org.ananie.parishApp.migrations;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.ananie.parishApp.model.IdGenerators;
+
+/**
+ * First fill of the ibiteranyo summary table from amaturo, for databases that had contributions before
+ * the table existed. amaturo is read in slices of ids, each slice one short grouped query, and only the
+ * summary rows (one per BEC and year) are kept in memory; they are written in a single transaction.
+ * Does nothing when ibiteranyo already has rows, since ContributionTotalsService keeps it up to date.
+ * Contributions of a faithful without a BEC, or of a BEC that is missing or has no sub-parish, have no summary
+ * row to go to; they are left out and their number is reported.
+ */
+final class ContributionTotalsBackfill implements JavaMigration {
+
+    private static final int BATCH_SIZE = 20_000;
+
+    private record Key(long becId, int year) {
+    }
+
+    private static final class Sum {
+        BigDecimal amount = BigDecimal.ZERO;
+        long count;
+    }
+
+    @Override
+    public int version() {
+        return 3;
+    }
+
+    @Override
+    public String description() {
+        return "Fill ibiteranyo from amaturo";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        Connection connection = context.connection();
+        if (singleLong(connection, "SELECT COUNT(*) FROM ibiteranyo") > 0) {
+            return;
+        }
+
+        Map<Key, Sum> sums = new LinkedHashMap<>();
+        long[] skipped = new long[1];
+        try (PreparedStatement slice = connection.prepareStatement(
+                "SELECT f.bec_id, c.umwaka, SUM(c.amafranga), COUNT(*) FROM amaturo c "
+                        + "JOIN abakristu f ON f.id = c.faithful_id "
+                        + "WHERE c.id > ? AND c.id <= ? GROUP BY f.bec_id, c.umwaka")) {
+            context.forEachIdRange("amaturo", BATCH_SIZE, (fromExclusive, toInclusive) -> {
+                slice.setLong(1, fromExclusive);
+                slice.setLong(2, toInclusive);
+                try (ResultSet rows = slice.executeQuery()) {
+                    while (rows.next()) {
+                        long becId = rows.getLong(1);
+                        if (rows.wasNull()) {
+                            skipped[0] += rows.getLong(4);
+                            continue;
+                        }
+                        Sum sum = sums.computeIfAbsent(new Key(becId, rows.getInt(2)), key -> new Sum());
+                        sum.amount = sum.amount.add(rows.getBigDecimal(3));
+                        sum.count += rows.getLong(4);
+                    }
+                }
+            });
+        }
+        if (sums.isEmpty()) {
+            reportSkipped(context, skipped[0]);
+            return;
+        }
+
+        Map<Long, Long> subParishByBec = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet becs = statement.executeQuery("SELECT id, sub_parish_id FROM impuza")) {
+            while (becs.next()) {
+                long subParishId = becs.getLong(2);
+                if (!becs.wasNull()) {
+                    subParishByBec.put(becs.getLong(1), subParishId);
+                }
+            }
+        }
+
+        // Ids continue after the generator row, which is moved past them in the same transaction
+        long lastId = Math.max(singleLong(connection, "SELECT COALESCE(MAX(id), 0) FROM ibiteranyo"),
+                singleLong(connection, "SELECT COALESCE(MAX(" + IdGenerators.VALUE_COLUMN + "), 0) FROM "
+                        + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = '"
+                        + IdGenerators.CONTRIBUTION_TOTAL + "'"));
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO ibiteranyo "
+                + "(id, sub_parish_id, bec_id, umwaka, amafranga, umubare) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (Map.Entry<Key, Sum> entry : sums.entrySet()) {
+                Long subParishId = subParishByBec.get(entry.getKey().becId());
+                if (subParishId == null) {
+                    skipped[0] += entry.getValue().count;
+                    continue;
+                }
+                insert.setLong(1, ++lastId);
+                insert.setLong(2, subParishId);
+                insert.setLong(3, entry.getKey().becId());
+                insert.setInt(4, entry.getKey().year());
+                insert.setBigDecimal(5, entry.getValue().amount);
+                insert.setLong(6, entry.getValue().count);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            try (PreparedStatement generator = connection.prepareStatement("UPDATE " + IdGenerators.TABLE + " SET "
+                    + IdGenerators.VALUE_COLUMN + " = ? WHERE " + IdGenerators.NAME_COLUMN + " = ?")) {
+                generator.setLong(1, lastId);
+                generator.setString(2, IdGenerators.CONTRIBUTION_TOTAL);
+                if (generator.executeUpdate() == 0) {
+                    try (PreparedStatement row = connection.prepareStatement("INSERT INTO " + IdGenerators.TABLE + " ("
+                            + IdGenerators.NAME_COLUMN + ", " + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)")) {
+                        row.setString(1, IdGenerators.CONTRIBUTION_TOTAL);
+                        row.setLong(2, lastId);
+                        row.executeUpdate();
+                    }
+                }
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        reportSkipped(context, skipped[0]);
+    }
+
+    private static void reportSkipped(MigrationContext context, long skipped) {
+        if (skipped > 0) {
+            context.report("ibiteranyo backfill left out " + skipped
+                    + " contribution(s) whose faithful has no BEC, or whose BEC is missing or has no sub-parish");
+        }
+    }
+
+    private static long singleLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
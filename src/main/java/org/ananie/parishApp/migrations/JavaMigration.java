@@ -0,0 +1,16 @@
+package org.ananie.parishApp.migrations;
+
+import java.sql.SQLException;
+
+/**
+ * A schema change that needs code rather than a script: conditional DDL or a data backfill.
+ * Versions share one sequence with the V&lt;n&gt;__*.sql scripts.
+ */
+interface JavaMigration {
+
+    int version();
+
+    String description();
+
+    void migrate(MigrationContext context) throws SQLException;
+}
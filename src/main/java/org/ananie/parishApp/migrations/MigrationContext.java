@@ -0,0 +1,125 @@
+package org.ananie.parishApp.migrations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.ananie.parishApp.services.LoggingService;
+
+/**
+ * What a migration gets to work with: an auto-commit connection, vendor-aware helpers and the application log.
+ */
+final class MigrationContext {
+
+    enum Vendor {
+        MYSQL("mysql"), H2("h2");
+
+        private final String scriptDirectory;
+
+        Vendor(String scriptDirectory) {
+            this.scriptDirectory = scriptDirectory;
+        }
+
+        String scriptDirectory() {
+            return scriptDirectory;
+        }
+
+        static Vendor of(Connection connection) throws SQLException {
+            String product = connection.getMetaData().getDatabaseProductName();
+            if (product.toLowerCase().contains("mysql")) {
+                return MYSQL;
+            }
+            if (product.toLowerCase().contains("h2")) {
+                return H2;
+            }
+            throw new IllegalStateException("No schema migrations for database " + product);
+        }
+    }
+
+    /** Called for each slice of ids, bounds as given to the WHERE clause. */
+    @FunctionalInterface
+    interface IdRangeAction {
+        void apply(long fromExclusive, long toInclusive) throws SQLException;
+    }
+
+    private final Connection connection;
+    private final Vendor vendor;
+    private final LoggingService loggingService;
+
+    MigrationContext(Connection connection, Vendor vendor, LoggingService loggingService) {
+        this.connection = connection;
+        this.vendor = vendor;
+        this.loggingService = loggingService;
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    Vendor vendor() {
+        return vendor;
+    }
+
+    /**
+     * Records something a migration left out or worked around, for whoever checks the upgrade.
+     */
+    void report(String message) {
+        loggingService.logUserAction("SCHEMA_MIGRATION", message);
+    }
+
+    void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * Creates the index unless it exists. On MySQL the build is in place and without a table lock,
+     * so the application can keep reading and writing the table while a large index is built.
+     */
+    void createIndex(String table, String index, String columns) throws SQLException {
+        if (vendor == Vendor.H2) {
+            execute("CREATE INDEX IF NOT EXISTS " + index + " ON " + table + " (" + columns + ")");
+            return;
+        }
+        try (PreparedStatement exists = connection.prepareStatement("SELECT COUNT(*) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?")) {
+            exists.setString(1, table);
+            exists.setString(2, index);
+            try (ResultSet result = exists.executeQuery()) {
+                if (result.next() && result.getLong(1) > 0) {
+                    return;
+                }
+            }
+        }
+        execute("ALTER TABLE " + table + " ADD INDEX " + index + " (" + columns + "), ALGORITHM=INPLACE, LOCK=NONE");
+    }
+
+    /**
+     * Walks the id range of a table in slices of {@code batchSize} ids, so a backfill of a large table is made
+     * of short statements (each its own transaction in auto-commit) instead of one long one.
+     *
+     * @return number of slices
+     */
+    int forEachIdRange(String table, int batchSize, IdRangeAction action) throws SQLException {
+        long minId;
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet bounds = statement.executeQuery("SELECT MIN(id), MAX(id) FROM " + table)) {
+            bounds.next();
+            minId = bounds.getLong(1);
+            maxId = bounds.getLong(2);
+            if (bounds.wasNull()) {
+                return 0;
+            }
+        }
+        int slices = 0;
+        for (long from = minId - 1; from < maxId; from += batchSize) {
+            action.apply(from, Math.min(maxId, from + batchSize));
+            slices++;
+        }
+        return slices;
+    }
+}
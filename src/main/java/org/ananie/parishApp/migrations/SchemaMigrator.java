@@ -0,0 +1,234 @@
+package org.ananie.parishApp.migrations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import javax.sql.DataSource;
+
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Versioned schema migrations, run before the entity manager factory starts (it depends on this bean).
+ *
+ * Migrations are the scripts {@code db/migration/<vendor>/V<n>__<description>.sql} on the classpath and the
+ * {@link JavaMigration}s listed below, applied once each in version order and recorded in
+ * {@value #HISTORY_TABLE}. A start with nothing pending costs one query: the recorded versions are compared
+ * with the known ones, and a script edited after it was applied, or a database newer than the application,
+ * stops the start instead of being diffed. V1 is written with IF NOT EXISTS, so databases created by the
+ * former hbm2ddl=update take it as their baseline.
+ */
+@Component
+public class SchemaMigrator {
+
+    static final String HISTORY_TABLE = "schema_versions";
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    // MySQL runs one migration at a time across application instances starting together
+    private static final String MYSQL_LOCK = "parishApp.schema_versions";
+    private static final int MYSQL_LOCK_SECONDS = 300;
+
+    private static final List<JavaMigration> JAVA_MIGRATIONS = List.of(
+            new ContributionIndexes(),
+            new ContributionTotalsBackfill());
+
+    /** A known migration; {@code script} is null for Java migrations. */
+    private record Migration(int version, String description, String script, JavaMigration code) {
+
+        long checksum() {
+            if (script == null) {
+                return 0;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            return crc.getValue();
+        }
+    }
+
+    private final DataSource dataSource;
+    private final LoggingService loggingService;
+
+    @Autowired
+    public SchemaMigrator(DataSource dataSource, LoggingService loggingService) {
+        this.dataSource = dataSource;
+        this.loggingService = loggingService;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        long startTime = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            MigrationContext.Vendor vendor = MigrationContext.Vendor.of(connection);
+            MigrationContext context = new MigrationContext(connection, vendor, loggingService);
+            if (vendor == MigrationContext.Vendor.MYSQL) {
+                lock(connection);
+            }
+            try {
+                int applied = migrate(context, knownMigrations(vendor));
+                loggingService.logPerformance("Schema check (" + applied + " migration(s) applied)",
+                        System.currentTimeMillis() - startTime);
+            } finally {
+                if (vendor == MigrationContext.Vendor.MYSQL) {
+                    context.execute("DO RELEASE_LOCK('" + MYSQL_LOCK + "')");
+                }
+            }
+        } catch (SQLException | IOException e) {
+            loggingService.logError("SCHEMA_MIGRATION", e);
+            throw new IllegalStateException("Schema migration failed: " + e.getMessage(), e);
+        }
+    }
+
+    private int migrate(MigrationContext context, TreeMap<Integer, Migration> known) throws SQLException {
+        context.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                + "version INT NOT NULL PRIMARY KEY, "
+                + "description VARCHAR(200) NOT NULL, "
+                + "checksum BIGINT NOT NULL, "
+                + "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL, "
+                + "execution_ms BIGINT NOT NULL)");
+
+        Map<Integer, Long> recorded = new TreeMap<>();
+        try (Statement statement = context.connection().createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rows.next()) {
+                recorded.put(rows.getInt(1), rows.getLong(2));
+            }
+        }
+        for (Map.Entry<Integer, Long> entry : recorded.entrySet()) {
+            Migration migration = known.get(entry.getKey());
+            if (migration == null) {
+                throw new IllegalStateException("Database schema V" + entry.getKey()
+                        + " is newer than this version of the application");
+            }
+            if (migration.checksum() != entry.getValue()) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                        + ") was changed after it was applied");
+            }
+        }
+
+        int applied = 0;
+        for (Migration migration : known.values()) {
+            if (recorded.containsKey(migration.version())) {
+                continue;
+            }
+            long startTime = System.currentTimeMillis();
+            try {
+                if (migration.code() != null) {
+                    migration.code().migrate(context);
+                } else {
+                    for (String sql : statements(migration.script())) {
+                        context.execute(sql);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                        + ") failed: " + e.getMessage(), e);
+            }
+            long elapsed = System.currentTimeMillis() - startTime;
+            try (PreparedStatement record = context.connection().prepareStatement("INSERT INTO " + HISTORY_TABLE
+                    + " (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+                record.setInt(1, migration.version());
+                record.setString(2, migration.description());
+                record.setLong(3, migration.checksum());
+                record.setLong(4, elapsed);
+                record.executeUpdate();
+            }
+            loggingService.logUserAction("SCHEMA_MIGRATION", "V" + migration.version() + " "
+                    + migration.description() + " applied in " + elapsed + " ms");
+            applied++;
+        }
+        return applied;
+    }
+
+    private static TreeMap<Integer, Migration> knownMigrations(MigrationContext.Vendor vendor) throws IOException {
+        TreeMap<Integer, Migration> known = new TreeMap<>();
+        Resource[] scripts = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:db/migration/" + vendor.scriptDirectory() + "/V*__*.sql");
+        for (Resource script : scripts) {
+            Matcher name = SCRIPT_NAME.matcher(script.getFilename());
+            if (!name.matches()) {
+                throw new IllegalStateException("Badly named migration script " + script.getFilename());
+            }
+            String text;
+            try (InputStream in = script.getInputStream()) {
+                text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            add(known, new Migration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '), text, null));
+        }
+        for (JavaMigration migration : JAVA_MIGRATIONS) {
+            add(known, new Migration(migration.version(), migration.description(), null, migration));
+        }
+        return known;
+    }
+
+    private static void add(Map<Integer, Migration> known, Migration migration) {
+        Migration previous = known.putIfAbsent(migration.version(), migration);
+        if (previous != null) {
+            throw new IllegalStateException("Two migrations share version V" + migration.version() + ": "
+                    + previous.description() + ", " + migration.description());
+        }
+    }
+
+    /**
+     * Splits a script on the semicolons that end its statements; -- comments are dropped.
+     */
+    static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inString = false;
+        for (String line : script.split("\r?\n")) {
+            if (!inString && line.trim().startsWith("--")) {
+                continue;
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '\'') {
+                    inString = !inString;
+                }
+                if (c == ';' && !inString) {
+                    if (!current.toString().isBlank()) {
+                        statements.add(current.toString().trim());
+                    }
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            current.append('\n');
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static void lock(Connection connection) throws SQLException {
+        try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            lock.setString(1, MYSQL_LOCK);
+            lock.setInt(2, MYSQL_LOCK_SECONDS);
+            try (ResultSet result = lock.executeQuery()) {
+                if (!result.next() || result.getInt(1) != 1) {
+                    throw new IllegalStateException("Another instance is still migrating the database schema");
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.ananie.parishApp.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -7,11 +8,16 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -22,7 +28,10 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "impuza", uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "sub_parish_id"})})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bec")
+@Table(name = "impuza", uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "sub_parish_id"})},
+    indexes = @Index(name = "idx_impuza_santarali", columnList = "sub_parish_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,7 +39,10 @@ import java.util.Set;
 public class BEC {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.BEC)
+    @TableGenerator(name = IdGenerators.BEC, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.BEC, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", nullable = false)
@@ -40,7 +52,7 @@ public class BEC {
     @JoinColumn(name = "sub_parish_id", nullable = false)
     private SubParish subParish;
 
-    @OneToMany(mappedBy = "bec", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "bec", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<Faithful> faithfuls = new HashSet<>();
 
     public BEC(String name, SubParish subParish) {
@@ -15,23 +15,44 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
-@Table(name = "amaturo")
+// (umukristu, umwaka) serves a faithful's history; (umwaka, umukristu, amafranga) covers the per-year sums
+@Table(name = "amaturo", indexes = {
+    @Index(name = "idx_amaturo_umukristu_umwaka", columnList = "faithful_id, umwaka"),
+    @Index(name = "idx_amaturo_umwaka_umukristu_amafranga", columnList = "umwaka, faithful_id, amafranga")
+})
+// Report plan: contribution rows together with the faithful, BEC and sub-parish they are reported under
+@NamedEntityGraph(name = Contribution.GRAPH_REPORT,
+    attributeNodes = @NamedAttributeNode(value = "faithful", subgraph = "faithful.bec"),
+    subgraphs = {
+        @NamedSubgraph(name = "faithful.bec", attributeNodes = @NamedAttributeNode(value = "bec", subgraph = "bec.subParish")),
+        @NamedSubgraph(name = "bec.subParish", attributeNodes = @NamedAttributeNode("subParish"))
+    })
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString(exclude = {"faithful"}) // Exclude parent object to prevent recursion
 public class Contribution {
 
+    public static final String GRAPH_REPORT = "Contribution.report";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.CONTRIBUTION)
+    @TableGenerator(name = IdGenerators.CONTRIBUTION, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.CONTRIBUTION, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "faithful_id", nullable = false)
     private Faithful faithful;
 
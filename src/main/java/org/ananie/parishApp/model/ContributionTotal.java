@@ -0,0 +1,80 @@
+package org.ananie.parishApp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Running total of contributions per (sub-parish, BEC, year), kept in step with
+ * amaturo by ContributionTotalsService so summaries never scan the full history.
+ */
+@Entity
+@Table(name = "ibiteranyo",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"bec_id", "umwaka"}),
+    indexes = @Index(name = "idx_ibiteranyo_santarali_umwaka", columnList = "sub_parish_id, umwaka"))
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(exclude = {"subParish", "bec"})
+public class ContributionTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.CONTRIBUTION_TOTAL)
+    @TableGenerator(name = IdGenerators.CONTRIBUTION_TOTAL, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.CONTRIBUTION_TOTAL, allocationSize = IdGenerators.ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sub_parish_id", nullable = false)
+    private SubParish subParish;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bec_id", nullable = false)
+    private BEC bec;
+
+    @Column(name = "umwaka", nullable = false)
+    private Integer year;
+
+    @Column(name = "amafranga", nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Column(name = "umubare", nullable = false)
+    private long contributionCount;
+
+    public ContributionTotal(BEC bec, Integer year) {
+        this.subParish = bec.getSubParish();
+        this.bec = bec;
+        this.year = year;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ContributionTotal that = (ContributionTotal) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
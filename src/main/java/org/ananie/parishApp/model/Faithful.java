@@ -17,21 +17,46 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
-@Table(name = "abakristu")
+@Table(name = "abakristu", indexes = @Index(name = "idx_abakristu_impuza_amazina", columnList = "bec_id, amazina"))
+@NamedEntityGraphs({
+    // List view plan: only what the faithful tables and combo boxes display
+    @NamedEntityGraph(name = Faithful.GRAPH_LIST,
+        attributeNodes = @NamedAttributeNode(value = "bec", subgraph = "bec.subParish"),
+        subgraphs = @NamedSubgraph(name = "bec.subParish", attributeNodes = @NamedAttributeNode("subParish"))),
+    // Detail view plan: a single faithful together with its contribution history
+    @NamedEntityGraph(name = Faithful.GRAPH_DETAIL,
+        attributeNodes = {
+            @NamedAttributeNode(value = "bec", subgraph = "bec.subParish"),
+            @NamedAttributeNode("contributions")
+        },
+        subgraphs = @NamedSubgraph(name = "bec.subParish", attributeNodes = @NamedAttributeNode("subParish")))
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString(exclude = {"contributions", "bec"}) // Exclude collections and parent object to prevent recursion
 public class Faithful {
 
+    public static final String GRAPH_LIST = "Faithful.list";
+    public static final String GRAPH_DETAIL = "Faithful.detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.FAITHFUL)
+    @TableGenerator(name = IdGenerators.FAITHFUL, table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = IdGenerators.FAITHFUL, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "amazina", nullable = false)
@@ -53,7 +78,7 @@ public class Faithful {
     @JoinColumn(name = "bec_id", nullable = false)
     private BEC bec;
 
-    @OneToMany(mappedBy = "faithful", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "faithful", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Set<Contribution> contributions = new HashSet<>();
 
     public Faithful(String name, String contactNumber, String address, String baptismYear, String occupation, BEC bec) {
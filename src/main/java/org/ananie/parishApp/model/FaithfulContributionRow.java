@@ -1,41 +1,66 @@
 package org.ananie.parishApp.model;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
-//@Component
+/**
+ * One row of the contribution matrix: a faithful and their totals per year.
+ * Amounts are held densely as minor units (hundredths of a franc) aligned with a
+ * year axis shared by every row of the same matrix.
+ */
 public class FaithfulContributionRow {
-    private String name;
-    private Map<Integer, BigDecimal> yearlyContributions = new HashMap<>();
-	private Object totalContribution;
 
-    public FaithfulContributionRow(String name) {
+    /** Amounts are stored with two decimal places. */
+    public static final int AMOUNT_SCALE = 2;
+    /** Shared zero for years without contributions. */
+    public static final BigDecimal ZERO_AMOUNT = BigDecimal.valueOf(0, AMOUNT_SCALE);
+
+    private final Long faithfulId;
+    private final String name;
+    private final int[] years;          // sorted, shared with the other rows
+    private final long[] minorAmounts;  // one slot per entry of years
+    private long totalMinor;
+
+    public FaithfulContributionRow(Long faithfulId, String name, int[] years) {
+        this.faithfulId = faithfulId;
         this.name = name;
+        this.years = years;
+        this.minorAmounts = new long[years.length];
+    }
+
+    public Long getFaithfulId() {
+        return faithfulId;
     }
 
     public String getName() {
         return name;
     }
 
-    public Map<Integer, BigDecimal> getYearlyContributions() {
-        return yearlyContributions;
+    /**
+     * Adds an amount, in minor units, to the year at the given axis position.
+     */
+    public void addMinor(int yearIndex, long minor) {
+        minorAmounts[yearIndex] += minor;
+        totalMinor += minor;
     }
 
-	public void setTotalContribution(BigDecimal total) {
-		  if (total != null) {
-		        this.totalContribution = total.setScale(2, RoundingMode.HALF_UP);
-		    } else {
-		        this.totalContribution = new BigDecimal("0000.00");
-		    }
-	}
+    /**
+     * @return the total for the year, or {@link #ZERO_AMOUNT} when the year is not on the axis
+     */
+    public BigDecimal getAmount(int year) {
+        int index = Arrays.binarySearch(years, year);
+        return index < 0 ? ZERO_AMOUNT : toAmount(minorAmounts[index]);
+    }
 
-	public BigDecimal getTotalContribution() {
-		    return totalContribution != null
-		        ? ((BigDecimal) totalContribution).setScale(2, RoundingMode.HALF_UP)
-		        : new BigDecimal("0000.00");
-		}
+    public long getTotalMinor() {
+        return totalMinor;
+    }
 
-	}
+    public BigDecimal getTotalContribution() {
+        return toAmount(totalMinor);
+    }
 
+    private static BigDecimal toAmount(long minor) {
+        return minor == 0 ? ZERO_AMOUNT : BigDecimal.valueOf(minor, AMOUNT_SCALE);
+    }
+}
@@ -0,0 +1,27 @@
+package org.ananie.parishApp.model;
+
+/**
+ * Names shared by the table-backed id generators. IDENTITY ids force Hibernate to insert
+ * each row on persist, which disables JDBC batching; these generators hand out blocks of
+ * {@link #ALLOCATION_SIZE} ids (pooled-lo) from one row per entity in {@link #TABLE}, on MySQL and H2 alike.
+ */
+public final class IdGenerators {
+
+    /** Holds the next free id of every entity, one row each. */
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "entity";
+    public static final String VALUE_COLUMN = "next_val";
+
+    /** Ids reserved per round trip to {@link #TABLE}. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String CONTRIBUTION = "amaturo";
+    public static final String FAITHFUL = "abakristu";
+    public static final String BEC = "impuza";
+    public static final String SUB_PARISH = "santarali";
+    public static final String CONTRIBUTION_TOTAL = "ibiteranyo";
+    public static final String USER = "users";
+
+    private IdGenerators() {
+    }
+}
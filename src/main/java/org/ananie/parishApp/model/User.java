@@ -19,6 +19,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -32,7 +33,10 @@ import lombok.Setter;
 public class User {
 
 	    @Id
-	    @GeneratedValue(strategy = GenerationType.IDENTITY)
+	    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.USER)
+	    @TableGenerator(name = IdGenerators.USER, table = IdGenerators.TABLE,
+	            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+	            pkColumnValue = IdGenerators.USER, allocationSize = IdGenerators.ALLOCATION_SIZE)
 	    private Long id;
 
 	    @Column(nullable = false, unique = true, length = 50)
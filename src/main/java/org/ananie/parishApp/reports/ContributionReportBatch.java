@@ -0,0 +1,107 @@
+package org.ananie.parishApp.reports;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.services.BECService;
+import org.ananie.parishApp.services.ContributionReportPDFService;
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Year-end batch: renders the parish-wide contribution report and one report per BEC,
+ * in parallel on a small pool of its own. Needs no JavaFX toolkit.
+ */
+@Component
+public class ContributionReportBatch {
+
+    // Each render holds a database connection; stay well below the pool's 10 so screens keep working
+    private static final int MAX_WORKERS = 4;
+
+    private final BECService becService;
+    private final ContributionReportPDFService contributionReportPDFService;
+    private final LoggingService loggingService;
+
+    /** A report that could not be written, with the reason. */
+    public record Failure(Path file, String reason) {
+    }
+
+    /** Outcome of a batch: how many reports were attempted and written, and each failure. */
+    public record Result(int total, int written, List<Failure> failures) {
+    }
+
+    @Autowired
+    public ContributionReportBatch(BECService becService, ContributionReportPDFService contributionReportPDFService,
+                                   LoggingService loggingService) {
+        this.becService = becService;
+        this.contributionReportPDFService = contributionReportPDFService;
+        this.loggingService = loggingService;
+    }
+
+    /**
+     * Writes every report into the directory and waits for all of them.
+     * A failed report is logged and listed in the result; it does not stop the others.
+     */
+    public Result renderAll(Path outputDirectory) throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        AtomicInteger written = new AtomicInteger();
+        List<Failure> failures = Collections.synchronizedList(new ArrayList<>());
+        int total = 0;
+
+        ExecutorService pool = newWorkerPool();
+        try {
+            pool.execute(() -> render(null, outputDirectory.resolve("Paruwase_MUSHA.pdf"),
+                    "Imbonerahamwe y'amaturo ya: Paruwase MUSHA", written, failures));
+            total++;
+            for (BEC bec : becService.findAllOrderedByName()) {
+                String fileName = fileNameOf(bec.getSubParish().getName() + "_" + bec.getName()) + ".pdf";
+                pool.execute(() -> render(bec, outputDirectory.resolve(fileName),
+                        "Imbonerahamwe y'amaturo ya: " + bec.getName(), written, failures));
+                total++;
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+
+        loggingService.logPerformance("Contribution report batch (" + written.get() + "/" + total + " reports)",
+                System.currentTimeMillis() - startTime);
+        return new Result(total, written.get(), List.copyOf(failures));
+    }
+
+    private void render(BEC bec, Path file, String title, AtomicInteger written, List<Failure> failures) {
+        try {
+            int rows = contributionReportPDFService.generateContributionReportPDF(
+                    bec != null ? bec.getSubParish() : null, bec, title, file.toString());
+            written.incrementAndGet();
+            loggingService.logPDFGeneration("Contribution Report", file + " (" + rows + " rows)", true);
+        } catch (Exception e) {
+            failures.add(new Failure(file, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+            loggingService.logError("REPORT_BATCH " + file.getFileName(), e);
+        }
+    }
+
+    private static ExecutorService newWorkerPool() {
+        int workers = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_WORKERS));
+        AtomicInteger threadNumber = new AtomicInteger();
+        // The caller's security context travels with each render, as on the shared executor
+        return new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "report-batch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    private static String fileNameOf(String name) {
+        return name.trim().replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+    }
+}
@@ -0,0 +1,238 @@
+package org.ananie.parishApp.reports;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.ananie.parishApp.dao.FaithfulListProjection;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Contribution;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.services.ContributionService;
+import org.ananie.parishApp.services.FaithfulPDFService;
+import org.ananie.parishApp.services.FaithfulService;
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfSmartCopy;
+
+/**
+ * Year-end export of every faithful's contribution sheet for a BEC, a sub-parish or the whole parish.
+ *
+ * Faithfuls and their contributions are loaded in chunks and rendered in parallel on a bounded pool.
+ * Each sheet is written to a ".part" file and renamed when complete, so after a crash the export can be
+ * started again on the same directory and only the missing sheets are rendered.
+ */
+@Component
+public class FaithfulSheetBatch {
+
+    /** Faithfuls loaded per round trip. */
+    public static final int CHUNK_SIZE = 100;
+    /** Name of the combined document written when merging. */
+    public static final String MERGED_FILE_NAME = "Amafishi_yose.pdf";
+
+    private static final String PART_SUFFIX = ".part";
+    private static final int LISTING_PAGE_SIZE = 1000;
+
+    private final FaithfulService faithfulService;
+    private final ContributionService contributionService;
+    private final FaithfulPDFService faithfulPDFService;
+    private final LoggingService loggingService;
+
+    /** Snapshot of a running export. */
+    public record Progress(int total, int rendered, int skipped, int failed, long elapsedMillis) {
+
+        public int completed() {
+            return rendered + skipped + failed;
+        }
+
+        public double sheetsPerSecond() {
+            return elapsedMillis == 0 ? 0 : rendered * 1000.0 / elapsedMillis;
+        }
+    }
+
+    @Autowired
+    public FaithfulSheetBatch(FaithfulService faithfulService, ContributionService contributionService,
+                              FaithfulPDFService faithfulPDFService, LoggingService loggingService) {
+        this.faithfulService = faithfulService;
+        this.contributionService = contributionService;
+        this.faithfulPDFService = faithfulPDFService;
+        this.loggingService = loggingService;
+    }
+
+    /**
+     * Renders the sheets into the directory, skipping those already there.
+     * @param subParish optional sub-parish scope (ignored when a BEC is given)
+     * @param bec optional BEC scope
+     * @param merge also combine every sheet, in name order, into {@link #MERGED_FILE_NAME}
+     * @param progressListener called from worker threads after each sheet; may be null
+     * @return final progress
+     */
+    public Progress export(SubParish subParish, BEC bec, Path outputDirectory, boolean merge,
+                           Consumer<Progress> progressListener) throws IOException, DocumentException, InterruptedException {
+        long startTime = System.currentTimeMillis();
+        Files.createDirectories(outputDirectory);
+
+        List<FaithfulListProjection> faithfuls = listScope(subParish, bec);
+        List<Path> sheets = new ArrayList<>(faithfuls.size());
+        List<Long> pendingIds = new ArrayList<>();
+        int skipped = 0;
+        for (FaithfulListProjection row : faithfuls) {
+            Path sheet = outputDirectory.resolve(sheetFileName(row.getId(), row.getName()));
+            sheets.add(sheet);
+            if (Files.exists(sheet)) {
+                skipped++; // Finished by an earlier run
+            } else {
+                pendingIds.add(row.getId());
+            }
+        }
+
+        Counters counters = new Counters(faithfuls.size(), skipped, startTime, progressListener);
+        counters.report();
+
+        ThreadPoolExecutor pool = newWorkerPool();
+        try {
+            for (int from = 0; from < pendingIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = pendingIds.subList(from, Math.min(from + CHUNK_SIZE, pendingIds.size()));
+                List<Faithful> chunkFaithfuls = faithfulService.findAllByIds(chunk);
+                Map<Long, List<Contribution>> contributions = contributionService.findByFaithfulIds(chunk);
+
+                for (Faithful faithful : chunkFaithfuls) {
+                    List<Contribution> sheetContributions = contributions.getOrDefault(faithful.getId(), List.of());
+                    Path sheet = outputDirectory.resolve(sheetFileName(faithful.getId(), faithful.getName()));
+                    // A full queue makes this thread render too, so chunks are not loaded far ahead of the workers
+                    pool.execute(() -> renderSheet(faithful, sheetContributions, sheet, counters));
+                }
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+
+        Progress result = counters.snapshot();
+        if (merge) {
+            if (result.failed() == 0) {
+                merge(sheets, outputDirectory.resolve(MERGED_FILE_NAME));
+            } else {
+                loggingService.logUserAction("SHEET_BATCH", "Merge skipped, " + result.failed() + " sheets failed");
+            }
+        }
+
+        loggingService.logPerformance(String.format("Faithful sheet batch (%d rendered, %d skipped, %d failed, %.1f sheets/s)",
+                result.rendered(), result.skipped(), result.failed(), result.sheetsPerSecond()),
+                System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * File name of one sheet; the id keeps namesakes apart and makes reruns find their files.
+     */
+    public static String sheetFileName(Long faithfulId, String name) {
+        String sanitizedName = name == null ? "" : name.trim().replaceAll("[^\\p{L}\\p{N}]+", "_");
+        return "Amaturo_" + faithfulId + "_" + sanitizedName + ".pdf";
+    }
+
+    private List<FaithfulListProjection> listScope(SubParish subParish, BEC bec) {
+        List<FaithfulListProjection> rows = new ArrayList<>();
+        FaithfulListProjection after = null;
+        List<FaithfulListProjection> page;
+        do {
+            page = faithfulService.listPage(subParish, bec, null, after, LISTING_PAGE_SIZE);
+            rows.addAll(page);
+            after = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == LISTING_PAGE_SIZE);
+        return rows;
+    }
+
+    private void renderSheet(Faithful faithful, List<Contribution> contributions, Path sheet, Counters counters) {
+        Path part = sheet.resolveSibling(sheet.getFileName() + PART_SUFFIX);
+        try {
+            faithfulPDFService.generateFaithfulDetailsPDF(faithful, contributions, part.toString());
+            Files.move(part, sheet, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            counters.rendered.incrementAndGet();
+        } catch (Exception e) {
+            // Drop the half-written sheet, so a rerun renders it from scratch
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException deleteError) {
+                e.addSuppressed(deleteError);
+            }
+            counters.failed.incrementAndGet();
+            loggingService.logError("SHEET_BATCH " + sheet.getFileName(), e);
+        }
+        counters.report();
+    }
+
+    private void merge(List<Path> sheets, Path target) throws IOException, DocumentException {
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        try (OutputStream out = Files.newOutputStream(part)) {
+            Document document = new Document();
+            PdfSmartCopy copy = new PdfSmartCopy(document, out);
+            document.open();
+            for (Path sheet : sheets) {
+                PdfReader reader = new PdfReader(sheet.toString());
+                try {
+                    copy.addDocument(reader);
+                } finally {
+                    reader.close();
+                }
+            }
+            document.close();
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ThreadPoolExecutor newWorkerPool() {
+        int workers = Math.max(2, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sheet-batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static final class Counters {
+        final int total;
+        final int skipped;
+        final long startTime;
+        final Consumer<Progress> listener;
+        final AtomicInteger rendered = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+
+        Counters(int total, int skipped, long startTime, Consumer<Progress> listener) {
+            this.total = total;
+            this.skipped = skipped;
+            this.startTime = startTime;
+            this.listener = listener;
+        }
+
+        Progress snapshot() {
+            return new Progress(total, rendered.get(), skipped, failed.get(), System.currentTimeMillis() - startTime);
+        }
+
+        void report() {
+            if (listener != null) {
+                listener.accept(snapshot());
+            }
+        }
+    }
+}
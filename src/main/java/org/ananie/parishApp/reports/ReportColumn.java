@@ -0,0 +1,35 @@
+package org.ananie.parishApp.reports;
+
+import java.util.function.Function;
+
+/**
+ * One column of a tabular report: header, relative width, alignment and how to render a row's cell.
+ * Independent of JavaFX and of the PDF library.
+ *
+ * @param <R> row type
+ */
+public record ReportColumn<R>(String header, float width, Alignment alignment, boolean highlighted,
+                              Function<? super R, String> text) {
+
+    public enum Alignment { LEFT, CENTER, RIGHT }
+
+    /** Left-aligned text column. */
+    public static <R> ReportColumn<R> text(String header, float width, Function<? super R, String> text) {
+        return new ReportColumn<>(header, width, Alignment.LEFT, false, text);
+    }
+
+    /** Right-aligned numeric column. */
+    public static <R> ReportColumn<R> amount(String header, float width, Function<? super R, String> text) {
+        return new ReportColumn<>(header, width, Alignment.RIGHT, false, text);
+    }
+
+    /** Same column, rendered with the emphasis used for totals. */
+    public ReportColumn<R> asHighlighted() {
+        return new ReportColumn<>(header, width, alignment, true, text);
+    }
+
+    public String cellText(R row) {
+        String value = text.apply(row);
+        return value != null ? value : "";
+    }
+}
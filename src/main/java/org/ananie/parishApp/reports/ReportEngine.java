@@ -0,0 +1,219 @@
+package org.ananie.parishApp.reports;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.ananie.parishApp.services.FaithfulPDFService;
+import org.ananie.parishApp.services.PDFResourceCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Chunk;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.ExceptionConverter;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+/**
+ * Renders {@link ReportModel}s to PDF with the parish layout (logo header, page numbers, signature).
+ * Keeps no state between renders and touches no UI classes, so it can run on worker threads,
+ * several renders at a time, or from a command-line batch.
+ */
+@Component
+public class ReportEngine {
+
+    private static final BaseColor HIGHLIGHT_COLOR = new BaseColor(173, 216, 230); // Skyblue
+    private static final BaseColor HIGHLIGHT_BORDER_COLOR = new BaseColor(75, 0, 130); // Dark violet
+
+    /** Completed rows are written out and released from the table every this many rows. */
+    private static final int FLUSH_ROWS = 200;
+
+    private final PDFResourceCache pdfResources;
+    // Shared fonts and colors from the resource cache
+    private final Styles styles;
+
+    private record Styles(Font label, Font title, Font tableHeader, Font tableData, Font highlight,
+                          BaseColor header, BaseColor alternateRow) {
+    }
+
+    @Autowired
+    public ReportEngine(PDFResourceCache pdfResources) {
+        this.pdfResources = pdfResources;
+        this.styles = new Styles(
+                pdfResources.font(11, true, BaseColor.BLACK),
+                pdfResources.font(20, true, BaseColor.DARK_GRAY),
+                pdfResources.font(10, true, BaseColor.WHITE),
+                pdfResources.font(9, false, BaseColor.BLACK),
+                pdfResources.font(9, true, new BaseColor(75, 0, 130)), // Dark violet bold font
+                pdfResources.headerColor(),
+                pdfResources.alternateRowColor());
+    }
+
+    /**
+     * Renders the report into a file, creating its directory if needed.
+     * @return number of rows written
+     */
+    public <R> int render(ReportModel<R> model, Path file) throws DocumentException, IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return render(model, out);
+        }
+    }
+
+    /**
+     * Renders the report into a stream, which is left open.
+     * @return number of rows written
+     */
+    public <R> int render(ReportModel<R> model, OutputStream out) throws DocumentException, IOException {
+        Document document = new Document(PageSize.A4, 40, 40, 60, 80);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        writer.setPageEvent(new FaithfulPDFService.FaithfulPDFPageEvent(pdfResources));
+
+        document.open();
+        try {
+            addDocumentTitle(document, model.title());
+            TableWriter<R> table = new TableWriter<>(document, model.columns(), styles);
+            try {
+                model.rows().forEach(table::addRow);
+            } catch (ExceptionConverter e) {
+                // Rows are pushed through a Consumer, so document errors arrive wrapped
+                if (e.getException() instanceof DocumentException documentException) {
+                    throw documentException;
+                }
+                throw e;
+            }
+            table.finish(model.emptyMessage());
+            addCredentials(document);
+            return table.rowCount;
+        } finally {
+            document.close();
+        }
+    }
+
+    private void addDocumentTitle(Document document, String reportTitle) throws DocumentException {
+        Paragraph title = new Paragraph(reportTitle, styles.title());
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(15);
+        document.add(title);
+
+        String dateText = "Byakozwe ku wa: " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+        Paragraph dateP = new Paragraph(dateText, styles.tableData());
+        dateP.setAlignment(Element.ALIGN_RIGHT);
+        dateP.setSpacingAfter(10);
+        document.add(dateP);
+    }
+
+    private void addCredentials(Document document) throws DocumentException {
+        // add space before them
+        document.add(Chunk.NEWLINE);
+        document.add(Chunk.NEWLINE);
+
+        Paragraph signatureParagraph = new Paragraph();
+        signatureParagraph.add(new Chunk("UMUKONO NA KASHE: ", styles.label()));
+        document.add(signatureParagraph);
+    }
+
+    /**
+     * Writes the table incrementally: it is marked incomplete and added to the document every
+     * {@link #FLUSH_ROWS} rows, which renders and drops those rows. The header repeats on every page.
+     */
+    private static final class TableWriter<R> {
+        private final Document document;
+        private final List<ReportColumn<R>> columns;
+        private final Styles styles;
+        private final PdfPTable pdfTable;
+        private int rowCount;
+
+        TableWriter(Document document, List<ReportColumn<R>> columns, Styles styles) throws DocumentException {
+            this.document = document;
+            this.columns = columns;
+            this.styles = styles;
+
+            pdfTable = new PdfPTable(columns.size());
+            pdfTable.setWidthPercentage(100);
+            pdfTable.setSpacingBefore(10f);
+            pdfTable.setSpacingAfter(10f);
+            pdfTable.setComplete(false);
+            pdfTable.setHeaderRows(1);
+
+            float[] columnWidths = new float[columns.size()];
+            for (int i = 0; i < columnWidths.length; i++) {
+                columnWidths[i] = columns.get(i).width();
+            }
+            pdfTable.setWidths(columnWidths);
+
+            for (ReportColumn<R> column : columns) {
+                PdfPCell header = new PdfPCell(new Phrase(column.header(), styles.tableHeader()));
+                header.setBackgroundColor(styles.header());
+                header.setHorizontalAlignment(Element.ALIGN_CENTER);
+                header.setVerticalAlignment(Element.ALIGN_MIDDLE);
+                header.setPadding(8);
+                pdfTable.addCell(header);
+            }
+        }
+
+        void addRow(R row) {
+            boolean isAlternateRow = rowCount % 2 == 1;
+            for (ReportColumn<R> column : columns) {
+                pdfTable.addCell(cell(column, column.cellText(row), isAlternateRow));
+            }
+
+            rowCount++;
+            if (rowCount % FLUSH_ROWS == 0) {
+                try {
+                    document.add(pdfTable);
+                } catch (DocumentException e) {
+                    throw new ExceptionConverter(e);
+                }
+            }
+        }
+
+        void finish(String emptyMessage) throws DocumentException {
+            if (rowCount == 0) {
+                Paragraph noData = new Paragraph(emptyMessage != null ? emptyMessage : "", styles.tableData());
+                noData.setSpacingAfter(20);
+                document.add(noData);
+                return;
+            }
+            pdfTable.setComplete(true);
+            document.add(pdfTable);
+        }
+
+        private PdfPCell cell(ReportColumn<?> column, String text, boolean isAlternateRow) {
+            PdfPCell dataCell = new PdfPCell(new Phrase(text, column.highlighted() ? styles.highlight() : styles.tableData()));
+            dataCell.setPadding(6);
+            dataCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+            dataCell.setHorizontalAlignment(switch (column.alignment()) {
+                case LEFT -> Element.ALIGN_LEFT;
+                case CENTER -> Element.ALIGN_CENTER;
+                case RIGHT -> Element.ALIGN_RIGHT;
+            });
+            if (isAlternateRow) {
+                dataCell.setBackgroundColor(styles.alternateRow());
+            }
+            if (column.highlighted()) {
+                dataCell.setBackgroundColor(HIGHLIGHT_COLOR);
+                dataCell.setBorderColor(HIGHLIGHT_BORDER_COLOR);
+                dataCell.setBorderWidth(0.5f);
+            }
+            return dataCell;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.ananie.parishApp.reports;
+
+import java.util.List;
+
+/**
+ * Headless description of a tabular report: what to print, not how.
+ * Rendered by {@link ReportEngine} on any thread, with or without a JavaFX toolkit.
+ *
+ * @param title        heading printed above the table
+ * @param columns      columns in print order
+ * @param rows         source of the rows, read once per render
+ * @param emptyMessage printed instead of the table when there are no rows
+ * @param <R>          row type
+ */
+public record ReportModel<R>(String title, List<ReportColumn<R>> columns, RowSource<R> rows, String emptyMessage) {
+
+    public ReportModel {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("A report needs at least one column.");
+        }
+        columns = List.copyOf(columns);
+    }
+}
@@ -0,0 +1,19 @@
+package org.ananie.parishApp.reports;
+
+import java.util.function.Consumer;
+
+/**
+ * Pushes report rows to a sink, typically straight from a database stream,
+ * so a renderer never needs the whole report in memory.
+ *
+ * @param <R> row type
+ */
+@FunctionalInterface
+public interface RowSource<R> {
+
+    /**
+     * Delivers every row, in report order, on the calling thread.
+     * @return number of rows delivered
+     */
+    int forEach(Consumer<? super R> sink);
+}
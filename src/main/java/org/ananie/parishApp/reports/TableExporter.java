@@ -0,0 +1,138 @@
+package org.ananie.parishApp.reports;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.ananie.parishApp.imports.CsvReader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes {@link ReportModel}s as data files (CSV or .xlsx) for other programs, where {@link ReportEngine}
+ * prints them. Rows go from the model's {@link RowSource} through a buffered file channel one at a time,
+ * so an export of the whole parish history runs in constant memory.
+ *
+ * Only the header and the rows are written; right-aligned columns holding plain numbers become number cells
+ * in .xlsx. The file is written under a ".part" name and renamed when complete.
+ */
+@Component
+public class TableExporter {
+
+    public enum Format {
+        CSV("csv"), XLSX("xlsx");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /**
+         * @return the format matching the file extension, CSV when it is not .xlsx
+         */
+        public static Format fromFileName(String fileName) {
+            return fileName.toLowerCase(Locale.ROOT).endsWith("." + XLSX.extension) ? XLSX : CSV;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char CSV_DELIMITER = ',';
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * @return number of rows written, header excluded
+     */
+    public <R> int export(ReportModel<R> model, Format format, Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path part = file.resolveSibling(file.getFileName() + PART_SUFFIX);
+        int rows;
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+            rows = (format == Format.XLSX) ? writeXlsx(model, out) : writeCsv(model, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    private <R> int writeCsv(ReportModel<R> model, OutputStream out) throws IOException {
+        out.write(UTF8_BOM); // Lets Excel read the file as UTF-8
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(CsvReader.format(headers(model), CSV_DELIMITER));
+        writer.write("\r\n");
+        try {
+            int rows = model.rows().forEach(row -> {
+                try {
+                    writer.write(CsvReader.format(cells(model, row), CSV_DELIMITER));
+                    writer.write("\r\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return rows;
+        } catch (UncheckedIOException e) {
+            // Rows are pushed through a Consumer, so write errors arrive wrapped
+            throw e.getCause();
+        }
+    }
+
+    private <R> int writeXlsx(ReportModel<R> model, OutputStream out) throws IOException {
+        List<ReportColumn<R>> columns = model.columns();
+        boolean[] numeric = new boolean[columns.size()];
+        for (int i = 0; i < numeric.length; i++) {
+            numeric[i] = columns.get(i).alignment() == ReportColumn.Alignment.RIGHT;
+        }
+        try (XlsxStreamWriter writer = new XlsxStreamWriter(out, model.title(), headers(model), numeric)) {
+            return model.rows().forEach(row -> {
+                try {
+                    writer.addRow(cells(model, row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <R> List<String> headers(ReportModel<R> model) {
+        List<String> headers = new ArrayList<>(model.columns().size());
+        for (ReportColumn<R> column : model.columns()) {
+            headers.add(column.header());
+        }
+        return headers;
+    }
+
+    private static <R> List<String> cells(ReportModel<R> model, R row) {
+        List<String> cells = new ArrayList<>(model.columns().size());
+        for (ReportColumn<R> column : model.columns()) {
+            cells.add(column.cellText(row));
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,202 @@
+package org.ananie.parishApp.reports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a single-table .xlsx workbook row by row, straight into the zip stream, so memory use does not
+ * grow with the row count. Strings are written inline (no shared string table). A table longer than an
+ * Excel sheet continues on further sheets, each starting with the header row.
+ */
+final class XlsxStreamWriter implements Closeable {
+
+    /** Rows per sheet, header included, as Excel allows. */
+    static final int MAX_SHEET_ROWS = 1_048_576;
+
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PACKAGE_REL_NS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+    // Cell style of the header row, index into cellXfs of styles.xml; numbers keep the General format
+    private static final int STYLE_HEADER = 1;
+
+    private final ZipOutputStream zip;
+    private final Writer xml;
+    private final String sheetName;
+    private final List<String> header;
+    private final boolean[] numericColumns;
+    private final String[] columnLetters;
+    private int sheetCount;
+    private int sheetRow;
+
+    /**
+     * @param numericColumns columns whose plain-number cells are written as numbers
+     */
+    XlsxStreamWriter(OutputStream out, String sheetName, List<String> header, boolean[] numericColumns) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        zip.setLevel(Deflater.BEST_SPEED);
+        this.xml = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        this.sheetName = sheetName;
+        this.header = List.copyOf(header);
+        this.numericColumns = numericColumns.clone();
+        this.columnLetters = new String[header.size()];
+        for (int i = 0; i < columnLetters.length; i++) {
+            columnLetters[i] = columnLetter(i);
+        }
+        startSheet();
+    }
+
+    void addRow(List<String> values) throws IOException {
+        if (sheetRow == MAX_SHEET_ROWS) {
+            endSheet();
+            startSheet();
+        }
+        writeRow(values, false);
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        sheetRow = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        xml.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n<worksheet xmlns=\"" + MAIN_NS + "\">"
+                + "<sheetViews><sheetView workbookViewId=\"0\">"
+                + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+                + "</sheetView></sheetViews><sheetData>");
+        writeRow(header, true);
+    }
+
+    private void endSheet() throws IOException {
+        xml.write("</sheetData></worksheet>");
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    private void writeRow(List<String> values, boolean isHeader) throws IOException {
+        sheetRow++;
+        xml.write("<row r=\"");
+        xml.write(Integer.toString(sheetRow));
+        xml.write("\">");
+        for (int i = 0; i < values.size() && i < columnLetters.length; i++) {
+            String value = values.get(i);
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+            String reference = columnLetters[i] + sheetRow;
+            if (!isHeader && numericColumns[i] && PLAIN_NUMBER.matcher(value).matches()) {
+                xml.write("<c r=\"" + reference + "\"><v>");
+                xml.write(value);
+                xml.write("</v></c>");
+            } else {
+                xml.write("<c r=\"" + reference + "\" t=\"inlineStr\"" + (isHeader ? " s=\"" + STYLE_HEADER + "\"" : "")
+                        + "><is><t xml:space=\"preserve\">");
+                writeEscaped(value);
+                xml.write("</t></is></c>");
+            }
+        }
+        xml.write("</row>");
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> xml.write("&amp;");
+                case '<' -> xml.write("&lt;");
+                case '>' -> xml.write("&gt;");
+                case '"' -> xml.write("&quot;");
+                default -> {
+                    // Control characters other than tab and line breaks are not allowed in XML
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends the last sheet and writes the workbook parts that list the sheets.
+     */
+    @Override
+    public void close() throws IOException {
+        endSheet();
+
+        StringBuilder contentTypes = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        StringBuilder sheets = new StringBuilder();
+        StringBuilder workbookRels = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"" + PACKAGE_REL_NS + "\">");
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(sheet)
+                    .append(".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+            sheets.append("<sheet name=\"").append(sheetTitle(sheet)).append("\" sheetId=\"").append(sheet)
+                    .append("\" r:id=\"rId").append(sheet).append("\"/>");
+            workbookRels.append("<Relationship Id=\"rId").append(sheet).append("\" Type=\"").append(REL_NS)
+                    .append("/worksheet\" Target=\"worksheets/sheet").append(sheet).append(".xml\"/>");
+        }
+        contentTypes.append("</Types>");
+        workbookRels.append("<Relationship Id=\"rId").append(sheetCount + 1).append("\" Type=\"").append(REL_NS)
+                .append("/styles\" Target=\"styles.xml\"/></Relationships>");
+
+        writeEntry("[Content_Types].xml", contentTypes.toString());
+        writeEntry("_rels/.rels", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"" + PACKAGE_REL_NS + "\">"
+                + "<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        writeEntry("xl/workbook.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\"><sheets>" + sheets + "</sheets></workbook>");
+        writeEntry("xl/_rels/workbook.xml.rels", workbookRels.toString());
+        writeEntry("xl/styles.xml", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<styleSheet xmlns=\"" + MAIN_NS + "\">"
+                + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"2\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"
+                + "</styleSheet>");
+        zip.finish();
+        xml.close();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        xml.write(content);
+        xml.flush();
+        zip.closeEntry();
+    }
+
+    /** Sheet names are limited to 31 characters, without []:*?/\ and quotes. */
+    private String sheetTitle(int sheet) {
+        String suffix = sheetCount > 1 ? " " + sheet : "";
+        String name = sheetName.replaceAll("[\\[\\]:*?/\\\\'\"&<>]", " ").trim();
+        if (name.isEmpty()) {
+            name = "Sheet";
+        }
+        return name.substring(0, Math.min(name.length(), 31 - suffix.length())) + suffix;
+    }
+
+    private static String columnLetter(int index) {
+        StringBuilder letters = new StringBuilder();
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            letters.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return letters.toString();
+    }
+}
@@ -1,12 +1,15 @@
 package org.ananie.parishApp.services;
 
 import org.ananie.parishApp.dao.BECRepository;
+import org.ananie.parishApp.dao.FaithfulRepository;
 import org.ananie.parishApp.dao.SubParishRepository;
 import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.SubParish;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,11 +20,19 @@ public class BECService {
     
     private final BECRepository becRepository;
     private final SubParishRepository subParishRepository;
+    private final ContributionTotalsService contributionTotalsService;
+    private final FaithfulRepository faithfulRepository;
+    private final FaithfulNameIndex faithfulNameIndex;
 
     @Autowired
-    public BECService(BECRepository becRepository, SubParishRepository subParishRepository) {
+    public BECService(BECRepository becRepository, SubParishRepository subParishRepository,
+                      ContributionTotalsService contributionTotalsService, FaithfulRepository faithfulRepository,
+                      FaithfulNameIndex faithfulNameIndex) {
         this.becRepository = becRepository;
         this.subParishRepository = subParishRepository;
+        this.contributionTotalsService = contributionTotalsService;
+        this.faithfulRepository = faithfulRepository;
+        this.faithfulNameIndex = faithfulNameIndex;
     }
 
     @Transactional
@@ -30,6 +41,8 @@ public class BECService {
         if (bec.getSubParish() == null || bec.getSubParish().getId() == null) {
             throw new IllegalArgumentException("BEC must be associated with an existing SubParish.");
         }
+        boolean isNew = bec.getId() == null;
+        Long previousSubParishId = isNew ? null : becRepository.findSubParishIdById(bec.getId()).orElse(null);
 
         // *** C Fetch managed SubParish entity ***
         SubParish managedSubParish = subParishRepository.findById(bec.getSubParish().getId())
@@ -47,6 +60,10 @@ public class BECService {
 
         // Save with proper relationship
         BEC savedBEC = becRepository.save(bec);
+        if (previousSubParishId != null && !previousSubParishId.equals(managedSubParish.getId())) {
+            // The BEC moved to another SubParish; its totals follow
+            contributionTotalsService.moveBec(savedBEC);
+        }
         
         // Optional: Log for debugging
         System.out.println("Saved BEC '" + savedBEC.getName() + "' with SubParish ID: " + 
@@ -68,7 +85,11 @@ public class BECService {
         if (!becRepository.existsById(id)) {
             throw new IllegalArgumentException("Cannot delete BEC: ID " + id + " does not exist.");
         }
+        // The faithfuls go with the BEC by cascade; their names leave the index once that is committed
+        List<Long> faithfulIds = faithfulRepository.findIdsByBecId(id);
+        contributionTotalsService.removeBec(id);
         becRepository.deleteById(id);
+        afterCommit(() -> faithfulIds.forEach(faithfulNameIndex::remove));
     }
 
     public Optional<BEC> findById(Long id) {
@@ -94,4 +115,20 @@ public class BECService {
     public List<BEC> findAllOrderedByName() {
         return becRepository.findAllByOrderByNameAsc();
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps the name index in step with committed data only.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.ananie.parishApp.services;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.ananie.parishApp.dao.ContributionRecordProjection;
+import org.ananie.parishApp.dao.ContributionTotalRowProjection;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.FaithfulContributionRow;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.reports.ReportColumn;
+import org.ananie.parishApp.reports.ReportModel;
+import org.ananie.parishApp.reports.TableExporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Machine-readable exports of the contribution data, streamed from the database through {@link TableExporter}.
+ * Amounts are written as plain numbers, without grouping, and dates in ISO form.
+ */
+@Service
+public class ContributionExportService {
+
+    /** What can be exported, with the label shown to the user. */
+    public enum Dataset {
+        MATRIX("Imbonerahamwe y'amaturo (umukristu ku mwaka)"),
+        RECORDS("Amaturo yose uko yanditswe"),
+        TOTALS("Ibiteranyo bya santarali n'impuza ku mwaka");
+
+        private final String label;
+
+        Dataset(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final ContributionService contributionService;
+    private final ContributionTotalsService contributionTotalsService;
+    private final TableExporter tableExporter;
+    private final LoggingService loggingService;
+
+    @Autowired
+    public ContributionExportService(ContributionService contributionService,
+                                     ContributionTotalsService contributionTotalsService,
+                                     TableExporter tableExporter, LoggingService loggingService) {
+        this.contributionService = contributionService;
+        this.contributionTotalsService = contributionTotalsService;
+        this.tableExporter = tableExporter;
+        this.loggingService = loggingService;
+    }
+
+    /**
+     * @param subParish optional sub-parish scope
+     * @param bec optional BEC scope
+     * @return number of rows written
+     */
+    public int export(Dataset dataset, SubParish subParish, BEC bec, TableExporter.Format format, Path file) throws IOException {
+        long startTime = System.currentTimeMillis();
+        int rows = switch (dataset) {
+            case MATRIX -> tableExporter.export(matrix(subParish, bec), format, file);
+            case RECORDS -> tableExporter.export(records(subParish, bec), format, file);
+            case TOTALS -> tableExporter.export(totals(subParish, bec), format, file);
+        };
+        loggingService.logPerformance("Data export " + dataset + " " + format + " (" + rows + " rows)",
+                System.currentTimeMillis() - startTime);
+        return rows;
+    }
+
+    /**
+     * Same rows as the contribution matrix report, oldest year first.
+     */
+    public ReportModel<FaithfulContributionRow> matrix(SubParish subParish, BEC bec) {
+        int[] yearAxis = contributionService.getAvailableYears().stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        List<ReportColumn<FaithfulContributionRow>> columns = new ArrayList<>();
+        columns.add(ReportColumn.amount("id", 1.0f, row -> String.valueOf(row.getFaithfulId())));
+        columns.add(ReportColumn.text("amazina", 3.0f, FaithfulContributionRow::getName));
+        for (int year : yearAxis) {
+            columns.add(ReportColumn.amount(String.valueOf(year), 1.0f, row -> plain(row.getAmount(year))));
+        }
+        columns.add(ReportColumn.amount("total", 2.0f, row -> plain(row.getTotalContribution())));
+
+        return new ReportModel<>("Imbonerahamwe", columns,
+                sink -> contributionService.forEachContributionMatrixRow(subParish, bec, yearAxis, sink::accept), null);
+    }
+
+    /**
+     * Every amaturo row of the scope, in id order.
+     */
+    public ReportModel<ContributionRecordProjection> records(SubParish subParish, BEC bec) {
+        List<ReportColumn<ContributionRecordProjection>> columns = List.of(
+                ReportColumn.amount("id", 1.0f, row -> String.valueOf(row.getId())),
+                ReportColumn.amount("umukristu_id", 1.0f, row -> String.valueOf(row.getFaithfulId())),
+                ReportColumn.text("amazina", 3.0f, ContributionRecordProjection::getName),
+                ReportColumn.text("santarali", 2.0f, ContributionRecordProjection::getSubParishName),
+                ReportColumn.text("impuza", 2.0f, ContributionRecordProjection::getBecName),
+                ReportColumn.amount("umwaka", 1.0f, row -> String.valueOf(row.getYear())),
+                ReportColumn.amount("amafaranga", 1.0f, row -> plain(row.getAmount())),
+                ReportColumn.text("itariki", 1.0f, row -> row.getDate() == null ? "" : row.getDate().toString()),
+                ReportColumn.text("icyitonderwa", 3.0f, ContributionRecordProjection::getNotes));
+
+        return new ReportModel<>("Amaturo", columns,
+                sink -> contributionService.forEachContributionRecord(subParish, bec, sink::accept), null);
+    }
+
+    /**
+     * Summary totals of the scope, one row per sub-parish, BEC and year.
+     */
+    public ReportModel<ContributionTotalRowProjection> totals(SubParish subParish, BEC bec) {
+        List<ReportColumn<ContributionTotalRowProjection>> columns = List.of(
+                ReportColumn.text("santarali", 2.0f, ContributionTotalRowProjection::getSubParishName),
+                ReportColumn.text("impuza", 2.0f, ContributionTotalRowProjection::getBecName),
+                ReportColumn.amount("umwaka", 1.0f, row -> String.valueOf(row.getYear())),
+                ReportColumn.amount("amafaranga", 1.0f, row -> plain(row.getAmount())),
+                ReportColumn.amount("umubare", 1.0f, row -> String.valueOf(row.getContributionCount())));
+
+        return new ReportModel<>("Ibiteranyo", columns,
+                sink -> contributionTotalsService.forEachTotalRow(subParish, bec, sink::accept), null);
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount == null ? "" : amount.toPlainString();
+    }
+}
@@ -0,0 +1,85 @@
+package org.ananie.parishApp.services;
+
+import org.ananie.parishApp.dao.FaithfulYearlyAmountProjection;
+import org.ananie.parishApp.model.FaithfulContributionRow;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Pivots (faithful, year, total) rows into matrix rows with one dense column per year.
+ * Input rows of one faithful must be adjacent, as the repository queries order them.
+ */
+final class ContributionPivot {
+
+    private ContributionPivot() {
+    }
+
+    static List<FaithfulContributionRow> pivot(List<FaithfulYearlyAmountProjection> data) {
+        int[] years = yearAxis(data);
+        List<FaithfulContributionRow> rows = new ArrayList<>();
+
+        FaithfulContributionRow current = null;
+        for (FaithfulYearlyAmountProjection record : data) {
+            if (current == null || !current.getFaithfulId().equals(record.getFaithfulId())) {
+                current = new FaithfulContributionRow(record.getFaithfulId(), record.getName(), years);
+                rows.add(current);
+            }
+            // Totals accumulate in the same pass as the cells
+            current.addMinor(Arrays.binarySearch(years, record.getYear()), toMinor(record.getTotalAmount()));
+        }
+        return rows;
+    }
+
+    /**
+     * Streaming pivot: emits each row to the sink as soon as the next faithful starts,
+     * so only one row is held at a time.
+     * @param years sorted year axis covering every year of the data
+     * @return number of rows emitted
+     */
+    static int pivot(Stream<FaithfulYearlyAmountProjection> data, int[] years, Consumer<FaithfulContributionRow> sink) {
+        int count = 0;
+        FaithfulContributionRow current = null;
+        for (FaithfulYearlyAmountProjection record : (Iterable<FaithfulYearlyAmountProjection>) data::iterator) {
+            if (current == null || !current.getFaithfulId().equals(record.getFaithfulId())) {
+                if (current != null) {
+                    sink.accept(current);
+                    count++;
+                }
+                current = new FaithfulContributionRow(record.getFaithfulId(), record.getName(), years);
+            }
+            int index = Arrays.binarySearch(years, record.getYear());
+            if (index >= 0) {
+                current.addMinor(index, toMinor(record.getTotalAmount()));
+            }
+        }
+        if (current != null) {
+            sink.accept(current);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Sorted distinct years of the data, built once and shared by every row.
+     */
+    private static int[] yearAxis(List<FaithfulYearlyAmountProjection> data) {
+        int[] years = new int[data.size()];
+        for (int i = 0; i < years.length; i++) {
+            years[i] = data.get(i).getYear();
+        }
+        return Arrays.stream(years).sorted().distinct().toArray();
+    }
+
+    static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(FaithfulContributionRow.AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
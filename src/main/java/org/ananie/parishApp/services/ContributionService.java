@@ -1,8 +1,9 @@
 package org.ananie.parishApp.services;
 
 import org.ananie.parishApp.dao.BECRepository;
+import org.ananie.parishApp.dao.ContributionRecordProjection;
 import org.ananie.parishApp.dao.ContributionRepository;
-import org.ananie.parishApp.dao.FaithfulYearlyContributionProjection;
+import org.ananie.parishApp.dao.FaithfulYearlyAmountProjection;
 import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.Contribution;
 import org.ananie.parishApp.model.Faithful;
@@ -15,7 +16,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,21 +26,24 @@ public class ContributionService {
     private final ContributionRepository contributionRepository;
     private final FaithfulService faithfulService;
     private final BECRepository becRepository;
+    private final ContributionTotalsService contributionTotalsService;
 
     @Autowired
     public ContributionService(ContributionRepository contributionRepository,
                                FaithfulService faithfulService,
-                               BECRepository becRepository) {
+                               BECRepository becRepository,
+                               ContributionTotalsService contributionTotalsService) {
         this.contributionRepository = contributionRepository;
         this.faithfulService = faithfulService;
         this.becRepository = becRepository;
+        this.contributionTotalsService = contributionTotalsService;
     }
     @PreAuthorize("hasRole('MANAGER')")
     @Transactional
     public Contribution save(Contribution contribution) {
         if (contribution.getFaithful() == null || contribution.getFaithful().getId() == null)
             throw new IllegalArgumentException("Contribution must be associated with an existing Faithful.");
-        faithfulService.findById(contribution.getFaithful().getId())
+        Faithful owner = faithfulService.findById(contribution.getFaithful().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Associated Faithful does not exist."));
         if (contribution.getAmount() == null || contribution.getAmount().compareTo(BigDecimal.ZERO) <= 0)
             throw new IllegalArgumentException("Contribution amount must be positive.");
@@ -47,8 +52,79 @@ public class ContributionService {
         if (contribution.getYear() == null)
             contribution.setYear(contribution.getDate().getYear());
 
-        return contributionRepository.save(contribution);
+        // Read the stored state before the merge overwrites it
+        Object[] previous = null;
+        if (contribution.getId() != null) {
+            List<Object[]> rows = contributionRepository.findTotalsKeyById(contribution.getId());
+            previous = rows.isEmpty() ? null : rows.get(0);
+        }
+
+        Contribution saved = contributionRepository.save(contribution);
+        if (previous != null) {
+            contributionTotalsService.subtract((BEC) previous[2], (Integer) previous[0], (BigDecimal) previous[1]);
+        }
+        contributionTotalsService.add(owner.getBec(), saved.getYear(), saved.getAmount());
+        return saved;
     }
+    /**
+     * Saves a batch of new contributions, e.g. the envelopes of one BEC for a Sunday.
+     * The whole batch is validated first and nothing is saved if any row is invalid;
+     * owners are checked with one query and the inserts go out as JDBC batches.
+     */
+    @PreAuthorize("hasRole('MANAGER')")
+    @Transactional
+    public List<Contribution> saveAll(List<Contribution> contributions) {
+        if (contributions == null || contributions.isEmpty()) {
+            return List.of();
+        }
+        List<String> problems = new ArrayList<>();
+        Set<Long> faithfulIds = new HashSet<>();
+        for (int i = 0; i < contributions.size(); i++) {
+            Contribution contribution = contributions.get(i);
+            String row = "Row " + (i + 1) + ": ";
+            if (contribution.getId() != null)
+                problems.add(row + "Only new contributions can be saved in a batch.");
+            if (contribution.getFaithful() == null || contribution.getFaithful().getId() == null)
+                problems.add(row + "Contribution must be associated with an existing Faithful.");
+            else
+                faithfulIds.add(contribution.getFaithful().getId());
+            if (contribution.getAmount() == null || contribution.getAmount().compareTo(BigDecimal.ZERO) <= 0)
+                problems.add(row + "Contribution amount must be positive.");
+            if (contribution.getDate() == null)
+                problems.add(row + "Contribution date cannot be empty.");
+            else if (contribution.getYear() == null)
+                contribution.setYear(contribution.getDate().getYear());
+        }
+        if (!problems.isEmpty())
+            throw new IllegalArgumentException(String.join("\n", problems));
+
+        Map<Long, Faithful> owners = new HashMap<>();
+        for (Faithful faithful : faithfulService.findAllByIds(faithfulIds)) {
+            owners.put(faithful.getId(), faithful);
+        }
+        if (owners.size() < faithfulIds.size()) {
+            faithfulIds.removeAll(owners.keySet());
+            throw new IllegalArgumentException("Associated Faithful does not exist: " + faithfulIds);
+        }
+
+        // One summary update per (BEC, year) instead of one per row
+        Map<BEC, Map<Integer, BigDecimal>> amounts = new HashMap<>();
+        Map<BEC, Map<Integer, Long>> counts = new HashMap<>();
+        for (Contribution contribution : contributions) {
+            Faithful owner = owners.get(contribution.getFaithful().getId());
+            contribution.setFaithful(owner);
+            amounts.computeIfAbsent(owner.getBec(), bec -> new HashMap<>())
+                    .merge(contribution.getYear(), contribution.getAmount(), BigDecimal::add);
+            counts.computeIfAbsent(owner.getBec(), bec -> new HashMap<>())
+                    .merge(contribution.getYear(), 1L, Long::sum);
+        }
+
+        List<Contribution> saved = contributionRepository.saveAll(contributions);
+        contributionRepository.flush();
+        contributionTotalsService.addAll(amounts, counts);
+        return saved;
+    }
+
     @PreAuthorize("hasRole('MANAGER')")
     @Transactional
     public Contribution update(Contribution contribution) {
@@ -61,6 +137,7 @@ public class ContributionService {
     public void delete(Long id) {
     	 Contribution contribution = contributionRepository.findById(id)
     	            .orElseThrow(() -> new IllegalArgumentException("Contribution not found"));
+    	        contributionTotalsService.subtract(contribution.getFaithful().getBec(), contribution.getYear(), contribution.getAmount());
     	        
     	        contributionRepository.delete(contribution);
     	        contributionRepository.flush(); // Force immediate execution
@@ -86,84 +163,94 @@ public class ContributionService {
         return contributionRepository.findByFaithfulOrderByDateDesc(faithful);
     }
 
+    /**
+     * Contributions of several faithfuls in one query, grouped by faithful id, newest first.
+     */
+    public Map<Long, List<Contribution>> findByFaithfulIds(Collection<Long> faithfulIds) {
+        Map<Long, List<Contribution>> byFaithful = new HashMap<>();
+        if (faithfulIds == null || faithfulIds.isEmpty()) {
+            return byFaithful;
+        }
+        for (Contribution contribution : contributionRepository.findByFaithfulIds(faithfulIds)) {
+            byFaithful.computeIfAbsent(contribution.getFaithful().getId(), id -> new ArrayList<>()).add(contribution);
+        }
+        return byFaithful;
+    }
+
     public List<Integer> getAvailableYears() {
         return contributionRepository.findDistinctYears();
     }
 
+    // Summary totals are read from the maintained ibiteranyo table, not summed from amaturo
+
     public BigDecimal getTotalContributions(Integer year) {
-        return (year == null)
-                ? contributionRepository.sumAllContributions()
-                : contributionRepository.sumContributionsByYear(year);
+        return contributionTotalsService.getTotal(year);
     }
 
     public Map<SubParish, BigDecimal> getTotalsBySubParish(Integer year) {
-        List<Object[]> results = (year == null)
-                ? contributionRepository.sumContributionsBySubParish()
-                : contributionRepository.sumContributionsBySubParishAndYear(year);
-        Map<SubParish, BigDecimal> totals = new HashMap<>();
-        for (Object[] result : results) {
-            totals.put((SubParish) result[0], (BigDecimal) result[1]);
-        }
-        return totals;
+        return contributionTotalsService.getTotalsBySubParish(year);
     }
 
     public Map<BEC, BigDecimal> getTotalsByBecInSubParish(SubParish subParish, Integer year) {
-        List<Object[]> results = (year == null)
-                ? contributionRepository.sumContributionsByBecInSubParish(subParish)
-                : contributionRepository.sumContributionsByBecInSubParishAndYear(subParish, year);
-        Map<BEC, BigDecimal> totals = new HashMap<>();
-        for (Object[] result : results) {
-            totals.put((BEC) result[0], (BigDecimal) result[1]);
-        }
-        return totals;
+        return contributionTotalsService.getTotalsByBecInSubParish(subParish, year);
     }
 
     /**
      * Generate pivot-style contribution rows filtered by SubParish and/or BEC
      */
     public List<FaithfulContributionRow> getFilteredContributionMatrix(SubParish subParish, BEC bec) {
-        List<FaithfulYearlyContributionProjection> data;
+        List<FaithfulYearlyAmountProjection> data;
 
         if (subParish != null && bec != null) {
-            data = contributionRepository.getYearlyContributionSummaryByBEC(bec);
+            data = contributionRepository.getYearlyAmountsPerFaithfulByBec(bec);
         } else if (subParish != null) {
-            List<BEC> becs = becRepository.findBySubParish(subParish);
-            data = contributionRepository.getYearlyContributionSummaryByBECIn(becs);
+            data = contributionRepository.getYearlyAmountsPerFaithfulBySubParish(subParish);
         } else {
-            data = contributionRepository.getYearlyContributionSummary();
+            data = contributionRepository.getYearlyAmountsPerFaithful();
         }
 
-        // 🚀 Step 1: Identify all years present in the data
-        Set<Integer> allYears = data.stream()
-            .map(FaithfulYearlyContributionProjection::getYear)
-            .collect(Collectors.toCollection(TreeSet::new)); // maintains order
-
-        Map<String, FaithfulContributionRow> rowMap = new LinkedHashMap<>();
-
-        // 🚀 Step 2: Group contributions by name and year
-        for (FaithfulYearlyContributionProjection record : data) {
-            String name = record.getName();
-            Integer year = record.getYear();
-            BigDecimal amount = record.getTotalAmount();
+        // Rows are keyed by faithful id, so namesakes are no longer merged
+        return ContributionPivot.pivot(data);
+    }
 
-            rowMap
-                .computeIfAbsent(name, k -> new FaithfulContributionRow(name))
-                .getYearlyContributions()
-                .put(year, amount);
+    /**
+     * Streams the same matrix as {@link #getFilteredContributionMatrix} one row at a time,
+     * for reports too large to materialize. The sink runs inside the read transaction.
+     * @param years sorted year axis, e.g. {@link #getAvailableYears()} in ascending order
+     * @return number of rows delivered
+     */
+    public int forEachContributionMatrixRow(SubParish subParish, BEC bec, int[] years,
+                                            Consumer<FaithfulContributionRow> sink) {
+        try (Stream<FaithfulYearlyAmountProjection> data = openMatrixStream(subParish, bec)) {
+            return ContributionPivot.pivot(data, years, sink);
         }
+    }
 
-        // 🚀 Step 3: Pad missing years and calculate total
-        for (FaithfulContributionRow row : rowMap.values()) {
-            BigDecimal total = BigDecimal.ZERO;
-            for (Integer year : allYears) {
-                BigDecimal amount = row.getYearlyContributions().getOrDefault(year, new BigDecimal("0000.00"));
-                row.getYearlyContributions().putIfAbsent(year, amount);
-                total = total.add(amount);
+    /**
+     * Streams every contribution of the scope, in id order, for data exports.
+     * The sink runs inside the read transaction.
+     * @return number of rows delivered
+     */
+    public int forEachContributionRecord(SubParish subParish, BEC bec, Consumer<ContributionRecordProjection> sink) {
+        int count = 0;
+        try (Stream<ContributionRecordProjection> data = (bec != null) ? contributionRepository.streamRecordsByBec(bec)
+                : (subParish != null) ? contributionRepository.streamRecordsBySubParish(subParish)
+                : contributionRepository.streamRecords()) {
+            for (ContributionRecordProjection row : (Iterable<ContributionRecordProjection>) data::iterator) {
+                sink.accept(row);
+                count++;
             }
-            row.setTotalContribution(total); // assuming your class has this setter
         }
+        return count;
+    }
 
-        return new ArrayList<>(rowMap.values());
+    private Stream<FaithfulYearlyAmountProjection> openMatrixStream(SubParish subParish, BEC bec) {
+        if (subParish != null && bec != null) {
+            return contributionRepository.streamYearlyAmountsPerFaithfulByBec(bec);
+        } else if (subParish != null) {
+            return contributionRepository.streamYearlyAmountsPerFaithfulBySubParish(subParish);
+        }
+        return contributionRepository.streamYearlyAmountsPerFaithful();
     }
 
 }
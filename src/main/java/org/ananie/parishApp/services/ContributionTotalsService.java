@@ -0,0 +1,273 @@
+package org.ananie.parishApp.services;
+
+import org.ananie.parishApp.dao.ContributionRepository;
+import org.ananie.parishApp.dao.ContributionTotalRepository;
+import org.ananie.parishApp.dao.ContributionTotalRowProjection;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.ContributionTotal;
+import org.ananie.parishApp.model.SubParish;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the ibiteranyo summary table: one running total per (sub-parish, BEC, year).
+ * Every write to amaturo adjusts it inside the same transaction, so the summary
+ * screens read a handful of pre-aggregated rows instead of summing all contributions.
+ * Those reads are further cached per (scope, year) in {@link SummaryTotalsCache}.
+ * <p>
+ * A missing row is first inserted empty with INSERT ... ON DUPLICATE KEY UPDATE, then locked and adjusted,
+ * so two first contributions for the same BEC and year do not both insert it. Rows are emptied, not deleted,
+ * when their last contribution goes; {@link #rebuild()} clears them out.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ContributionTotalsService {
+
+    private final ContributionTotalRepository totalRepository;
+    private final ContributionRepository contributionRepository;
+    private final SummaryTotalsCache summaryTotalsCache;
+    private final LoggingService loggingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ContributionTotalsService(ContributionTotalRepository totalRepository,
+                                     ContributionRepository contributionRepository,
+                                     SummaryTotalsCache summaryTotalsCache,
+                                     LoggingService loggingService) {
+        this.totalRepository = totalRepository;
+        this.contributionRepository = contributionRepository;
+        this.summaryTotalsCache = summaryTotalsCache;
+        this.loggingService = loggingService;
+    }
+
+    // --- Incremental maintenance, called from the owning services ---
+
+    @Transactional
+    public void add(BEC bec, Integer year, BigDecimal amount) {
+        apply(bec, year, amount, 1);
+    }
+
+    /**
+     * Adds a batch of contributions, already summed per BEC and year. The rows to adjust are read
+     * with one query, rather than one per (BEC, year) that would each flush the whole batch.
+     */
+    @Transactional
+    public void addAll(Map<BEC, Map<Integer, BigDecimal>> amounts, Map<BEC, Map<Integer, Long>> counts) {
+        if (amounts.isEmpty()) {
+            return;
+        }
+        Set<Integer> years = new HashSet<>();
+        amounts.values().forEach(byYear -> years.addAll(byYear.keySet()));
+        Map<Long, Set<Integer>> present = new HashMap<>();
+        for (Object[] key : totalRepository.findKeysByBecInAndYearIn(amounts.keySet(), years)) {
+            present.computeIfAbsent((Long) key[0], id -> new HashSet<>()).add((Integer) key[1]);
+        }
+        amounts.forEach((bec, byYear) -> byYear.keySet().stream()
+                .filter(year -> !present.getOrDefault(bec.getId(), Set.of()).contains(year))
+                .forEach(year -> seed(bec, year)));
+
+        Map<Long, Map<Integer, ContributionTotal>> existing = new HashMap<>();
+        for (ContributionTotal total : totalRepository.findByBecInAndYearIn(amounts.keySet(), years)) {
+            existing.computeIfAbsent(total.getBec().getId(), id -> new HashMap<>()).put(total.getYear(), total);
+        }
+        amounts.forEach((bec, byYear) -> byYear.forEach((year, amount) -> {
+            ContributionTotal total = existing.getOrDefault(bec.getId(), Map.of()).get(year);
+            if (total == null) {
+                throw new IllegalStateException("Summary row of BEC " + bec.getId() + ", year " + year + " is missing");
+            }
+            total.setAmount(total.getAmount().add(amount));
+            total.setContributionCount(total.getContributionCount() + counts.get(bec).get(year));
+            summaryTotalsCache.invalidate(bec.getSubParish().getId(), year);
+        }));
+    }
+
+    @Transactional
+    public void subtract(BEC bec, Integer year, BigDecimal amount) {
+        apply(bec, year, amount.negate(), -1);
+    }
+
+    /**
+     * Moves the contributions of a faithful who changed BEC. Call before the faithful is saved.
+     */
+    @Transactional
+    public void moveFaithful(Long faithfulId, BEC from, BEC to) {
+        if (Objects.equals(from.getId(), to.getId())) {
+            return;
+        }
+        for (Object[] row : contributionRepository.sumByYearForFaithful(faithfulId)) {
+            Integer year = (Integer) row[0];
+            BigDecimal amount = (BigDecimal) row[1];
+            long count = (Long) row[2];
+            apply(from, year, amount.negate(), -count);
+            apply(to, year, amount, count);
+        }
+    }
+
+    /**
+     * Drops the contributions of a faithful about to be deleted.
+     */
+    @Transactional
+    public void removeFaithful(Long faithfulId, BEC bec) {
+        for (Object[] row : contributionRepository.sumByYearForFaithful(faithfulId)) {
+            apply(bec, (Integer) row[0], ((BigDecimal) row[1]).negate(), -(Long) row[2]);
+        }
+    }
+
+    /**
+     * Re-points the totals of a BEC at its current sub-parish.
+     */
+    @Transactional
+    public void moveBec(BEC bec) {
+        totalRepository.moveBec(bec, bec.getSubParish());
+        summaryTotalsCache.invalidateAll();
+    }
+
+    @Transactional
+    public void removeBec(Long becId) {
+        totalRepository.deleteByBecId(becId);
+        summaryTotalsCache.invalidateAll();
+    }
+
+    // --- Maintenance API ---
+
+    /**
+     * Recomputes the whole summary table from amaturo.
+     * @return number of summary rows written
+     */
+    @Transactional
+    public int rebuild() {
+        long startTime = System.currentTimeMillis();
+        totalRepository.deleteAllInBatch();
+
+        List<ContributionTotal> totals = new ArrayList<>();
+        for (Object[] row : contributionRepository.sumByBecAndYear()) {
+            ContributionTotal total = new ContributionTotal((BEC) row[0], (Integer) row[1]);
+            total.setAmount((BigDecimal) row[2]);
+            total.setContributionCount((Long) row[3]);
+            totals.add(total);
+        }
+        totalRepository.saveAll(totals);
+        summaryTotalsCache.invalidateAll();
+
+        loggingService.logPerformance("Contribution totals rebuild (" + totals.size() + " rows)",
+                System.currentTimeMillis() - startTime);
+        return totals.size();
+    }
+
+    // --- Reads ---
+
+    public BigDecimal getTotal(Integer year) {
+        return summaryTotalsCache.get(new SummaryTotalsCache.Key(SummaryTotalsCache.Scope.PARISH, null, year),
+                () -> (year == null) ? totalRepository.sumAll() : totalRepository.sumByYear(year));
+    }
+
+    public Map<SubParish, BigDecimal> getTotalsBySubParish(Integer year) {
+        return summaryTotalsCache.get(new SummaryTotalsCache.Key(SummaryTotalsCache.Scope.SUB_PARISHES, null, year),
+                () -> loadTotalsBySubParish(year));
+    }
+
+    public Map<BEC, BigDecimal> getTotalsByBecInSubParish(SubParish subParish, Integer year) {
+        return summaryTotalsCache.get(
+                new SummaryTotalsCache.Key(SummaryTotalsCache.Scope.BECS_IN_SUB_PARISH, subParish.getId(), year),
+                () -> loadTotalsByBecInSubParish(subParish, year));
+    }
+
+    /**
+     * Streams the summary rows of the scope, by sub-parish, BEC and year, for data exports.
+     * @return number of rows delivered
+     */
+    public int forEachTotalRow(SubParish subParish, BEC bec, Consumer<ContributionTotalRowProjection> sink) {
+        int count = 0;
+        try (Stream<ContributionTotalRowProjection> rows = (bec != null) ? totalRepository.streamRowsByBec(bec)
+                : (subParish != null) ? totalRepository.streamRowsBySubParish(subParish)
+                : totalRepository.streamRows()) {
+            for (ContributionTotalRowProjection row : (Iterable<ContributionTotalRowProjection>) rows::iterator) {
+                sink.accept(row);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Map<SubParish, BigDecimal> loadTotalsBySubParish(Integer year) {
+        List<Object[]> results = (year == null)
+                ? totalRepository.sumBySubParish()
+                : totalRepository.sumBySubParishAndYear(year);
+        Map<SubParish, BigDecimal> totals = new HashMap<>();
+        for (Object[] result : results) {
+            totals.put((SubParish) result[0], (BigDecimal) result[1]);
+        }
+        return Collections.unmodifiableMap(totals);
+    }
+
+    private Map<BEC, BigDecimal> loadTotalsByBecInSubParish(SubParish subParish, Integer year) {
+        List<Object[]> results = (year == null)
+                ? totalRepository.sumByBecInSubParish(subParish)
+                : totalRepository.sumByBecInSubParishAndYear(subParish, year);
+        Map<BEC, BigDecimal> totals = new HashMap<>();
+        for (Object[] result : results) {
+            totals.put((BEC) result[0], (BigDecimal) result[1]);
+        }
+        return Collections.unmodifiableMap(totals);
+    }
+
+    private void apply(BEC bec, Integer year, BigDecimal delta, long countDelta) {
+        // Checked without a lock: two locked reads of a missing row both hold its gap and deadlock on the insert
+        if (countDelta > 0 && !totalRepository.existsByBecAndYear(bec, year)) {
+            seed(bec, year);
+        }
+        Optional<ContributionTotal> found = totalRepository.findByBecAndYear(bec, year);
+        if (found.isEmpty()) {
+            // Nothing to take away from
+            return;
+        }
+        ContributionTotal total = found.get();
+        total.setAmount(total.getAmount().add(delta));
+        total.setContributionCount(total.getContributionCount() + countDelta);
+        summaryTotalsCache.invalidate(bec.getSubParish().getId(), year);
+    }
+
+    /**
+     * Inserts the empty row of a BEC and year, unless there is one. Against a concurrent first insert the
+     * statement waits on the unique key and then leaves that row as it is, instead of failing.
+     */
+    private void seed(BEC bec, Integer year) {
+        ContributionTotal total = new ContributionTotal(bec, year);
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator =
+                (BeforeExecutionGenerator) session.getEntityPersister(null, total).getGenerator();
+        entityManager.createNativeQuery("INSERT INTO ibiteranyo (id, amafranga, umubare, umwaka, bec_id, sub_parish_id) " +
+                        "VALUES (?1, 0, 0, ?2, ?3, ?4) ON DUPLICATE KEY UPDATE id = id")
+                .setParameter(1, generator.generate(session, total, null, EventType.INSERT))
+                .setParameter(2, year)
+                .setParameter(3, bec.getId())
+                .setParameter(4, bec.getSubParish().getId())
+                .unwrap(NativeQuery.class)
+                // Only ibiteranyo changes; keeps the cached BECs and sub-parishes
+                .addSynchronizedEntityClass(ContributionTotal.class)
+                .executeUpdate();
+    }
+}
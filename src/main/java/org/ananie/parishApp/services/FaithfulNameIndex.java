@@ -0,0 +1,263 @@
+package org.ananie.parishApp.services;
+
+import org.ananie.parishApp.dao.FaithfulRepository;
+import org.ananie.parishApp.utilities.BackgroundTaskRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index of faithful names, so "name contains" searches avoid
+ * the unindexable LIKE '%x%' scan on abakristu.amazina.
+ *
+ * Names are matched case- and accent-insensitively (â, é, ’ and ' are folded),
+ * which suits how Kinyarwanda names end up typed in practice.
+ */
+@Component
+public class FaithfulNameIndex {
+
+    /** Queries shorter than this cannot be answered from trigrams. */
+    public static final int GRAM_LENGTH = 3;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern APOSTROPHES = Pattern.compile("[’‘`´]");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final FaithfulRepository faithfulRepository;
+    private final BackgroundTaskRunner backgroundTaskRunner;
+    private final LoggingService loggingService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> namesById = new HashMap<>();
+    private final Map<String, Set<Long>> idsByGram = new HashMap<>();
+    // Puts (name) and removes (null) made while a rebuild reads the database, replayed over its snapshot
+    private Map<Long, String> changesDuringRebuild;
+    private final Object rebuildLock = new Object();
+    private volatile boolean ready;
+
+    @Autowired
+    public FaithfulNameIndex(FaithfulRepository faithfulRepository, BackgroundTaskRunner backgroundTaskRunner,
+                             LoggingService loggingService) {
+        this.faithfulRepository = faithfulRepository;
+        this.backgroundTaskRunner = backgroundTaskRunner;
+        this.loggingService = loggingService;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void buildOnStartup() {
+        // Searches fall back to the database until the index is ready
+        backgroundTaskRunner.execute(this::rebuild);
+    }
+
+    /**
+     * Reloads every id and name from the database. The database is read without the lock, so searches
+     * keep working meanwhile; changes made during the read are recorded and applied over the snapshot.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long startTime = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                List<Object[]> rows = faithfulRepository.findAllIdsAndNames();
+                lock.writeLock().lock();
+                try {
+                    namesById.clear();
+                    idsByGram.clear();
+                    for (Object[] row : rows) {
+                        add((Long) row[0], (String) row[1]);
+                    }
+                    changesDuringRebuild.forEach((id, name) -> {
+                        removeInternal(id);
+                        if (name != null) {
+                            add(id, name);
+                        }
+                    });
+                    ready = true;
+                } finally {
+                    changesDuringRebuild = null;
+                    lock.writeLock().unlock();
+                }
+                loggingService.logPerformance("Faithful name index build (" + rows.size() + " names)",
+                        System.currentTimeMillis() - startTime);
+            } catch (Exception e) {
+                lock.writeLock().lock();
+                try {
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loggingService.logError("FAITHFUL_NAME_INDEX_BUILD", e);
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces the name of a faithful.
+     */
+    public void put(Long id, String name) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            add(id, name);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(id, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of the faithfuls whose normalized name contains the normalized query, ordered by
+     *         normalized name then id; empty when the query is shorter than {@link #GRAM_LENGTH}
+     */
+    public List<Long> search(String query) {
+        return searchAfter(query, null, null);
+    }
+
+    /**
+     * Like {@link #search}, but only the matches ordered after the given name and id, so a list can be
+     * paged by keyset in the index's own order.
+     * @param afterName name of the last match already shown (normalized here), or null for the first page
+     * @param afterId id of the last match already shown
+     */
+    public List<Long> searchAfter(String query, String afterName, Long afterId) {
+        String needle = normalize(query);
+        if (needle.length() < GRAM_LENGTH) {
+            return Collections.emptyList();
+        }
+        String cursorName = afterName != null ? normalize(afterName) : null;
+
+        lock.readLock().lock();
+        try {
+            // Intersect posting lists starting from the rarest gram
+            List<Set<Long>> postings = new ArrayList<>();
+            for (String gram : grams(needle)) {
+                Set<Long> ids = idsByGram.get(gram);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                postings.add(ids);
+            }
+            postings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            List<Map.Entry<String, Long>> matches = new ArrayList<>();
+            for (Long id : postings.get(0)) {
+                // Shared grams do not guarantee a contiguous match, so confirm on the name itself
+                String name = namesById.get(id);
+                if (containsAll(postings, id) && name.contains(needle)
+                        && (cursorName == null || isAfter(name, id, cursorName, afterId))) {
+                    matches.add(Map.entry(name, id));
+                }
+            }
+            matches.sort(Map.Entry.<String, Long>comparingByKey().thenComparing(Map.Entry.comparingByValue()));
+            List<Long> ids = new ArrayList<>(matches.size());
+            for (Map.Entry<String, Long> match : matches) {
+                ids.add(match.getValue());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases, strips diacritics, unifies apostrophes and collapses whitespace.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        String apostrophes = APOSTROPHES.matcher(stripped).replaceAll("'");
+        return SPACES.matcher(apostrophes).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void add(Long id, String name) {
+        String normalized = normalize(name);
+        namesById.put(id, normalized);
+        for (String gram : grams(normalized)) {
+            idsByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void removeInternal(Long id) {
+        String previous = namesById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : grams(previous)) {
+            Set<Long> ids = idsByGram.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    idsByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static boolean isAfter(String name, Long id, String cursorName, Long cursorId) {
+        int byName = name.compareTo(cursorName);
+        return byName > 0 || (byName == 0 && (cursorId == null || id > cursorId));
+    }
+
+    private static boolean containsAll(List<Set<Long>> postings, Long id) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -2,7 +2,8 @@ package org.ananie.parishApp.services;
 
 import org.ananie.parishApp.model.Contribution;
 import org.ananie.parishApp.model.Faithful;
-import org.ananie.parishApp.utilities.ViewPaths;
+import org.ananie.parishApp.configurations.PDFConfig;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.itextpdf.text.BaseColor;
@@ -11,7 +12,6 @@ import com.itextpdf.text.Document;
 import com.itextpdf.text.DocumentException;
 import com.itextpdf.text.Element;
 import com.itextpdf.text.Font;
-import com.itextpdf.text.FontFactory;
 import com.itextpdf.text.Image;
 import com.itextpdf.text.PageSize;
 import com.itextpdf.text.Paragraph;
@@ -24,10 +24,11 @@ import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfPageEventHelper;
 import com.itextpdf.text.pdf.PdfWriter;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -35,59 +36,77 @@ import java.util.List;
 @Service
 public class FaithfulPDFService {
 
-    // Define fonts with support for unicode characters (for Kinyarwanda)
-    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 20, BaseColor.DARK_GRAY);
-    private static final Font SUBTITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.BLACK);
-    private static final Font HEADER_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12, BaseColor.WHITE);
-    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BaseColor.BLACK);
-    private static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 11, BaseColor.BLACK);
-    private static final Font TABLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.BLACK);
+    // Fonts and colors come from the shared resource cache, sized after PDFConfig
+    private final Font titleFont;
+    private final Font subtitleFont;
+    private final Font headerFont;
+    private final Font labelFont;
+    private final Font valueFont;
+    private final Font tableFont;
     
     // Colors
-    private static final BaseColor HEADER_COLOR = new BaseColor(52, 58, 64); // Dark gray
+    private final BaseColor headerColor; // Dark gray
     private static final BaseColor BACKGROUND_COLOR = new BaseColor(150,255,165); // light green
 
+    private final PDFResourceCache pdfResources;
+
+    @Autowired
+    public FaithfulPDFService(PDFResourceCache pdfResources, PDFConfig pdfConfig) {
+        this.pdfResources = pdfResources;
+        titleFont = pdfResources.font(pdfConfig.getTitleFontSize(), true, BaseColor.DARK_GRAY);
+        subtitleFont = pdfResources.font(pdfConfig.getSubtitleFontSize(), true, BaseColor.BLACK);
+        headerFont = pdfResources.font(pdfConfig.getHeaderFontSize(), true, BaseColor.WHITE);
+        labelFont = pdfResources.font(pdfConfig.getLabelFontSize(), true, BaseColor.BLACK);
+        valueFont = pdfResources.font(pdfConfig.getValueFontSize(), false, BaseColor.BLACK);
+        tableFont = pdfResources.font(pdfConfig.getTableFontSize(), false, BaseColor.BLACK);
+        headerColor = pdfResources.headerColor();
+    }
+
     /**
-     * Generate PDF for a faithful member's details and contributions
+     * Generate PDF for a faithful member's details and contributions. The file is closed whether or not
+     * rendering succeeds; on failure it is left incomplete and the caller removes it.
      */
     public void generateFaithfulDetailsPDF(Faithful faithful, List<Contribution> contributions, 
                                          String filePath) throws DocumentException, IOException {
-        
-        Document document = new Document(PageSize.A4, 40, 40, 60, 80);
-        PdfWriter writer = PdfWriter.getInstance(document, new FileOutputStream(filePath));
-        
-        // Add header and footer event handler
-        FaithfulPDFPageEvent pageEvent = new FaithfulPDFPageEvent(ViewPaths.LOGO);
-        writer.setPageEvent(pageEvent);
-        
-        document.open();
-        
-        // Add document title
-        addDocumentTitle(document);
-        
-        // Add faithful details section
-        addFaithfulDetailsSection(document, faithful);
-        
-        // Add contributions section
-        addContributionsSection(document, contributions);
-        
-        // Add summary section
-        addContributionsSummary(document, contributions);
-        // add credentials at the end        
-        addCredentials(document);
-        
-        document.close();
+        try (OutputStream out = Files.newOutputStream(Path.of(filePath))) {
+            Document document = new Document(PageSize.A4, 40, 40, 60, 80);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            
+            // Add header and footer event handler
+            FaithfulPDFPageEvent pageEvent = new FaithfulPDFPageEvent(pdfResources);
+            writer.setPageEvent(pageEvent);
+            
+            document.open();
+            try {
+                // Add document title
+                addDocumentTitle(document);
+                
+                // Add faithful details section
+                addFaithfulDetailsSection(document, faithful);
+                
+                // Add contributions section
+                addContributionsSection(document, contributions);
+                
+                // Add summary section
+                addContributionsSummary(document, contributions);
+                // add credentials at the end        
+                addCredentials(document);
+            } finally {
+                document.close();
+            }
+        }
     }
 
     private void addDocumentTitle(Document document) throws DocumentException {
-        Paragraph title = new Paragraph("IFISHI Y'AMATURO Y'UMUKRISTU", TITLE_FONT);
+        Paragraph title = new Paragraph("IFISHI Y'AMATURO Y'UMUKRISTU", titleFont);
         title.setAlignment(Element.ALIGN_CENTER);
         title.setSpacingAfter(20);
         document.add(title);
         
         // Add generation date
         String dateText = "Byakozwe ku wa: " + LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
-        Paragraph dateP = new Paragraph(dateText, VALUE_FONT);
+        Paragraph dateP = new Paragraph(dateText, valueFont);
         dateP.setAlignment(Element.ALIGN_RIGHT);
         dateP.setSpacingAfter(15);
         document.add(dateP);
@@ -95,7 +114,7 @@ public class FaithfulPDFService {
 
     private void addFaithfulDetailsSection(Document document, Faithful faithful) throws DocumentException {
         // Section title
-        Paragraph sectionTitle = new Paragraph("UMWIRONDORO ", SUBTITLE_FONT);
+        Paragraph sectionTitle = new Paragraph("UMWIRONDORO ", subtitleFont);
         sectionTitle.setSpacingBefore(10);
         sectionTitle.setSpacingAfter(5);
         document.add(sectionTitle);
@@ -124,13 +143,13 @@ public class FaithfulPDFService {
 
     private void addDetailRow(PdfPTable table, String label, String value) {
         // Label cell
-        PdfPCell labelCell = new PdfPCell(new Phrase(label, LABEL_FONT));
+        PdfPCell labelCell = new PdfPCell(new Phrase(label, labelFont));
         labelCell.setBorder(Rectangle.NO_BORDER);
         labelCell.setPadding(8);       
         table.addCell(labelCell);
         
         // Value cell
-        PdfPCell valueCell = new PdfPCell(new Phrase(value != null ? value : "", VALUE_FONT));
+        PdfPCell valueCell = new PdfPCell(new Phrase(value != null ? value : "", valueFont));
         valueCell.setBorder(Rectangle.NO_BORDER);
         valueCell.setPadding(8);       
         table.addCell(valueCell);
@@ -138,13 +157,13 @@ public class FaithfulPDFService {
 
     private void addContributionsSection(Document document, List<Contribution> contributions) throws DocumentException {
         // Section title
-        Paragraph sectionTitle = new Paragraph("AMATURO ", SUBTITLE_FONT);
+        Paragraph sectionTitle = new Paragraph("AMATURO ", subtitleFont);
         sectionTitle.setSpacingBefore(5);
         sectionTitle.setSpacingAfter(10);
         document.add(sectionTitle);
         
         if (contributions == null || contributions.isEmpty()) {
-            Paragraph noData = new Paragraph("Nta maturo yagaragara kuri uyu mukristu.", VALUE_FONT);
+            Paragraph noData = new Paragraph("Nta maturo yagaragara kuri uyu mukristu.", valueFont);
             noData.setSpacingAfter(20);
             document.add(noData);
             return;
@@ -177,15 +196,15 @@ public class FaithfulPDFService {
     }
 
     private void addContributionHeader(PdfPTable table, String text) {
-        PdfPCell headerCell = new PdfPCell(new Phrase(text, HEADER_FONT));
-        headerCell.setBackgroundColor(HEADER_COLOR);
+        PdfPCell headerCell = new PdfPCell(new Phrase(text, headerFont));
+        headerCell.setBackgroundColor(headerColor);
         headerCell.setHorizontalAlignment(Element.ALIGN_CENTER);
         headerCell.setPadding(10);
         table.addCell(headerCell);
     }
 
     private void addContributionDataCell(PdfPTable table, String text) {
-        PdfPCell dataCell = new PdfPCell(new Phrase(text, TABLE_FONT));
+        PdfPCell dataCell = new PdfPCell(new Phrase(text, tableFont));
         dataCell.setPadding(8);
         dataCell.setHorizontalAlignment(Element.ALIGN_CENTER);              
         table.addCell(dataCell);
@@ -207,11 +226,11 @@ public class FaithfulPDFService {
         summaryParagraph.setSpacingAfter(10);
         
         // Add the label
-        Chunk labelChunk = new Chunk("AMAFRANGA YOSE YATUYE NI : ", LABEL_FONT);
+        Chunk labelChunk = new Chunk("AMAFRANGA YOSE YATUYE NI : ", labelFont);
         summaryParagraph.add(labelChunk);
         
         // Add the total amount
-        Chunk amountChunk = new Chunk(formatAmount(totalAmount) + " RWF", VALUE_FONT);
+        Chunk amountChunk = new Chunk(formatAmount(totalAmount) + " RWF", valueFont);
         //amountChunk.setBackground(new BaseColor(255, 255, 0), 2, 2, 2, 2); // Yellow highlight (optional)
         summaryParagraph.add(amountChunk);
         
@@ -235,68 +254,29 @@ public class FaithfulPDFService {
     	 
     	 Paragraph signatureParagraph = new Paragraph();
     	 
-    	 Chunk signatureLabelChunk = new Chunk("UMUKONO NA KASHE: ", LABEL_FONT);
+    	 Chunk signatureLabelChunk = new Chunk("UMUKONO NA KASHE: ", labelFont);
     	 signatureParagraph.add(signatureLabelChunk);
     	 document.add(signatureParagraph);
     }
 
     /**
-     * Helper method to load logo as resource or file
+     * Page events (header and footer). One instance per document: the logo copy is created once
+     * and re-added on every page, so it is embedded as a single image XObject.
      */
-    private static Image loadLogo(String logoPath) throws IOException, DocumentException {
-        if (logoPath == null || logoPath.trim().isEmpty()) {
-            return null;
-        }
-
-        Image logo = null;
-        
-        try {
-            // First try to load as resource
-            if (logoPath.startsWith("/")) {
-                // Try as resource from classpath
-                java.net.URL logoUrl = FaithfulPDFService.class.getResource(logoPath);
-                if (logoUrl != null) {
-                    logo = Image.getInstance(logoUrl);
-                    return logo;
-                }
-            }
-            
-            // If resource loading failed, try as file
-            File logoFile = new File(logoPath);
-            if (logoFile.exists() && logoFile.canRead()) {
-                logo = Image.getInstance(logoPath);
-                return logo;
-            }
-            
-            // Try common resource paths
-            String[] resourcePaths = {
-                "/" + logoPath.replaceFirst("^/", ""),
-                "/images/" + logoPath.replaceFirst("^.*/", ""),
-                "/assets/" + logoPath.replaceFirst("^.*/", "")
-            };
-            
-            for (String resourcePath : resourcePaths) {
-                java.net.URL logoUrl = FaithfulPDFService.class.getResource(resourcePath);
-                if (logoUrl != null) {
-                    logo = Image.getInstance(logoUrl);
-                    return logo;
-                }
-            }
-            
-        } catch (Exception e) {
-            System.err.println("Could not load logo from path: " + logoPath);
-            e.printStackTrace();
-        }
-        
-        return null;
-    }
-
-    // Inner class for page events (header and footer)
     public static class FaithfulPDFPageEvent extends PdfPageEventHelper {
-        private final String logoPath;
+        private final Image logo;
+        private final Font placeholderFont;
+        private final Font headerFont;
+        private final Font footerFont;
         
-        public FaithfulPDFPageEvent(String logoPath) {
-            this.logoPath = logoPath;
+        public FaithfulPDFPageEvent(PDFResourceCache resources) {
+            this.logo = resources.newLogoImage();
+            if (logo != null) {
+                logo.scaleToFit(60, 60);
+            }
+            this.placeholderFont = resources.font(10, false, BaseColor.BLACK);
+            this.headerFont = resources.font(12, true, BaseColor.BLACK);
+            this.footerFont = resources.font(9, false, BaseColor.BLACK);
         }
         
         @Override
@@ -328,45 +308,30 @@ public class FaithfulPDFService {
         private void addHeader(PdfWriter writer, Document document) throws DocumentException {
             PdfContentByte cb = writer.getDirectContent();
             
-            // Add logo if path is provided
-            if (logoPath != null && !logoPath.trim().isEmpty()) {
-                try {
-                    Image logo = loadLogo(logoPath);
-                    if (logo != null) {
-                        logo.scaleToFit(60, 60);
-                        logo.setAbsolutePosition(document.leftMargin(), 
-                                               document.top() + document.topMargin() - 70);
-                        document.add(logo);
-                    } else {
-                        // If logo can't be loaded, add placeholder text
-                        ColumnText.showTextAligned(cb, Element.ALIGN_LEFT,
-                                new Phrase("LOGO", FontFactory.getFont(FontFactory.HELVETICA, 10)),
-                                document.leftMargin(), document.top() + document.topMargin() - 30, 0);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error loading logo in header: " + e.getMessage());
-                    // Add placeholder text
-                    ColumnText.showTextAligned(cb, Element.ALIGN_LEFT,
-                            new Phrase("LOGO", FontFactory.getFont(FontFactory.HELVETICA, 10)),
-                            document.leftMargin(), document.top() + document.topMargin() - 30, 0);
-                }
+            if (logo != null) {
+                logo.setAbsolutePosition(document.leftMargin(), 
+                                       document.top() + document.topMargin() - 70);
+                cb.addImage(logo);
+            } else {
+                // If logo can't be loaded, add placeholder text
+                ColumnText.showTextAligned(cb, Element.ALIGN_LEFT,
+                        new Phrase("LOGO", placeholderFont),
+                        document.leftMargin(), document.top() + document.topMargin() - 30, 0);
             }
             
             // Add header text
-            Phrase headerText = new Phrase("ARKIDIYOSEZI YA KIGALI-PARUWASI MUSHA", 
-                                         FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12));
+            Phrase headerText = new Phrase("ARKIDIYOSEZI YA KIGALI-PARUWASI MUSHA", headerFont);
             ColumnText.showTextAligned(cb, Element.ALIGN_CENTER,
                     headerText,
                     (document.right() + document.left()) / 2,
                     document.top() + document.topMargin() - 30, 0);
         }
         
-        private void addFooter(PdfWriter writer, Document document) throws DocumentException, IOException {
+        private void addFooter(PdfWriter writer, Document document) {
             PdfContentByte cb = writer.getDirectContent();
             
             // Page number
-            Phrase pageNum = new Phrase("Urupapuro " + writer.getPageNumber(), 
-                                      FontFactory.getFont(FontFactory.HELVETICA, 9));
+            Phrase pageNum = new Phrase("Urupapuro " + writer.getPageNumber(), footerFont);
             ColumnText.showTextAligned(cb, Element.ALIGN_CENTER,
                     pageNum,
                     (document.right() + document.left()) / 2,
@@ -374,4 +339,4 @@ public class FaithfulPDFService {
             
         }
     }
-}
\ No newline at end of file
+}
@@ -1,18 +1,30 @@
 package org.ananie.parishApp.services;
 
 import org.ananie.parishApp.dao.ContributionRepository;
+import org.ananie.parishApp.dao.FaithfulListProjection;
 import org.ananie.parishApp.dao.FaithfulRepository;
 import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.Faithful;
 import org.ananie.parishApp.model.SubParish;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
@@ -20,14 +32,19 @@ public class FaithfulService {
 
     private final FaithfulRepository faithfulRepository;
     private final PlatformTransactionManager transactionManager;
+    private final FaithfulNameIndex faithfulNameIndex;
+    private final ContributionTotalsService contributionTotalsService;
 
     // You might also need BECService to ensure BEC exists
     private final BECService becService;
 
     @Autowired
-    public FaithfulService(FaithfulRepository faithfulRepository, BECService becService, ContributionRepository contributionRepository, PlatformTransactionManager transactionManager) {
+    public FaithfulService(FaithfulRepository faithfulRepository, BECService becService, ContributionRepository contributionRepository, PlatformTransactionManager transactionManager,
+                           FaithfulNameIndex faithfulNameIndex, ContributionTotalsService contributionTotalsService) {
         this.faithfulRepository = faithfulRepository;
 		this.transactionManager = transactionManager;
+		this.faithfulNameIndex = faithfulNameIndex;
+		this.contributionTotalsService = contributionTotalsService;
         this.becService = becService;
     }
 
@@ -38,7 +55,7 @@ public class FaithfulService {
             throw new IllegalArgumentException("Faithful must be associated with an existing BEC.");
         }
         // Optionally, check if the BEC ID actually exists in the database
-        becService.findById(faithful.getBec().getId())
+        BEC bec = becService.findById(faithful.getBec().getId())
                   .orElseThrow(() -> new IllegalArgumentException("Associated BEC does not exist."));
 
         // Add more validation if needed (e.g., name not empty)
@@ -52,7 +69,54 @@ public class FaithfulService {
             throw new IllegalArgumentException("A faithful with this name already exists in the selected BEC.");
         }
 
-        return faithfulRepository.save(faithful);
+        if (faithful.getId() != null) {
+            // Carry the summary totals along when the faithful changes BEC
+            faithfulRepository.findById(faithful.getId())
+                    .ifPresent(stored -> contributionTotalsService.moveFaithful(faithful.getId(), stored.getBec(), bec));
+        }
+
+        Faithful saved = faithfulRepository.save(faithful);
+        afterCommit(() -> faithfulNameIndex.put(saved.getId(), saved.getName()));
+        return saved;
+    }
+
+    /**
+     * Saves new faithfuls in one batch, with the rules of {@link #save}: an existing BEC, a name, and no
+     * name already used in the same BEC, compared after {@link FaithfulNameIndex#normalize}. The name index
+     * learns them when the transaction commits.
+     * @throws IllegalArgumentException when any faithful breaks a rule; none is saved then
+     */
+    @Transactional
+    public List<Faithful> createAll(Collection<Faithful> faithfuls) {
+        Map<Long, Set<String>> namesByBec = new HashMap<>();
+        for (Faithful faithful : faithfuls) {
+            if (faithful.getId() != null) {
+                throw new IllegalArgumentException("Faithful is already saved: " + faithful.getId());
+            }
+            if (faithful.getBec() == null || faithful.getBec().getId() == null) {
+                throw new IllegalArgumentException("Faithful must be associated with an existing BEC.");
+            }
+            if (faithful.getName() == null || faithful.getName().trim().isEmpty()) {
+                throw new IllegalArgumentException("Faithful name cannot be empty.");
+            }
+            Set<String> names = namesByBec.computeIfAbsent(faithful.getBec().getId(), becId -> {
+                BEC bec = becService.findById(becId)
+                        .orElseThrow(() -> new IllegalArgumentException("Associated BEC does not exist."));
+                Set<String> existing = new HashSet<>();
+                for (Object[] row : faithfulRepository.findNamesAndIdsByBec(bec)) {
+                    existing.add(FaithfulNameIndex.normalize((String) row[0]));
+                }
+                return existing;
+            });
+            if (!names.add(FaithfulNameIndex.normalize(faithful.getName()))) {
+                throw new IllegalArgumentException("A faithful with this name already exists in the selected BEC: "
+                        + faithful.getName());
+            }
+        }
+
+        List<Faithful> saved = faithfulRepository.saveAll(faithfuls);
+        afterCommit(() -> saved.forEach(faithful -> faithfulNameIndex.put(faithful.getId(), faithful.getName())));
+        return saved;
     }
 
     @Transactional
@@ -68,6 +132,7 @@ public class FaithfulService {
         // 1. Explicitly fetch with contributions to avoid lazy loading issues
         Faithful faithful = faithfulRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Faithful not found"));
+        contributionTotalsService.removeFaithful(id, faithful.getBec());
         
         // 3. Delete the faithful
         faithfulRepository.delete(faithful);
@@ -82,12 +147,27 @@ public class FaithfulService {
             }
             return null;
         });
+        afterCommit(() -> faithfulNameIndex.remove(id));
     }
 
     public Optional<Faithful> findById(Long id) {
         return faithfulRepository.findById(id);
     }
 
+    /**
+     * The faithful with its contribution history loaded; {@link #findById} leaves it lazy.
+     */
+    public Optional<Faithful> findDetailById(Long id) {
+        return faithfulRepository.findDetailById(id);
+    }
+
+    /**
+     * Faithfuls with their BEC and sub-parish, in name order.
+     */
+    public List<Faithful> findAllByIds(Collection<Long> ids) {
+        return (ids == null || ids.isEmpty()) ? List.of() : faithfulRepository.findByIdInOrderByNameAsc(ids);
+    }
+
     public List<Faithful> findAll() {
         return faithfulRepository.findAllByOrderByNameAsc(); // Assuming this method exists and is preferred
     }
@@ -96,7 +176,13 @@ public class FaithfulService {
         if (name == null || name.trim().isEmpty()) {
             return findAll(); // Return all if search query is empty
         }
-        return faithfulRepository.findByNameContainingIgnoreCase(name);
+        if (!faithfulNameIndex.isReady() || FaithfulNameIndex.normalize(name).length() < FaithfulNameIndex.GRAM_LENGTH) {
+            // Index still building, or the query is too short for trigrams
+            return faithfulRepository.findByNameContainingIgnoreCase(name);
+        }
+        // Only the matching rows are loaded from the database
+        List<Long> ids = faithfulNameIndex.search(name);
+        return ids.isEmpty() ? List.of() : faithfulRepository.findByIdInOrderByNameAsc(ids);
     }
 
     public List<Faithful> findByBec(BEC bec) {
@@ -111,4 +197,114 @@ public class FaithfulService {
         }
         return faithfulRepository.findByBec_SubParish(subParish);
     }
-}
\ No newline at end of file
+
+    // --- Slim listing API for tables: rows only, no managed entities ---
+
+    public List<FaithfulListProjection> listAll() {
+        return faithfulRepository.findAllListRows();
+    }
+
+    public List<FaithfulListProjection> listByBec(BEC bec) {
+        if (bec == null || bec.getId() == null) {
+            throw new IllegalArgumentException(" Shyiramo amazina y'umuryangoremezo ya nyayo");
+        }
+        return faithfulRepository.findListRowsByBec(bec);
+    }
+
+    public List<FaithfulListProjection> listBySubParish(SubParish subParish) {
+        if (subParish == null || subParish.getId() == null) {
+            throw new IllegalArgumentException("Shyiramo izina rya Santarali rya nyaryo");
+        }
+        return faithfulRepository.findListRowsBySubParish(subParish);
+    }
+
+    /**
+     * Keyset page of list rows, ordered by name then id.
+     * Without a scope, a name filter of at least {@link FaithfulNameIndex#GRAM_LENGTH} characters is answered
+     * by the name index once it is built: matching is then accent-insensitive and rows come in the index's order.
+     * @param subParish optional sub-parish scope (ignored when a BEC is given)
+     * @param bec optional BEC scope
+     * @param nameFilter optional case-insensitive "contains" filter on the name
+     * @param after last row of the previous page, or null for the first page
+     * @param pageSize maximum number of rows to return
+     */
+    public List<FaithfulListProjection> listPage(SubParish subParish, BEC bec, String nameFilter,
+                                                 FaithfulListProjection after, int pageSize) {
+        if (usesNameIndex(subParish, bec, nameFilter)) {
+            return listIndexedPage(nameFilter, after, pageSize);
+        }
+        String namePattern = (nameFilter == null || nameFilter.trim().isEmpty())
+                ? "%"
+                : "%" + escapeLike(nameFilter.trim().toLowerCase()) + "%";
+        String lastName = after != null ? after.getName() : "";
+        Long lastId = after != null ? after.getId() : 0L;
+        PageRequest page = PageRequest.of(0, pageSize);
+
+        if (bec != null && bec.getId() != null) {
+            return faithfulRepository.findListRowsByBecAfter(bec, namePattern, lastName, lastId, page);
+        }
+        if (subParish != null && subParish.getId() != null) {
+            return faithfulRepository.findListRowsBySubParishAfter(subParish, namePattern, lastName, lastId, page);
+        }
+        return faithfulRepository.findListRowsAfter(namePattern, lastName, lastId, page);
+    }
+
+    /**
+     * Whether {@link #listPage} answers this search from the name index rather than a LIKE scan.
+     * A BEC or sub-parish scope goes to the LIKE query, which its index narrows to the scope's rows.
+     */
+    public boolean usesNameIndex(SubParish subParish, BEC bec, String nameFilter) {
+        boolean scoped = (bec != null && bec.getId() != null) || (subParish != null && subParish.getId() != null);
+        return !scoped && faithfulNameIndex.isReady()
+                && FaithfulNameIndex.normalize(nameFilter).length() >= FaithfulNameIndex.GRAM_LENGTH;
+    }
+
+    /**
+     * Pages the index matches in the index's order, loading only the rows of the page. Ids whose row is gone
+     * are skipped and more ids are taken after them, so a page is short only once the matches run out.
+     */
+    private List<FaithfulListProjection> listIndexedPage(String nameFilter, FaithfulListProjection after, int pageSize) {
+        List<Long> matches = after != null
+                ? faithfulNameIndex.searchAfter(nameFilter, after.getName(), after.getId())
+                : faithfulNameIndex.search(nameFilter);
+
+        List<FaithfulListProjection> page = new ArrayList<>(pageSize);
+        int next = 0;
+        while (page.size() < pageSize && next < matches.size()) {
+            List<Long> ids = matches.subList(next, Math.min(matches.size(), next + pageSize - page.size()));
+            next += ids.size();
+            Map<Long, FaithfulListProjection> rowsById = faithfulRepository.findListRowsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(FaithfulListProjection::getId, Function.identity()));
+            for (Long id : ids) {
+                FaithfulListProjection row = rowsById.get(id);
+                if (row != null) {
+                    page.add(row);
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Makes typed text match literally in a LIKE ... ESCAPE '\' pattern.
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Keeps the name index in step with committed data only.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
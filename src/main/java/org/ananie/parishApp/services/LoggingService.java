@@ -11,6 +11,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Service
 public class LoggingService {
@@ -97,6 +98,28 @@ public class LoggingService {
         logger.info("PERFORMANCE: {} completed in {} ms", operation, duration);
     }
     
+    /**
+     * Log a single call that exceeded the slow-call threshold
+     */
+    public void logSlowOperation(String operation, long duration) {
+        logger.warn("SLOW OPERATION: {} took {} ms", operation, duration);
+    }
+    
+    /**
+     * Log a periodic performance summary, one line per operation
+     */
+    public void logPerformanceSummary(List<String> lines) {
+        logger.info("PERFORMANCE SUMMARY ({} operations):{}{}", lines.size(), System.lineSeparator(),
+                String.join(System.lineSeparator(), lines));
+    }
+    
+    /**
+     * Log a periodic database query report, one line per finding
+     */
+    public void logQueryReport(List<String> lines) {
+        dbLogger.info("QUERY REPORT:{}{}", System.lineSeparator(), String.join(System.lineSeparator(), lines));
+    }
+    
     /**
      * Log system resources
      */
@@ -0,0 +1,169 @@
+package org.ananie.parishApp.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ananie.parishApp.configurations.PDFConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.pdf.BaseFont;
+
+/**
+ * Shared, thread-safe PDF resources driven by {@link PDFConfig}: the logo decoded once,
+ * one BaseFont per face, Fonts per (size, weight, color) and the configured colors.
+ * Every PDF service and page event takes its resources from here instead of reloading them per page.
+ */
+@Component
+public class PDFResourceCache {
+
+    private final PDFConfig pdfConfig;
+    private final LoggingService loggingService;
+
+    private final Map<String, BaseFont> baseFonts = new ConcurrentHashMap<>();
+    private final Map<FontKey, Font> fonts = new ConcurrentHashMap<>();
+    private final Object logoLock = new Object();
+    private volatile Image logoTemplate;
+    private volatile boolean logoLoaded;
+
+    private record FontKey(float size, boolean bold, BaseColor color) {
+    }
+
+    @Autowired
+    public PDFResourceCache(PDFConfig pdfConfig, LoggingService loggingService) {
+        this.pdfConfig = pdfConfig;
+        this.loggingService = loggingService;
+    }
+
+    /**
+     * A logo image for one document, or null when the configured logo cannot be found.
+     * Copies share the decoded pixels and the same image id, so a document that adds its copy
+     * on every page embeds the logo only once.
+     */
+    public Image newLogoImage() {
+        Image template = logoTemplate();
+        if (template == null) {
+            return null;
+        }
+        try {
+            return Image.getInstance(template);
+        } catch (Exception e) {
+            loggingService.logError("PDF_LOGO_COPY", e);
+            return null;
+        }
+    }
+
+    /**
+     * Font of the configured family; instances are shared, so callers must not modify them.
+     */
+    public Font font(float size, boolean bold, BaseColor color) {
+        return fonts.computeIfAbsent(new FontKey(size, bold, color),
+                key -> new Font(baseFont(key.bold()), key.size(), Font.NORMAL, key.color()));
+    }
+
+    public BaseFont baseFont(boolean bold) {
+        return baseFonts.computeIfAbsent(baseFontName(bold), name -> {
+            try {
+                return BaseFont.createFont(name, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+            } catch (DocumentException | IOException e) {
+                throw new IllegalStateException("Cannot load PDF font " + name, e);
+            }
+        });
+    }
+
+    public BaseColor headerColor() {
+        return pdfConfig.getHeaderColor() != null ? pdfConfig.getHeaderColor() : new BaseColor(52, 58, 64);
+    }
+
+    public BaseColor alternateRowColor() {
+        return pdfConfig.getAlternateRowColor() != null ? pdfConfig.getAlternateRowColor() : new BaseColor(248, 249, 250);
+    }
+
+    private String baseFontName(boolean bold) {
+        String family = pdfConfig.getFontFamily() == null ? "" : pdfConfig.getFontFamily().toUpperCase(Locale.ROOT);
+        return switch (family) {
+            case "TIMES", "TIMES_ROMAN" -> bold ? BaseFont.TIMES_BOLD : BaseFont.TIMES_ROMAN;
+            case "COURIER" -> bold ? BaseFont.COURIER_BOLD : BaseFont.COURIER;
+            default -> bold ? BaseFont.HELVETICA_BOLD : BaseFont.HELVETICA;
+        };
+    }
+
+    private Image logoTemplate() {
+        if (!logoLoaded) {
+            synchronized (logoLock) {
+                if (!logoLoaded) {
+                    logoTemplate = loadLogo(pdfConfig.getLogoPath());
+                    logoLoaded = true;
+                }
+            }
+        }
+        return logoTemplate;
+    }
+
+    /**
+     * Loads the logo as a classpath resource or a file, trying the usual resource folders.
+     */
+    private Image loadLogo(String logoPath) {
+        if (logoPath == null || logoPath.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] bytes = readLogoBytes(logoPath);
+            if (bytes == null) {
+                loggingService.logUserAction("PDF_LOGO", "Logo not found: " + logoPath);
+                return null;
+            }
+            return Image.getInstance(bytes);
+        } catch (Exception e) {
+            loggingService.logError("PDF_LOGO_LOAD " + logoPath, e);
+            return null;
+        }
+    }
+
+    private static byte[] readLogoBytes(String logoPath) throws IOException {
+        if (logoPath.startsWith("/")) {
+            byte[] bytes = readResource(logoPath);
+            if (bytes != null) {
+                return bytes;
+            }
+        }
+
+        File logoFile = new File(logoPath);
+        if (logoFile.exists() && logoFile.canRead()) {
+            return Files.readAllBytes(logoFile.toPath());
+        }
+
+        String[] resourcePaths = {
+            "/" + logoPath.replaceFirst("^/", ""),
+            "/images/" + logoPath.replaceFirst("^.*/", ""),
+            "/assets/" + logoPath.replaceFirst("^.*/", "")
+        };
+        for (String resourcePath : resourcePaths) {
+            byte[] bytes = readResource(resourcePath);
+            if (bytes != null) {
+                return bytes;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] readResource(String path) throws IOException {
+        URL url = PDFResourceCache.class.getResource(path);
+        if (url == null) {
+            return null;
+        }
+        try (InputStream in = url.openStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -14,12 +14,14 @@ import java.util.Optional;
 public class SubParishService {
 
     private final SubParishRepository subParishRepository;
+    private final SummaryTotalsCache summaryTotalsCache;
 
     // Constructor injection for the repository
     // Spring will automatically inject SubParishRepository here
     @Autowired
-    public SubParishService(SubParishRepository subParishRepository) {
+    public SubParishService(SubParishRepository subParishRepository, SummaryTotalsCache summaryTotalsCache) {
         this.subParishRepository = subParishRepository;
+        this.summaryTotalsCache = summaryTotalsCache;
     }
 
     @Transactional // Override to make this method transactional (modifies data)
@@ -34,6 +36,8 @@ public class SubParishService {
         if (subParish.getId() == null || !subParishRepository.existsById(subParish.getId())) {
             throw new IllegalArgumentException("Cannot update SubParish: ID is null or does not exist.");
         }
+        // Cached summary totals carry the sub-parish name
+        summaryTotalsCache.invalidateAll();
         return subParishRepository.save(subParish); // save() also acts as update() if ID exists
     }
 
@@ -0,0 +1,126 @@
+package org.ananie.parishApp.services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring cache of the summary-screen totals keyed by (scope, sub-parish, year).
+ * Writers invalidate only the keys of the year and sub-parish they touched, once their
+ * transaction completes, so switching years back and forth on the summary screen is free.
+ *
+ * Tunable with system properties: {@code parish.cache.summaryEntries} (default 256)
+ * and {@code parish.cache.summaryTtlMinutes} (default 10).
+ */
+@Component
+public class SummaryTotalsCache {
+
+    /** What a cached total covers. */
+    public enum Scope {
+        /** Total of the whole parish. */
+        PARISH,
+        /** One total per sub-parish. */
+        SUB_PARISHES,
+        /** One total per BEC of one sub-parish. */
+        BECS_IN_SUB_PARISH
+    }
+
+    /** A null year means all years; subParishId is only set for {@link Scope#BECS_IN_SUB_PARISH}. */
+    public record Key(Scope scope, Long subParishId, Integer year) {
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final int maxEntries = Integer.getInteger("parish.cache.summaryEntries", 256);
+    private final long ttlNanos = TimeUnit.MINUTES.toNanos(Long.getLong("parish.cache.summaryTtlMinutes", 10));
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    // Bumped by every invalidation so a value computed before it is never stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Returns the cached value or computes and stores it. The loader runs outside the lock.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - now > 0) {
+                return (T) entry.value();
+            }
+        }
+        long startGeneration = generation.get();
+        T value = loader.get();
+        synchronized (entries) {
+            if (generation.get() == startGeneration) {
+                entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops the keys a change to the given sub-parish and year can affect, after the
+     * current transaction completes (immediately when there is none).
+     */
+    public void invalidate(Long subParishId, Integer year) {
+        List<Key> keys = List.of(
+                new Key(Scope.PARISH, null, year),
+                new Key(Scope.PARISH, null, null),
+                new Key(Scope.SUB_PARISHES, null, year),
+                new Key(Scope.SUB_PARISHES, null, null),
+                new Key(Scope.BECS_IN_SUB_PARISH, subParishId, year),
+                new Key(Scope.BECS_IN_SUB_PARISH, subParishId, null));
+        afterCompletion(() -> remove(keys));
+    }
+
+    /**
+     * Drops every key, for structural changes such as a BEC moving sub-parish.
+     */
+    public void invalidateAll() {
+        afterCompletion(this::clear);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    private void remove(Collection<Key> keys) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.keySet().removeAll(keys);
+        }
+    }
+
+    private void afterCompletion(Runnable invalidation) {
+        // Bumping now also stops readers of the pre-commit state from caching it
+        generation.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        } else {
+            invalidation.run();
+        }
+    }
+}
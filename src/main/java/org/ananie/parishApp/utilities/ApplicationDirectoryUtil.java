@@ -19,14 +19,19 @@ public class ApplicationDirectoryUtil {
     
     /**
      * Get the main application directory
-     * This is where all application data will be stored
+     * This is where all application data will be stored; the system property parish.app.dir overrides it
      */
     public static String getApplicationDirectory() {
         if (applicationDirectory != null) {
             return applicationDirectory;
         }
         
-        String appDir;
+        String appDir = System.getProperty("parish.app.dir");
+        if (appDir != null) {
+            // Set by build-time training and benchmark runs, which keep their files out of the packaged directory
+            applicationDirectory = validateAndPrepareDirectory(appDir);
+            return applicationDirectory;
+        }
         
         try {
             // Try to get the directory where the JAR is located
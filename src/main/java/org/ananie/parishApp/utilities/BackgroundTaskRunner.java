@@ -0,0 +1,159 @@
+package org.ananie.parishApp.utilities;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Runs service calls off the JavaFX thread and hands the results back on it.
+ * Controllers work through a {@link TaskScope}, which drops stale requests and exposes a busy flag.
+ */
+@Component
+public class BackgroundTaskRunner {
+
+    /** Executor that posts work onto the JavaFX application thread. */
+    public static final Executor FX_THREAD = Platform::runLater;
+
+    private final ExecutorService executor;
+    private final LoggingService loggingService;
+
+    @Autowired
+    public BackgroundTaskRunner(@Qualifier("backgroundExecutor") ExecutorService executor,
+                                LoggingService loggingService) {
+        this.executor = executor;
+        this.loggingService = loggingService;
+    }
+
+    /**
+     * Creates a scope for one screen; keep one per controller.
+     */
+    public TaskScope newScope() {
+        return new TaskScope();
+    }
+
+    /**
+     * Runs a self-contained job (e.g. a Task with its own handlers) on the shared executor.
+     */
+    public void execute(Runnable job) {
+        executor.execute(job);
+    }
+
+    /**
+     * Runs work in the background for callers that are not tied to a screen.
+     * Chain UI updates with {@code thenAcceptAsync(..., FX_THREAD)}.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Background requests of one screen. All methods must be called on the JavaFX thread.
+     */
+    public class TaskScope {
+        private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+        private final Map<String, Task<?>> latestByKey = new HashMap<>();
+        private int running;
+
+        private TaskScope() {
+        }
+
+        /**
+         * True while at least one request of this scope is in flight.
+         */
+        public ReadOnlyBooleanProperty busyProperty() {
+            return busy.getReadOnlyProperty();
+        }
+
+        public <T> Task<T> run(String requestKey, Callable<T> work, Consumer<? super T> onSuccess) {
+            return run(requestKey, work, onSuccess, null);
+        }
+
+        /**
+         * Runs work in the background and delivers its result on the JavaFX thread.
+         * A newer request with the same key cancels the older one, whose callbacks never fire.
+         * Failures go to onFailure; without one they are only logged.
+         */
+        public <T> Task<T> run(String requestKey, Callable<T> work, Consumer<? super T> onSuccess,
+                               Consumer<Throwable> onFailure) {
+            cancel(requestKey);
+
+            Task<T> task = new Task<>() {
+                @Override
+                protected T call() throws Exception {
+                    return work.call();
+                }
+            };
+            latestByKey.put(requestKey, task);
+            running++;
+            busy.set(true);
+
+            task.setOnSucceeded(event -> {
+                finished(requestKey, task);
+                if (onSuccess != null) {
+                    onSuccess.accept(task.getValue());
+                }
+            });
+            task.setOnFailed(event -> {
+                finished(requestKey, task);
+                Throwable error = task.getException();
+                if (onFailure != null) {
+                    onFailure.accept(error);
+                } else {
+                    loggingService.logError("BACKGROUND_TASK_" + requestKey, error);
+                }
+            });
+            task.setOnCancelled(event -> finished(requestKey, task));
+
+            executor.execute(task);
+            return task;
+        }
+
+        /**
+         * Cancels the in-flight request with this key, if any.
+         */
+        public void cancel(String requestKey) {
+            Task<?> stale = latestByKey.remove(requestKey);
+            if (stale != null) {
+                stale.cancel(true);
+            }
+        }
+
+        /**
+         * Cancels every in-flight request of this scope.
+         */
+        public void cancelAll() {
+            for (String requestKey : latestByKey.keySet().toArray(new String[0])) {
+                cancel(requestKey);
+            }
+        }
+
+        private void finished(String requestKey, Task<?> task) {
+            latestByKey.remove(requestKey, task);
+            running = Math.max(0, running - 1);
+            busy.set(running > 0);
+        }
+    }
+}
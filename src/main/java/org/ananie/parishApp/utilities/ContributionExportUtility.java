@@ -0,0 +1,107 @@
+package org.ananie.parishApp.utilities;
+
+import javafx.concurrent.Task;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ChoiceDialog;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.reports.TableExporter;
+import org.ananie.parishApp.services.ContributionExportService;
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * Screen side of {@link ContributionExportService}: asks what to export and where, then writes it in the background.
+ */
+@Component
+public class ContributionExportUtility {
+
+    private final ContributionExportService contributionExportService;
+    private final LoggingService loggingService;
+    private final BackgroundTaskRunner backgroundTaskRunner;
+
+    @Autowired
+    public ContributionExportUtility(ContributionExportService contributionExportService,
+                                     LoggingService loggingService, BackgroundTaskRunner backgroundTaskRunner) {
+        this.contributionExportService = contributionExportService;
+        this.loggingService = loggingService;
+        this.backgroundTaskRunner = backgroundTaskRunner;
+    }
+
+    /**
+     * @param subParish optional sub-parish scope
+     * @param bec optional BEC scope
+     * @param scopeName shown in the dialogs and used in the file name
+     */
+    public void exportData(SubParish subParish, BEC bec, String scopeName, Window ownerWindow) {
+        ChoiceDialog<ContributionExportService.Dataset> datasetDialog = new ChoiceDialog<>(
+                ContributionExportService.Dataset.MATRIX, ContributionExportService.Dataset.values());
+        datasetDialog.initOwner(ownerWindow);
+        datasetDialog.setTitle("Kohereza amakuru");
+        datasetDialog.setHeaderText("Amakuru ya: " + scopeName);
+        datasetDialog.setContentText("Hitamo ibyoherezwa:");
+        Optional<ContributionExportService.Dataset> dataset = datasetDialog.showAndWait();
+        if (dataset.isEmpty()) {
+            loggingService.logUserAction("DATA_EXPORT", "User cancelled dataset selection");
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Bika amakuru");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Excel (*.xlsx)", "*.xlsx"),
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"));
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String baseName = (dataset.get().name().toLowerCase() + "_" + scopeName).replaceAll("[^\\p{L}\\p{N}]+", "_");
+        fileChooser.setInitialFileName(baseName + "_" + timestamp + ".xlsx");
+        File chosen = fileChooser.showSaveDialog(ownerWindow);
+        if (chosen == null) {
+            loggingService.logUserAction("DATA_EXPORT", "User cancelled file selection");
+            return;
+        }
+
+        // The chosen filter decides the format when the name was typed without an extension
+        FileChooser.ExtensionFilter filter = fileChooser.getSelectedExtensionFilter();
+        String name = chosen.getName().toLowerCase();
+        TableExporter.Format format = (name.endsWith(".csv") || name.endsWith(".xlsx") || filter == null)
+                ? TableExporter.Format.fromFileName(name)
+                : filter.getExtensions().get(0).endsWith(".csv") ? TableExporter.Format.CSV : TableExporter.Format.XLSX;
+        File file = name.endsWith("." + format.extension())
+                ? chosen : new File(chosen.getParentFile(), chosen.getName() + "." + format.extension());
+        loggingService.logUserAction("DATA_EXPORT", "Exporting " + dataset.get().name() + " of " + scopeName
+                + " to " + file.getAbsolutePath());
+
+        Task<Integer> exportTask = new Task<>() {
+            @Override
+            protected Integer call() throws Exception {
+                return contributionExportService.export(dataset.get(), subParish, bec, format, file.toPath());
+            }
+        };
+        exportTask.setOnSucceeded(event -> showAlert(Alert.AlertType.INFORMATION, "Byarangiye",
+                "Imirongo " + exportTask.getValue() + " yabitswe kuri:\n" + file.getAbsolutePath()));
+        exportTask.setOnFailed(event -> {
+            loggingService.logError("DATA_EXPORT", exportTask.getException());
+            showAlert(Alert.AlertType.ERROR, "Ikosa", "Amakuru ntiyashoboye kubikwa: "
+                    + exportTask.getException().getMessage());
+        });
+        backgroundTaskRunner.execute(exportTask);
+    }
+
+    private void showAlert(Alert.AlertType alertType, String title, String message) {
+        loggingService.logUserAction("Alert Shown", title + ": " + message);
+        Alert alert = new Alert(alertType);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
@@ -4,12 +4,12 @@ import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
-import javafx.scene.control.TableView;
 import javafx.stage.FileChooser;
 import javafx.stage.Window;
 
 import org.ananie.parishApp.configurations.PDFConfig;
-import org.ananie.parishApp.model.FaithfulContributionRow;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.SubParish;
 import org.ananie.parishApp.services.ContributionReportPDFService;
 import org.ananie.parishApp.services.LoggingService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +19,6 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -28,23 +27,26 @@ public class ContributionReportPDFUtility {
     private final ContributionReportPDFService contributionReportPDFService;
     private final PDFConfig pdfConfig;
     private final LoggingService loggingService;
+    private final BackgroundTaskRunner backgroundTaskRunner;
 
     @Autowired
     public ContributionReportPDFUtility(
         ContributionReportPDFService contributionReportPDFService,
         PDFConfig pdfConfig,
-        LoggingService loggingService) {
+        LoggingService loggingService,
+        BackgroundTaskRunner backgroundTaskRunner) {
         this.contributionReportPDFService = contributionReportPDFService;
         this.pdfConfig = pdfConfig;
         this.loggingService = loggingService;
+        this.backgroundTaskRunner = backgroundTaskRunner;
         loggingService.logUserAction("Utility Initialization", "ContributionReportPDFUtility initialized");
     }
 
     /**
      * Export a table of contributions to a PDF file with a file chooser.
      */
-    public void exportReportToPDF(TableView<FaithfulContributionRow> reportTable, Window ownerWindow, String reportTitle) {
-        if (reportTable.getItems().isEmpty()) {
+    public void exportReportToPDF(SubParish subParish, BEC bec, boolean hasRows, Window ownerWindow, String reportTitle) {
+        if (!hasRows) {
             loggingService.logUserAction("PDF Export Attempt", "Attempted to export empty report: " + reportTitle);
             showAlert(Alert.AlertType.WARNING, "Ikosa", "Nta makuru agize iyo raporo.");
             return;
@@ -61,7 +63,7 @@ public class ContributionReportPDFUtility {
         File file = fileChooser.showSaveDialog(ownerWindow);
         if (file != null) {
             loggingService.logUserAction("PDF Export", "User selected file path: " + file.getAbsolutePath());
-            exportReportToPDFAsync(reportTable.getColumns(), reportTable.getItems(), file.getAbsolutePath(), reportTitle);
+            exportReportToPDFAsync(subParish, bec, file.getAbsolutePath(), reportTitle);
         } else {
             loggingService.logUserAction("PDF Export", "User cancelled file selection");
         }
@@ -70,8 +72,8 @@ public class ContributionReportPDFUtility {
     /**
      * Quick export to the configured default output directory.
      */
-    public void quickExportReportToPDF(TableView<FaithfulContributionRow> reportTable, String reportTitle) {
-        if (reportTable.getItems().isEmpty()) {
+    public void quickExportReportToPDF(SubParish subParish, BEC bec, boolean hasRows, String reportTitle) {
+        if (!hasRows) {
             loggingService.logUserAction("Quick PDF Export", "Attempted quick export of empty report");
             showAlert(Alert.AlertType.WARNING, "Ikosa", "Nta makuru agize iyo raporo.");
             return;
@@ -82,15 +84,16 @@ public class ContributionReportPDFUtility {
         String filepath = pdfConfig.getDefaultOutputDirectory() + File.separator + filename;
         
         loggingService.logUserAction("Quick PDF Export", "Exporting to default location: " + filepath);
-        exportReportToPDFAsync(reportTable.getColumns(), reportTable.getItems(), filepath, reportTitle);
+        exportReportToPDFAsync(subParish, bec, filepath, reportTitle);
     }
     
     /**
      * Export the report to PDF asynchronously with progress indication.
+     * Rows are streamed from the database by the PDF service, not taken from the on-screen table.
      */
     public void exportReportToPDFAsync(
-        List<javafx.scene.control.TableColumn<FaithfulContributionRow, ?>> columns,
-        List<FaithfulContributionRow> data,
+        SubParish subParish,
+        BEC bec,
         String filePath,
         String reportTitle) {
         
@@ -106,10 +109,7 @@ public class ContributionReportPDFUtility {
                 loggingService.logPDFGeneration("Contribution Report", "Starting generation for: " + reportTitle, true);
                 
                 // Debug information
-                loggingService.logUserAction("PDF Debug", 
-                    "Creating PDF at: " + filePath + 
-                    " | Rows: " + (data != null ? data.size() : "null") + 
-                    " | Columns: " + (columns != null ? columns.size() : "null"));
+                loggingService.logUserAction("PDF Debug", "Creating PDF at: " + filePath);
                 
                 // Ensure directory exists
                 File file = new File(filePath);
@@ -120,8 +120,9 @@ public class ContributionReportPDFUtility {
                         "Created directory: " + dirCreated + " at " + parentDir.getAbsolutePath());
                 }
                 
-                contributionReportPDFService.generateContributionReportPDF(
-                    columns, data, reportTitle, filePath);
+                int rows = contributionReportPDFService.generateContributionReportPDF(
+                    subParish, bec, reportTitle, filePath);
+                loggingService.logUserAction("PDF Debug", "Rows written: " + rows);
                 
                 updateProgress(100, 100);
                 updateMessage("Raporo yakozwe");
@@ -177,15 +178,13 @@ public class ContributionReportPDFUtility {
             }
         };
 
-        Thread exportThread = new Thread(exportTask);
-        exportThread.setDaemon(true);
-        exportThread.start();
+        backgroundTaskRunner.execute(exportTask);
     }
     
     private void openPDFFile(String filePath) {
         loggingService.logUserAction("PDF_OPEN_ATTEMPT", "Attempting to open PDF: " + filePath);
         
-        new Thread(() -> {
+        backgroundTaskRunner.execute(() -> {
             try {
                 File pdfFile = new File(filePath);
                 
@@ -250,7 +249,7 @@ public class ContributionReportPDFUtility {
                     );
                 }
             }
-        }).start();
+        });
     }
     private void showAlert(Alert.AlertType alertType, String title, String message) {
         loggingService.logUserAction("Alert Shown", title + ": " + message);
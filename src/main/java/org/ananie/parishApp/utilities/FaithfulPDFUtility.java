@@ -1,12 +1,23 @@
 package org.ananie.parishApp.utilities;
 
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
+import javafx.stage.Stage;
 import javafx.stage.Window;
 
+import org.ananie.parishApp.model.BEC;
 import org.ananie.parishApp.model.Contribution;
 import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.reports.FaithfulSheetBatch;
 import org.ananie.parishApp.services.FaithfulPDFService;
 import org.ananie.parishApp.services.LoggingService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +26,7 @@ import org.springframework.stereotype.Component;
 import java.io.File;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -23,11 +35,16 @@ import java.util.concurrent.CompletableFuture;
 public class FaithfulPDFUtility {
     private final FaithfulPDFService faithfulPDFService;
     private final LoggingService loggingService;
+    private final BackgroundTaskRunner backgroundTaskRunner;
+    private final FaithfulSheetBatch faithfulSheetBatch;
     
     @Autowired
-    public FaithfulPDFUtility(FaithfulPDFService faithfulPDFService, LoggingService loggingService) {
+    public FaithfulPDFUtility(FaithfulPDFService faithfulPDFService, LoggingService loggingService,
+                              BackgroundTaskRunner backgroundTaskRunner, FaithfulSheetBatch faithfulSheetBatch) {
         this.faithfulPDFService = faithfulPDFService;
         this.loggingService = loggingService;
+        this.backgroundTaskRunner = backgroundTaskRunner;
+        this.faithfulSheetBatch = faithfulSheetBatch;
         loggingService.logUserAction("Utility Initialization", "FaithfulPDFUtility initialized");
     }
 
@@ -59,7 +76,8 @@ public class FaithfulPDFUtility {
             // Debug logo path before export
             debugLogoPath();
             
-            exportToPDFAsync(faithful, contributions, file.getAbsolutePath());
+            // Snapshot the rows; the table may change while the PDF is being written
+            exportToPDFAsync(faithful, new ArrayList<>(contributions), file.getAbsolutePath());
         } else {
             loggingService.logUserAction("PDF Export", "User cancelled file selection");
         }
@@ -95,6 +113,97 @@ public class FaithfulPDFUtility {
         }
     }
 
+    /**
+     * Exports the sheet of every faithful in the scope (a BEC, a sub-parish or the whole parish)
+     * into a chosen directory. Choosing the same directory again resumes an interrupted export.
+     */
+    public void exportSheetsBatch(SubParish subParish, BEC bec, Window ownerWindow) {
+        String scopeName = bec != null ? bec.getName() : subParish != null ? subParish.getName() : "Paruwase yose";
+
+        DirectoryChooser directoryChooser = new DirectoryChooser();
+        directoryChooser.setTitle("Hitamo aho amafishi azabikwa");
+        File directory = directoryChooser.showDialog(ownerWindow);
+        if (directory == null) {
+            loggingService.logUserAction("SHEET_BATCH", "User cancelled directory selection");
+            return;
+        }
+
+        Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmAlert.setTitle("Kwemeza");
+        confirmAlert.setHeaderText("Amafishi y'abakristu bose: " + scopeName);
+        confirmAlert.setContentText("Amafishi arabikwa kuri:\n" + directory.getAbsolutePath()
+                + "\nUrashaka no kuyahuriza muri dosiye imwe?");
+        ButtonType mergedButton = new ButtonType("Yego, dosiye imwe");
+        ButtonType separateButton = new ButtonType("Oya, atandukanye");
+        ButtonType cancelButton = new ButtonType("Bireke");
+        confirmAlert.getButtonTypes().setAll(mergedButton, separateButton, cancelButton);
+
+        Optional<ButtonType> result = confirmAlert.showAndWait();
+        if (result.isEmpty() || result.get() == cancelButton) {
+            loggingService.logUserAction("SHEET_BATCH", "User cancelled batch export for: " + scopeName);
+            return;
+        }
+        boolean merge = result.get() == mergedButton;
+        loggingService.logUserAction("SHEET_BATCH", "Batch export for " + scopeName + " to " + directory.getAbsolutePath()
+                + (merge ? " (merged)" : ""));
+
+        Task<FaithfulSheetBatch.Progress> batchTask = new Task<>() {
+            @Override
+            protected FaithfulSheetBatch.Progress call() throws Exception {
+                updateMessage("Gutegura amafishi...");
+                return faithfulSheetBatch.export(subParish, bec, directory.toPath(), merge, progress -> {
+                    updateProgress(progress.completed(), Math.max(1, progress.total()));
+                    updateMessage(String.format("Amafishi %d / %d (%.1f ku isegonda)",
+                            progress.completed(), progress.total(), progress.sheetsPerSecond()));
+                });
+            }
+        };
+
+        Stage progressStage = progressWindow(batchTask, ownerWindow);
+        batchTask.setOnSucceeded(event -> {
+            progressStage.close();
+            FaithfulSheetBatch.Progress progress = batchTask.getValue();
+            String summary = "Amafishi mashya: " + progress.rendered()
+                    + "\nYari asanzwe ahari: " + progress.skipped()
+                    + "\nYanze: " + progress.failed();
+            if (progress.failed() > 0) {
+                showAlert(Alert.AlertType.WARNING, "Bimwe byanze", summary
+                        + "\nOngera ukore kuri iyo dosiye kugira ngo asigaye akorwe.");
+            } else {
+                showSuccessDialog(merge
+                        ? new File(directory, FaithfulSheetBatch.MERGED_FILE_NAME).getAbsolutePath()
+                        : directory.getAbsolutePath());
+            }
+        });
+        batchTask.setOnFailed(event -> {
+            progressStage.close();
+            loggingService.logError("SHEET_BATCH", batchTask.getException());
+            showAlert(Alert.AlertType.ERROR, "Ikosa", "Amafishi ntabwo yashoboye gukorwa: "
+                    + batchTask.getException().getMessage());
+        });
+
+        progressStage.show();
+        backgroundTaskRunner.execute(batchTask);
+    }
+
+    private Stage progressWindow(Task<?> task, Window ownerWindow) {
+        Label message = new Label();
+        message.textProperty().bind(task.messageProperty());
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(320);
+        progressBar.progressProperty().bind(task.progressProperty());
+
+        VBox content = new VBox(10, message, progressBar);
+        content.setPadding(new Insets(15));
+
+        Stage stage = new Stage();
+        stage.initOwner(ownerWindow);
+        stage.setTitle("Gukora amafishi");
+        stage.setScene(new Scene(content));
+        stage.setOnCloseRequest(event -> event.consume()); // Closes itself when the export ends
+        return stage;
+    }
+
     /**
      * Core async export method
      */
@@ -103,7 +212,7 @@ public class FaithfulPDFUtility {
         loggingService.logUserAction("Async PDF Export Start", 
             "Starting async PDF export for: " + faithful.getName());
         
-        return CompletableFuture.runAsync(() -> {
+        return backgroundTaskRunner.<Void>submit(() -> {
             try {
                 // Generate PDF with logo
                 faithfulPDFService.generateFaithfulDetailsPDF(faithful, contributions, filePath);
@@ -127,6 +236,7 @@ public class FaithfulPDFUtility {
                             "Ifishi ntabwo yashoboye kubikwa: " + e.getMessage())
                 );
             }
+            return null;
         });
     }
 
@@ -0,0 +1,117 @@
+package org.ananie.parishApp.utilities;
+
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import org.ananie.parishApp.imports.HistoryImport;
+import org.ananie.parishApp.services.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+
+/**
+ * Screen side of {@link HistoryImport}: picks the file, shows progress and reports the outcome.
+ */
+@Component
+public class HistoryImportUtility {
+    private final HistoryImport historyImport;
+    private final LoggingService loggingService;
+    private final BackgroundTaskRunner backgroundTaskRunner;
+
+    @Autowired
+    public HistoryImportUtility(HistoryImport historyImport, LoggingService loggingService,
+                                BackgroundTaskRunner backgroundTaskRunner) {
+        this.historyImport = historyImport;
+        this.loggingService = loggingService;
+        this.backgroundTaskRunner = backgroundTaskRunner;
+    }
+
+    /**
+     * @param onFinished run on the FX thread once something was imported, to refresh the caller; may be null
+     */
+    public void importHistory(Window ownerWindow, Runnable onFinished) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Hitamo dosiye y'abakristu n'amaturo (CSV)");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv", "*.txt"));
+        File file = fileChooser.showOpenDialog(ownerWindow);
+        if (file == null) {
+            loggingService.logUserAction("HISTORY_IMPORT", "User cancelled file selection");
+            return;
+        }
+        loggingService.logUserAction("HISTORY_IMPORT", "Importing " + file.getAbsolutePath());
+
+        Task<HistoryImport.Result> importTask = new Task<>() {
+            @Override
+            protected HistoryImport.Result call() throws Exception {
+                updateMessage("Gusoma dosiye...");
+                return historyImport.importCsv(file.toPath(), progress -> updateMessage(String.format(
+                        "Imirongo %d (%.0f ku isegonda)\nAbakristu bashya: %d\nAmaturo: %d\nIbyanze: %d",
+                        progress.rowsRead(), progress.rowsPerSecond(), progress.faithfulsCreated(),
+                        progress.contributionsCreated(), progress.rejected())));
+            }
+        };
+
+        Stage progressStage = progressWindow(importTask, ownerWindow);
+        importTask.setOnSucceeded(event -> {
+            progressStage.close();
+            HistoryImport.Result result = importTask.getValue();
+            HistoryImport.Progress progress = result.progress();
+            String summary = "Imirongo yasomwe: " + progress.rowsRead()
+                    + "\nAbakristu bashya: " + progress.faithfulsCreated()
+                    + "\nAmaturo yinjiye: " + progress.contributionsCreated()
+                    + "\nImirongo yanze: " + progress.rejected();
+            if (result.rejectedFile() != null) {
+                showAlert(Alert.AlertType.WARNING, "Bimwe byanze", summary
+                        + "\n\nImirongo yanze n'impamvu zayo iri muri:\n" + result.rejectedFile());
+            } else {
+                showAlert(Alert.AlertType.INFORMATION, "Byarangiye", summary);
+            }
+            if (onFinished != null && (progress.faithfulsCreated() > 0 || progress.contributionsCreated() > 0)) {
+                onFinished.run();
+            }
+        });
+        importTask.setOnFailed(event -> {
+            progressStage.close();
+            loggingService.logError("HISTORY_IMPORT", importTask.getException());
+            showAlert(Alert.AlertType.ERROR, "Ikosa", "Dosiye ntiyashoboye kwinjizwa: "
+                    + importTask.getException().getMessage());
+        });
+
+        progressStage.show();
+        backgroundTaskRunner.execute(importTask);
+    }
+
+    private Stage progressWindow(Task<?> task, Window ownerWindow) {
+        Label message = new Label();
+        message.textProperty().bind(task.messageProperty());
+        ProgressIndicator indicator = new ProgressIndicator(); // The row count is unknown until the end
+
+        VBox content = new VBox(10, indicator, message);
+        content.setPadding(new Insets(15));
+
+        Stage stage = new Stage();
+        stage.initOwner(ownerWindow);
+        stage.setTitle("Kwinjiza dosiye");
+        stage.setScene(new Scene(content, 320, 200));
+        stage.setOnCloseRequest(event -> event.consume()); // Closes itself when the import ends
+        return stage;
+    }
+
+    private void showAlert(Alert.AlertType alertType, String title, String message) {
+        loggingService.logUserAction("Alert Shown", title + ": " + message);
+        Alert alert = new Alert(alertType);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+}
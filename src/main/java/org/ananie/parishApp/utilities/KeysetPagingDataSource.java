@@ -0,0 +1,130 @@
+package org.ananie.parishApp.utilities;
+
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+import javafx.collections.ObservableList;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Feeds a TableView window by window instead of loading the whole result set.
+ * The first page is fetched on reset and the next one whenever the user
+ * scrolls close to the bottom of what is already loaded.
+ *
+ * The page fetcher receives the last row already shown (null for the first
+ * page) and the page size, which maps directly onto keyset (seek) queries.
+ * Pages are fetched through the screen's task scope, so a reset drops any
+ * page still in flight for the previous query.
+ */
+public class KeysetPagingDataSource<T> {
+
+    // Fetch the next window once the scroll bar passes this fraction of its range
+    private static final double PREFETCH_THRESHOLD = 0.9;
+
+    private final TableView<T> table;
+    private final ObservableList<T> items;
+    private final int pageSize;
+    private final BackgroundTaskRunner.TaskScope tasks;
+    private final String requestKey;
+
+    private BiFunction<T, Integer, List<T>> pageFetcher;
+    private T cursor; // Last row fetched so far; refined rows may no longer contain it
+    private boolean exhausted = true;
+    private boolean loading;
+    private boolean scrollListenerAttached;
+
+    public KeysetPagingDataSource(TableView<T> table, ObservableList<T> items, int pageSize,
+                                  BackgroundTaskRunner.TaskScope tasks, String requestKey) {
+        this.table = table;
+        this.items = items;
+        this.pageSize = pageSize;
+        this.tasks = tasks;
+        this.requestKey = requestKey;
+
+        // The scroll bars only exist once the table skin has been created
+        table.skinProperty().addListener((obs, oldSkin, newSkin) -> attachScrollListener());
+        if (table.getSkin() != null) {
+            attachScrollListener();
+        }
+    }
+
+    /**
+     * Discard the loaded rows and start over from the first page of a new query.
+     */
+    public void reset(BiFunction<T, Integer, List<T>> pageFetcher) {
+        this.pageFetcher = pageFetcher;
+        this.exhausted = false;
+        this.loading = false;
+        this.cursor = null;
+        tasks.cancel(requestKey);
+        items.clear();
+        loadNextPage();
+    }
+
+    /**
+     * Narrow the current query without starting over. Loaded rows are filtered in
+     * memory and, unless the old query was exhausted, paging resumes after the last
+     * row fetched so far. Only valid when every row of the new query also matched the old one.
+     */
+    public void refine(Predicate<T> keep, BiFunction<T, Integer, List<T>> narrowedFetcher) {
+        // A page still in flight was fetched for the old query; it is re-read below
+        tasks.cancel(requestKey);
+        this.loading = false;
+        this.pageFetcher = narrowedFetcher;
+        items.removeIf(keep.negate());
+        if (items.size() < pageSize) {
+            loadNextPage();
+        }
+    }
+
+    /**
+     * Append the next window of rows, unless the query is already exhausted.
+     */
+    public void loadNextPage() {
+        if (exhausted || loading || pageFetcher == null) {
+            return;
+        }
+        loading = true;
+        T lastRow = cursor;
+        BiFunction<T, Integer, List<T>> fetcher = pageFetcher;
+        tasks.run(requestKey, () -> fetcher.apply(lastRow, pageSize), page -> {
+            items.addAll(page);
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1);
+            }
+            exhausted = page.size() < pageSize;
+            loading = false;
+        }, error -> loading = false);
+    }
+
+    /**
+     * @return true when every row of the current query has been loaded
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    private void attachScrollListener() {
+        if (scrollListenerAttached) {
+            return;
+        }
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal.doubleValue() >= bar.getMax() * PREFETCH_THRESHOLD) {
+                        loadNextPage();
+                    }
+                });
+                scrollListenerAttached = true;
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ public class ViewPaths {
     public static final String HOME = "/homePage.fxml";
     public static final String ADD_OR_EDIT_FAITHFUL = "/addOrEditFaithful.fxml";
     public static final String ADD_CONTRIBUTION = "/addContribution.fxml";
+    public static final String BULK_CONTRIBUTION = "/bulkContribution.fxml";
     public static final String FAITHFULCONTRIBUTIONSMANAGER = "/faithfulContributionsManager.fxml";
     public static final String STYLE = "/style.css";
     public static final String ADD_SUBPARISH = "/addSubParish.fxml";
@@ -12,4 +13,5 @@ public class ViewPaths {
     public static final String CONTRIBUTION_REPORT = "/contribution-report.fxml";
     public static final String LOGO = "/parish_logo.png";
     public static final String LOGIN = "/login.fxml";
+    public static final String DIAGNOSTICS = "/diagnostics.fxml";
 }
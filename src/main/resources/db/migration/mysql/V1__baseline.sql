@@ -0,0 +1,86 @@
+-- Schema as hbm2ddl=update left it, constraint names included, so that existing databases
+-- (where every table is already there) can take this script as their baseline.
+
+CREATE TABLE IF NOT EXISTS santarali (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_rxnnbj4q6vf364kou6rrjjtwd UNIQUE (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS impuza (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    sub_parish_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKdnq7mtcul5syi93l4erbilfwh UNIQUE (name, sub_parish_id),
+    CONSTRAINT FKo3rrlrmd2xed9sta8cf9veju3 FOREIGN KEY (sub_parish_id) REFERENCES santarali (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS abakristu (
+    id BIGINT NOT NULL,
+    Aderesi VARCHAR(255),
+    umwaka_yabatirijwemo VARCHAR(255),
+    Telefone VARCHAR(255),
+    amazina VARCHAR(255) NOT NULL,
+    Icyo_akora VARCHAR(255),
+    bec_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FK3xqvq34k5950klrac2nl0of22 FOREIGN KEY (bec_id) REFERENCES impuza (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS amaturo (
+    id BIGINT NOT NULL,
+    amafranga DECIMAL(10,0) NOT NULL,
+    itariki DATE NOT NULL,
+    notes VARCHAR(500),
+    umwaka INTEGER NOT NULL,
+    faithful_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKpj9yi9cujdxuu2grrtoffop1k FOREIGN KEY (faithful_id) REFERENCES abakristu (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS ibiteranyo (
+    id BIGINT NOT NULL,
+    amafranga DECIMAL(15,2) NOT NULL,
+    umubare BIGINT NOT NULL,
+    umwaka INTEGER NOT NULL,
+    bec_id BIGINT NOT NULL,
+    sub_parish_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK9le26e4qkyhcpto58f2i2qke8 UNIQUE (bec_id, umwaka),
+    INDEX idx_ibiteranyo_santarali_umwaka (sub_parish_id, umwaka),
+    CONSTRAINT FKmw77chknr86cve0isio2dxopn FOREIGN KEY (bec_id) REFERENCES impuza (id),
+    CONSTRAINT FK2al0frw6ub00knh5c3vk8rdbh FOREIGN KEY (sub_parish_id) REFERENCES santarali (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL,
+    accountNonExpired BIT NOT NULL,
+    accountNonLocked BIT NOT NULL,
+    created_at DATETIME(6),
+    credentialsNonExpired BIT NOT NULL,
+    email VARCHAR(150) NOT NULL,
+    enabled BIT NOT NULL,
+    fullName VARCHAR(100) NOT NULL,
+    last_login DATETIME(6),
+    password VARCHAR(255) NOT NULL,
+    updated_at DATETIME(6),
+    username VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role VARCHAR(255),
+    CONSTRAINT FKhfh9dx7w3ubf1co1vdev94g3f FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+-- Rows are created by IdGeneratorSeeder and Hibernate's table generator
+CREATE TABLE IF NOT EXISTS id_generators (
+    entity VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (entity)
+) ENGINE=InnoDB;
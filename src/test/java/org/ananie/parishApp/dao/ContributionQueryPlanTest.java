@@ -0,0 +1,349 @@
+package org.ananie.parishApp.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.ananie.parishApp.configurations.AppConfig;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Contribution;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.ananie.parishApp.services.ContributionService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Query-plan regression test: runs every {@link ContributionRepository} query, takes the SQL Hibernate
+ * generated for it and asks the database for its plan with {@code EXPLAIN}. A query fails when it scans
+ * amaturo, abakristu or impuza in full, or, for a whole-history query, more than one of them; the build
+ * fails as well when a repository method has no probe here yet.
+ *
+ * Runs with {@code mvn test} on the in-memory test profile (H2) and understands the plans of H2 and MySQL,
+ * e.g. {@code mvn test -Dspring.profiles.active=mysql} against a scratch database. An empty database is
+ * first filled with sample data; the tables are analyzed before the plans are read.
+ */
+class ContributionQueryPlanTest {
+
+    /** Tables large enough that a full scan is a regression. */
+    private static final Set<String> LARGE_TABLES = Set.of("amaturo", "abakristu", "impuza");
+
+    private static final Pattern TABLE_ALIAS = Pattern.compile("\\b(amaturo|abakristu|impuza)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+    // H2 plan: "PUBLIC"."AMATURO" "C1_0" /* PUBLIC.IDX_...: FAITHFUL_ID = ?1 */; no condition after the index is a full scan
+    private static final Pattern H2_TABLE_ACCESS = Pattern.compile(
+            "\"?PUBLIC\"?\\.\"?(\\w+)\"?\\s+\"?\\w+\"?\\s*/\\*\\s*PUBLIC\\.([\\w.]+)\\s*(:[^*]*)?\\*/");
+
+    private static final int SAMPLE_SUB_PARISHES = 4;
+    private static final int SAMPLE_BECS = 5;
+    private static final int SAMPLE_FAITHFULS = 100;
+    private static final int SAMPLE_YEARS = 5;
+
+    private static AnnotationConfigApplicationContext springContext;
+    private static ContributionRepository repository;
+    private static TransactionTemplate transactionTemplate;
+    private static DataSource dataSource;
+
+    /** Collects the SQL Hibernate prepares; registered through hibernate.session_factory.statement_inspector. */
+    public static final class SqlRecorder implements StatementInspector {
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+
+        static List<String> drain() {
+            synchronized (STATEMENTS) {
+                List<String> statements = new ArrayList<>(STATEMENTS);
+                STATEMENTS.clear();
+                return statements;
+            }
+        }
+    }
+
+    /**
+     * One repository call with the JDBC parameters it binds, in order.
+     *
+     * @param wholeHistory the query reads every contribution by design, so one large table may be scanned
+     */
+    private record Probe(Function<ContributionRepository, Object> call, List<Object> parameters, boolean wholeHistory) {
+    }
+
+    @BeforeAll
+    static void startContext() {
+        System.setProperty("java.awt.headless", "true");
+        System.setProperty("hibernate.session_factory.statement_inspector", SqlRecorder.class.getName());
+        if (System.getProperty("spring.profiles.active") == null) {
+            System.setProperty("spring.profiles.active", "test");
+        }
+        springContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "query-plans", null, AuthorityUtils.createAuthorityList("ROLE_MANAGER")));
+        repository = springContext.getBean(ContributionRepository.class);
+        transactionTemplate = new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
+        dataSource = springContext.getBean(DataSource.class);
+
+        if (repository.count() == 0) {
+            seed();
+        }
+        analyze();
+    }
+
+    @AfterAll
+    static void closeContext() {
+        SecurityContextHolder.clearContext();
+        if (springContext != null) {
+            springContext.close();
+        }
+    }
+
+    @Test
+    void everyRepositoryMethodHasAProbe() {
+        Set<String> probed = probes().keySet();
+        List<String> missing = Arrays.stream(ContributionRepository.class.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !method.isSynthetic())
+                .map(Method::getName)
+                .filter(name -> !probed.contains(name))
+                .sorted()
+                .toList();
+        assertEquals(List.of(), missing, "ContributionRepository methods without a query-plan probe");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queryPlansUseIndexes() {
+        return probes().entrySet().stream()
+                .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> {
+                    Probe probe = entry.getValue();
+                    SqlRecorder.drain();
+                    // Each probe runs in a transaction that is rolled back, so deleteById leaves the data alone
+                    transactionTemplate.executeWithoutResult(status -> {
+                        Object result = probe.call().apply(repository);
+                        if (result instanceof BaseStream<?, ?> stream) {
+                            stream.iterator().hasNext(); // Streams run their query on the first read
+                            stream.close();
+                        }
+                        status.setRollbackOnly();
+                    });
+                    List<String> statements = SqlRecorder.drain();
+                    assertFalse(statements.isEmpty(), "no SQL was issued");
+                    List<String> problems = check(statements.get(0), probe);
+                    assertTrue(problems.isEmpty(), () -> String.join("; ", problems) + " in " + statements.get(0));
+                }));
+    }
+
+    /**
+     * Probes by repository method name, with arguments from the sample data: a BEC that has faithfuls,
+     * its sub-parish, one of its faithfuls and a year.
+     */
+    private static Map<String, Probe> probes() {
+        Faithful faithful = transactionTemplate.execute(status -> {
+            Contribution first = repository.findAll(PageRequest.of(0, 1))
+                    .getContent().get(0);
+            Faithful owner = first.getFaithful();
+            owner.getBec().getSubParish().getName(); // Initialized for use outside the transaction
+            return owner;
+        });
+        BEC bec = faithful.getBec();
+        SubParish subParish = bec.getSubParish();
+        Integer year = repository.findDistinctYears().get(0);
+        Long contributionId = repository.findByFaithful(faithful).get(0).getId();
+        BEC otherBec = springContext.getBean(BECRepository.class).findAll().stream()
+                .filter(candidate -> !candidate.getId().equals(bec.getId())).findFirst().orElse(bec);
+
+        Map<String, Probe> probes = new LinkedHashMap<>();
+        probes.put("findByFaithful", probe(r -> r.findByFaithful(faithful), faithful.getId()));
+        probes.put("findByFaithfulAndYear", probe(r -> r.findByFaithfulAndYear(faithful, year), faithful.getId(), year));
+        probes.put("findByFaithfulIds", probe(r -> r.findByFaithfulIds(List.of(faithful.getId(), faithful.getId() + 1)),
+                faithful.getId(), faithful.getId() + 1));
+        probes.put("findByFaithfulOrderByDateDesc", probe(r -> r.findByFaithfulOrderByDateDesc(faithful), faithful.getId()));
+        probes.put("findDistinctYears", probe(ContributionRepository::findDistinctYears));
+        probes.put("sumAllContributions", wholeHistory(ContributionRepository::sumAllContributions));
+        probes.put("sumContributionsByYear", probe(r -> r.sumContributionsByYear(year), year));
+        probes.put("sumContributionsBySubParish", wholeHistory(ContributionRepository::sumContributionsBySubParish));
+        probes.put("sumContributionsBySubParishAndYear", probe(r -> r.sumContributionsBySubParishAndYear(year), year));
+        probes.put("sumContributionsByBecInSubParish",
+                probe(r -> r.sumContributionsByBecInSubParish(subParish), subParish.getId()));
+        probes.put("sumContributionsByBecInSubParishAndYear",
+                probe(r -> r.sumContributionsByBecInSubParishAndYear(subParish, year), subParish.getId(), year));
+        probes.put("getYearlyContributionSummaryByBEC", probe(r -> r.getYearlyContributionSummaryByBEC(bec), bec.getId()));
+        probes.put("getYearlyContributionSummaryByBECIn",
+                probe(r -> r.getYearlyContributionSummaryByBECIn(List.of(bec, otherBec)), bec.getId(), otherBec.getId()));
+        probes.put("getYearlyContributionSummary", wholeHistory(ContributionRepository::getYearlyContributionSummary));
+        probes.put("findTotalsKeyById", probe(r -> r.findTotalsKeyById(contributionId), contributionId));
+        probes.put("sumByYearForFaithful", probe(r -> r.sumByYearForFaithful(faithful.getId()), faithful.getId()));
+        probes.put("sumByBecAndYear", wholeHistory(ContributionRepository::sumByBecAndYear));
+        probes.put("getYearlyAmountsPerFaithful", wholeHistory(ContributionRepository::getYearlyAmountsPerFaithful));
+        probes.put("getYearlyAmountsPerFaithfulByBec", probe(r -> r.getYearlyAmountsPerFaithfulByBec(bec), bec.getId()));
+        probes.put("getYearlyAmountsPerFaithfulBySubParish",
+                probe(r -> r.getYearlyAmountsPerFaithfulBySubParish(subParish), subParish.getId()));
+        probes.put("streamYearlyAmountsPerFaithful", wholeHistory(ContributionRepository::streamYearlyAmountsPerFaithful));
+        probes.put("streamYearlyAmountsPerFaithfulByBec",
+                probe(r -> r.streamYearlyAmountsPerFaithfulByBec(bec), bec.getId()));
+        probes.put("streamYearlyAmountsPerFaithfulBySubParish",
+                probe(r -> r.streamYearlyAmountsPerFaithfulBySubParish(subParish), subParish.getId()));
+        probes.put("streamRecords", wholeHistory(ContributionRepository::streamRecords));
+        probes.put("streamRecordsByBec", probe(r -> r.streamRecordsByBec(bec), bec.getId()));
+        probes.put("streamRecordsBySubParish", probe(r -> r.streamRecordsBySubParish(subParish), subParish.getId()));
+        probes.put("findById", probe(r -> r.findById(contributionId), contributionId));
+        probes.put("deleteById", probe(r -> {
+            r.deleteById(contributionId);
+            return null;
+        }, contributionId));
+
+        return probes;
+    }
+
+    private static Probe probe(Function<ContributionRepository, Object> call, Object... parameters) {
+        return new Probe(call, List.of(parameters), false);
+    }
+
+    private static Probe wholeHistory(Function<ContributionRepository, Object> call) {
+        return new Probe(call, List.of(), true);
+    }
+
+    /**
+     * @return the large tables scanned in full, as problems; empty when the plan is acceptable
+     */
+    private static List<String> check(String sql, Probe probe) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            if (explain.getParameterMetaData().getParameterCount() != probe.parameters().size()) {
+                return List.of("expected " + probe.parameters().size() + " parameter(s) in " + sql);
+            }
+            for (int i = 0; i < probe.parameters().size(); i++) {
+                explain.setObject(i + 1, probe.parameters().get(i));
+            }
+            boolean mySql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+            Set<String> scanned = mySql ? mySqlFullScans(explain, sql) : h2FullScans(explain);
+
+            if (scanned.isEmpty() || (probe.wholeHistory() && scanned.size() == 1)) {
+                return List.of();
+            }
+            return List.of("full scan of " + String.join(", ", scanned));
+        }
+    }
+
+    private static Set<String> h2FullScans(PreparedStatement explain) throws SQLException {
+        Set<String> scanned = new TreeSet<>();
+        try (ResultSet plan = explain.executeQuery()) {
+            while (plan.next()) {
+                String text = plan.getString(1);
+                // A DISTINCT over the leading column of an index skips from value to value instead of scanning
+                boolean distinctSkip = text.contains("/* distinct */");
+                Matcher access = H2_TABLE_ACCESS.matcher(text);
+                while (access.find()) {
+                    String table = access.group(1).toLowerCase(Locale.ROOT);
+                    boolean indexed = access.group(3) != null
+                            || (distinctSkip && !access.group(2).endsWith(".tableScan"));
+                    if (LARGE_TABLES.contains(table) && !indexed) {
+                        scanned.add(table);
+                    }
+                }
+            }
+        }
+        return scanned;
+    }
+
+    // MySQL names the table by its alias; type ALL is a table scan and type index a full index scan
+    private static Set<String> mySqlFullScans(PreparedStatement explain, String sql) throws SQLException {
+        Map<String, String> tablesByAlias = new HashMap<>();
+        Matcher alias = TABLE_ALIAS.matcher(sql);
+        while (alias.find()) {
+            tablesByAlias.put(alias.group(2).toLowerCase(Locale.ROOT), alias.group(1).toLowerCase(Locale.ROOT));
+        }
+        Set<String> scanned = new TreeSet<>();
+        try (ResultSet plan = explain.executeQuery()) {
+            while (plan.next()) {
+                String table = plan.getString("table");
+                String type = plan.getString("type");
+                String name = table == null ? null : tablesByAlias.getOrDefault(table.toLowerCase(Locale.ROOT), table);
+                if (name != null && LARGE_TABLES.contains(name) && ("ALL".equals(type) || "index".equals(type))) {
+                    scanned.add(name);
+                }
+            }
+        }
+        return scanned;
+    }
+
+    private static void analyze() {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            if (connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql")) {
+                statement.execute("ANALYZE TABLE amaturo, abakristu, impuza, santarali");
+            } else {
+                statement.execute("ANALYZE");
+            }
+        } catch (SQLException e) {
+            System.out.println("Statistics were not refreshed: " + e.getMessage());
+        }
+    }
+
+    private static void seed() {
+        SubParishRepository subParishRepository = springContext.getBean(SubParishRepository.class);
+        BECRepository becRepository = springContext.getBean(BECRepository.class);
+        FaithfulRepository faithfulRepository = springContext.getBean(FaithfulRepository.class);
+        ContributionService contributionService = springContext.getBean(ContributionService.class);
+        int firstYear = LocalDate.now().getYear() - SAMPLE_YEARS;
+
+        for (int s = 0; s < SAMPLE_SUB_PARISHES; s++) {
+            SubParish subParish = subParishRepository.save(new SubParish("Santarali " + s));
+            for (int b = 0; b < SAMPLE_BECS; b++) {
+                String becName = s + "-" + b;
+                BEC bec = becRepository.save(new BEC("Impuza " + becName, subParish));
+                List<Faithful> faithfuls = transactionTemplate.execute(status -> {
+                    List<Faithful> chunk = new ArrayList<>(SAMPLE_FAITHFULS);
+                    for (int f = 0; f < SAMPLE_FAITHFULS; f++) {
+                        chunk.add(new Faithful("Umukristu " + becName + "-" + f, null, null, null, null, bec));
+                    }
+                    return faithfulRepository.saveAll(chunk);
+                });
+                List<Contribution> contributions = new ArrayList<>(SAMPLE_FAITHFULS * SAMPLE_YEARS);
+                for (Faithful faithful : faithfuls) {
+                    for (int y = 0; y < SAMPLE_YEARS; y++) {
+                        contributions.add(new Contribution(faithful, firstYear + y,
+                                BigDecimal.valueOf(500L * (y + 1)), LocalDate.of(firstYear + y, 6, 1), null));
+                    }
+                }
+                contributionService.saveAll(contributions);
+            }
+        }
+    }
+}
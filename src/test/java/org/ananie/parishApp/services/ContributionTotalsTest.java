@@ -0,0 +1,215 @@
+package org.ananie.parishApp.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.ananie.parishApp.configurations.AppConfig;
+import org.ananie.parishApp.dao.ContributionTotalRepository;
+import org.ananie.parishApp.dao.SubParishRepository;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Contribution;
+import org.ananie.parishApp.model.ContributionTotal;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps ibiteranyo honest: after contributions are saved, updated, saved in a batch or deleted, and after a BEC
+ * moves or is deleted, the running totals must equal what the services were given. Runs on the in-memory test
+ * profile; every test works on BECs of its own, which are deleted afterwards.
+ */
+class ContributionTotalsTest {
+
+    private static AnnotationConfigApplicationContext springContext;
+    private static ContributionService contributionService;
+    private static FaithfulService faithfulService;
+    private static BECService becService;
+    private static ContributionTotalRepository totalRepository;
+    private static SubParishRepository subParishRepository;
+    private static TransactionTemplate transactionTemplate;
+
+    private static SubParish subParish;
+    private static SubParish otherSubParish;
+    private static final List<Long> becIds = new ArrayList<>();
+
+    @BeforeAll
+    static void startContext() {
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("spring.profiles.active") == null) {
+            System.setProperty("spring.profiles.active", "test");
+        }
+        springContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "totals", null, AuthorityUtils.createAuthorityList("ROLE_MANAGER")));
+        contributionService = springContext.getBean(ContributionService.class);
+        faithfulService = springContext.getBean(FaithfulService.class);
+        becService = springContext.getBean(BECService.class);
+        totalRepository = springContext.getBean(ContributionTotalRepository.class);
+        subParishRepository = springContext.getBean(SubParishRepository.class);
+        transactionTemplate = new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
+
+        subParish = subParishRepository.save(new SubParish("Ibiteranyo A"));
+        otherSubParish = subParishRepository.save(new SubParish("Ibiteranyo B"));
+    }
+
+    @AfterAll
+    static void closeContext() {
+        // Totals reference their BEC and sub-parish, so the BECs go first, through the service
+        try {
+            for (Long becId : becIds) {
+                if (becService.findById(becId).isPresent()) {
+                    becService.delete(becId);
+                }
+            }
+            if (subParish != null) {
+                subParishRepository.deleteById(subParish.getId());
+                subParishRepository.deleteById(otherSubParish.getId());
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+            if (springContext != null) {
+                springContext.close();
+            }
+        }
+    }
+
+    @Test
+    void saveAddsAndUpdateMovesTheAmount() {
+        BEC bec = newBec(subParish);
+        Faithful faithful = newFaithful(bec, "Uwase Aline");
+
+        Contribution contribution = contributionService.save(contribution(faithful, 2020, "1000"));
+        assertTotal(bec, 2020, "1000", 1);
+
+        contribution.setAmount(new BigDecimal("1500"));
+        contribution.setYear(2021);
+        contribution.setDate(LocalDate.of(2021, 3, 1));
+        contributionService.update(contribution);
+        assertTotal(bec, 2020, "0", 0);
+        assertTotal(bec, 2021, "1500", 1);
+    }
+
+    @Test
+    void saveAllAddsPerBecAndYear() {
+        BEC bec = newBec(subParish);
+        BEC otherBec = newBec(subParish);
+        Faithful first = newFaithful(bec, "Mugisha Jean");
+        Faithful second = newFaithful(bec, "Ingabire Marie");
+        Faithful third = newFaithful(otherBec, "Habimana Patrick");
+
+        contributionService.saveAll(List.of(
+                contribution(first, 2022, "500"),
+                contribution(second, 2022, "700"),
+                contribution(first, 2023, "200"),
+                contribution(third, 2022, "900")));
+        assertTotal(bec, 2022, "1200", 2);
+        assertTotal(bec, 2023, "200", 1);
+        assertTotal(otherBec, 2022, "900", 1);
+
+        // A second batch adds to the rows the first one created
+        contributionService.saveAll(List.of(contribution(second, 2022, "300")));
+        assertTotal(bec, 2022, "1500", 3);
+    }
+
+    @Test
+    void deleteSubtractsTheAmount() {
+        BEC bec = newBec(subParish);
+        Faithful faithful = newFaithful(bec, "Niyonzima Emmanuel");
+        Contribution kept = contributionService.save(contribution(faithful, 2019, "400"));
+        Contribution deleted = contributionService.save(contribution(faithful, 2019, "650"));
+        assertTotal(bec, 2019, "1050", 2);
+
+        contributionService.delete(deleted.getId());
+        assertTotal(bec, 2019, "400", 1);
+
+        contributionService.delete(kept.getId());
+        assertTotal(bec, 2019, "0", 0);
+    }
+
+    @Test
+    void movedBecTakesItsTotalsAlong() {
+        BEC bec = newBec(subParish);
+        Faithful faithful = newFaithful(bec, "Tuyisenge Divine");
+        contributionService.save(contribution(faithful, 2018, "800"));
+
+        // As the BEC form does: a copy read from the service, pointed at the other sub-parish
+        BEC moved = becService.findById(bec.getId()).orElseThrow();
+        moved.setSubParish(otherSubParish);
+        becService.update(moved);
+
+        assertTotal(bec, 2018, "800", 1);
+        assertEquals(otherSubParish.getId(), subParishIdOf(bec, 2018));
+        Map<SubParish, BigDecimal> bySubParish = contributionService.getTotalsBySubParish(2018);
+        assertTrue(bySubParish.keySet().stream().noneMatch(key -> key.getId().equals(subParish.getId())),
+                "the old sub-parish still counts the moved BEC");
+    }
+
+    @Test
+    void deletedBecLeavesNoTotals() {
+        BEC bec = newBec(subParish);
+        Faithful faithful = newFaithful(bec, "Bizimana Olivier");
+        contributionService.save(contribution(faithful, 2017, "300"));
+        contributionService.save(contribution(faithful, 2016, "250"));
+
+        becService.delete(bec.getId());
+        assertEquals(Map.of(), totalsOf(bec));
+    }
+
+    private static BEC newBec(SubParish owner) {
+        BEC bec = becService.save(new BEC("Ibiteranyo " + (becIds.size() + 1), owner));
+        becIds.add(bec.getId());
+        return bec;
+    }
+
+    private static Faithful newFaithful(BEC bec, String name) {
+        return faithfulService.save(new Faithful(name, null, null, null, null, bec));
+    }
+
+    private static Contribution contribution(Faithful faithful, int year, String amount) {
+        return new Contribution(faithful, year, new BigDecimal(amount), LocalDate.of(year, 6, 1), null);
+    }
+
+    /** Summary rows of a BEC by year. */
+    private static Map<Integer, ContributionTotal> totalsOf(BEC bec) {
+        return transactionTemplate.execute(status -> totalRepository.findAll().stream()
+                .filter(total -> total.getBec().getId().equals(bec.getId()))
+                .collect(Collectors.toMap(ContributionTotal::getYear, Function.identity())));
+    }
+
+    private static Long subParishIdOf(BEC bec, int year) {
+        return transactionTemplate.execute(status -> totalRepository.findAll().stream()
+                .filter(total -> total.getBec().getId().equals(bec.getId()) && total.getYear() == year)
+                .map(total -> total.getSubParish().getId())
+                .findFirst().orElse(null));
+    }
+
+    private static void assertTotal(BEC bec, int year, String amount, long count) {
+        ContributionTotal total = totalsOf(bec).get(year);
+        String where = bec.getName() + " " + year;
+        if (total == null) {
+            // A year never written has no row; one emptied by deletions keeps a row of zero
+            assertEquals(0, new BigDecimal(amount).signum(), "no ibiteranyo row for " + where);
+            assertEquals(0, count, "no ibiteranyo row for " + where);
+            return;
+        }
+        assertEquals(0, new BigDecimal(amount).compareTo(total.getAmount()),
+                () -> "amount of " + where + ": expected " + amount + " but was " + total.getAmount());
+        assertEquals(count, total.getContributionCount(), "contribution count of " + where);
+    }
+}
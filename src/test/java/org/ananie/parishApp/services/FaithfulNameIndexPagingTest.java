@@ -0,0 +1,175 @@
+package org.ananie.parishApp.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.ananie.parishApp.configurations.AppConfig;
+import org.ananie.parishApp.dao.FaithfulListProjection;
+import org.ananie.parishApp.dao.FaithfulRepository;
+import org.ananie.parishApp.dao.SubParishRepository;
+import org.ananie.parishApp.model.BEC;
+import org.ananie.parishApp.model.Faithful;
+import org.ananie.parishApp.model.SubParish;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Name searches answered by {@link FaithfulNameIndex} through {@link FaithfulService#listPage}: pages are full
+ * until the matches run out, even when the index still holds ids whose rows are gone, and deleting a faithful
+ * or a BEC through the services takes the names out of the index. Each test seeds its own BEC, named with a
+ * token no other row contains, on the in-memory test profile.
+ */
+class FaithfulNameIndexPagingTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private static AnnotationConfigApplicationContext springContext;
+    private static FaithfulService faithfulService;
+    private static BECService becService;
+    private static FaithfulNameIndex faithfulNameIndex;
+    private static FaithfulRepository faithfulRepository;
+    private static SubParishRepository subParishRepository;
+    private static TransactionTemplate transactionTemplate;
+
+    private static SubParish subParish;
+    private static final List<Long> becIds = new ArrayList<>();
+
+    @BeforeAll
+    static void startContext() {
+        System.setProperty("java.awt.headless", "true");
+        if (System.getProperty("spring.profiles.active") == null) {
+            System.setProperty("spring.profiles.active", "test");
+        }
+        springContext = new AnnotationConfigApplicationContext(AppConfig.class);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "name-index", null, AuthorityUtils.createAuthorityList("ROLE_MANAGER")));
+        faithfulService = springContext.getBean(FaithfulService.class);
+        becService = springContext.getBean(BECService.class);
+        faithfulNameIndex = springContext.getBean(FaithfulNameIndex.class);
+        faithfulRepository = springContext.getBean(FaithfulRepository.class);
+        subParishRepository = springContext.getBean(SubParishRepository.class);
+        transactionTemplate = new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
+
+        subParish = subParishRepository.save(new SubParish("Ishakiro"));
+        // Waits for the build started with the context, so the saves below reach a ready index
+        faithfulNameIndex.rebuild();
+        assertTrue(faithfulNameIndex.isReady(), "the name index did not build");
+    }
+
+    @AfterAll
+    static void closeContext() {
+        try {
+            for (Long becId : becIds) {
+                if (becService.findById(becId).isPresent()) {
+                    becService.delete(becId);
+                }
+            }
+            if (subParish != null) {
+                subParishRepository.deleteById(subParish.getId());
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+            if (springContext != null) {
+                springContext.close();
+            }
+        }
+    }
+
+    @Test
+    void pagesCoverEveryMatchOnce() {
+        List<Long> ids = seed("Zebaa", 25);
+
+        List<List<Long>> pages = allPages("zebaa");
+        assertEquals(List.of(PAGE_SIZE, PAGE_SIZE, 5), pages.stream().map(List::size).toList());
+        assertEquals(Set.copyOf(ids), Set.copyOf(pages.stream().flatMap(List::stream).toList()));
+        assertEquals(ids.size(), pages.stream().mapToInt(List::size).sum(), "a faithful was listed twice");
+    }
+
+    @Test
+    void pagesStayFullPastIdsDeletedBehindTheIndex() {
+        List<Long> ids = seed("Zebab", 25);
+        List<Long> firstPage = allPages("zebab").get(0);
+
+        // Deleted without the service, so the index keeps these ids until its next rebuild
+        List<Long> gone = List.of(firstPage.get(0), firstPage.get(4), firstPage.get(PAGE_SIZE - 1));
+        transactionTemplate.executeWithoutResult(status -> gone.forEach(faithfulRepository::deleteById));
+        assertTrue(faithfulNameIndex.search("zebab").containsAll(gone));
+
+        List<List<Long>> pages = allPages("zebab");
+        assertEquals(List.of(PAGE_SIZE, PAGE_SIZE, 2), pages.stream().map(List::size).toList());
+        List<Long> listed = pages.stream().flatMap(List::stream).toList();
+        assertTrue(listed.stream().noneMatch(gone::contains), "a deleted faithful was listed");
+        assertEquals(ids.size() - gone.size(), Set.copyOf(listed).size());
+    }
+
+    @Test
+    void deletedFaithfulLeavesTheIndex() {
+        List<Long> ids = seed("Zebac", 3);
+
+        faithfulService.deleteFaithful(ids.get(1));
+        assertEquals(List.of(ids.get(0), ids.get(2)), faithfulNameIndex.search("zebac"));
+    }
+
+    @Test
+    void deletedBecTakesItsNamesOutOfTheIndex() {
+        List<Long> ids = seed("Zebad", 3);
+        assertEquals(ids, faithfulNameIndex.search("zebad"));
+
+        becService.delete(becIds.get(becIds.size() - 1));
+        assertEquals(List.of(), faithfulNameIndex.search("zebad"));
+        assertEquals(List.of(), faithfulService.listPage(null, null, "zebad", null, PAGE_SIZE));
+    }
+
+    @Test
+    void scopedSearchesUseTheDatabase() {
+        seed("Zebae", 3);
+        BEC bec = becService.findById(becIds.get(becIds.size() - 1)).orElseThrow();
+
+        assertTrue(faithfulService.usesNameIndex(null, null, "zebae"));
+        assertFalse(faithfulService.usesNameIndex(subParish, null, "zebae"));
+        assertFalse(faithfulService.usesNameIndex(null, bec, "zebae"));
+        assertEquals(3, faithfulService.listPage(null, bec, "zebae", null, PAGE_SIZE).size());
+    }
+
+    /**
+     * Saves the faithfuls of a new BEC, named "{token} Mukamana 01" and so on, in name order.
+     * @return their ids, in name order
+     */
+    private static List<Long> seed(String token, int count) {
+        BEC bec = becService.save(new BEC("Ishakiro " + token, subParish));
+        becIds.add(bec.getId());
+        List<Faithful> faithfuls = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            faithfuls.add(new Faithful(String.format("%s Mukamana %02d", token, i), null, null, null, null, bec));
+        }
+        return faithfulService.createAll(faithfuls).stream().map(Faithful::getId).toList();
+    }
+
+    /** Ids of every page of a whole-parish name search, following each page from its last row. */
+    private static List<List<Long>> allPages(String query) {
+        assertTrue(faithfulService.usesNameIndex(null, null, query), "the search does not use the index");
+        List<List<Long>> pages = new ArrayList<>();
+        FaithfulListProjection after = null;
+        List<FaithfulListProjection> page;
+        do {
+            page = faithfulService.listPage(null, null, query, after, PAGE_SIZE);
+            if (!page.isEmpty()) {
+                pages.add(page.stream().map(FaithfulListProjection::getId).toList());
+                after = page.get(page.size() - 1);
+            }
+        } while (page.size() == PAGE_SIZE);
+        return pages;
+    }
+}